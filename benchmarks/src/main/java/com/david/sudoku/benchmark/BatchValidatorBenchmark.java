@@ -0,0 +1,105 @@
+package com.david.sudoku.benchmark;
+
+import com.david.sudoku.model.SudokuBoard;
+import com.david.sudoku.validation.BatchValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de grades completas: um {@link SudokuBoard} por grade contra o {@link BatchValidator}
+ * (escalar e, quando rodado com {@code --add-modules jdk.incubator.vector} e o perfil {@code vector},
+ * vetorial). Resultados em nanossegundos por grade.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BatchValidatorBenchmark {
+    private static final int GRIDS = 4096;
+    private static final int CELLS = BatchValidator.CELLS;
+    private static final String SOLUTION =
+            "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+
+    private final byte[] grids = new byte[GRIDS * CELLS];
+    private final int[][][] boards = new int[GRIDS][9][9];
+    private final int[] results = new int[GRIDS];
+    private final BatchValidator auto = BatchValidator.create();
+    private final BatchValidator scalar = BatchValidator.scalar();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int[] cells = new int[CELLS];
+        for (int g = 0; g < GRIDS; g++) {
+            // Números trocados aleatoriamente; uma grade em cada 16 com um conflito
+            int[] relabel = shuffledDigits(random);
+            for (int cell = 0; cell < CELLS; cell++) {
+                cells[cell] = relabel[SOLUTION.charAt(cell) - '0'];
+            }
+            if (g % 16 == 0) {
+                cells[random.nextInt(CELLS)] = 1 + random.nextInt(9);
+            }
+            BatchValidator.pack(cells, grids, g);
+            for (int cell = 0; cell < CELLS; cell++) {
+                boards[g][cell / 9][cell % 9] = cells[cell];
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRIDS)
+    public int boardByBoard() {
+        int valid = 0;
+        for (int[][] grid : boards) {
+            SudokuBoard board = new SudokuBoard(new String[0]);
+            board.clearPlayerNumbers(); // Inicia o jogo para que os erros sejam verificados
+            for (int r = 0; r < 9; r++) {
+                for (int c = 0; c < 9; c++) {
+                    board.placeNumber(grid[r][c], r, c);
+                }
+            }
+            board.checkGameStatus();
+            if (board.gameIsCompleteAndValid()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRIDS)
+    public int batchScalar() {
+        return scalar.validate(grids, GRIDS, results);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRIDS)
+    public int batchAuto() {
+        return auto.validate(grids, GRIDS, results);
+    }
+
+    private static int[] shuffledDigits(Random random) {
+        int[] digits = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        for (int i = 9; i > 1; i--) {
+            int j = 1 + random.nextInt(i);
+            int tmp = digits[i];
+            digits[i] = digits[j];
+            digits[j] = tmp;
+        }
+        return digits;
+    }
+}
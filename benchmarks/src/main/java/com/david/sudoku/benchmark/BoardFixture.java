@@ -0,0 +1,31 @@
+package com.david.sudoku.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tabuleiros de referência usados pelos benchmarks, no formato de argumentos "numero:linha:coluna".
+ */
+public enum BoardFixture {
+    EMPTY(""),
+    SPARSE("8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4.."),
+    NEAR_COMPLETE("8127536499436821756754912831542378963698457212871695345219743684385269177963184.."),
+    ERRORS("88.........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4.8");
+
+    private final String cells;
+
+    BoardFixture(String cells) {
+        this.cells = cells;
+    }
+
+    public String[] initialNumbers() {
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < cells.length(); i++) {
+            char ch = cells.charAt(i);
+            if (ch >= '1' && ch <= '9') {
+                entries.add(ch + ":" + i / 9 + ":" + i % 9);
+            }
+        }
+        return entries.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.david.sudoku.benchmark;
+
+import com.david.sudoku.cache.CachingSolver;
+import com.david.sudoku.generator.Difficulty;
+import com.david.sudoku.generator.PuzzleGenerator;
+import com.david.sudoku.solver.SudokuSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolver direto contra o {@link CachingSolver} com o cache já preenchido, pela grade exata e pela
+ * forma canônica: mostra quando o cache canônico compensa (só se resolver custar mais que
+ * canonicalizar). Resultados em microssegundos por grade.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SolutionCacheBenchmark {
+    private static final int PUZZLES = 256;
+
+    @Param({"EASY", "EXPERT"})
+    public Difficulty difficulty;
+
+    private final int[][] puzzles = new int[PUZZLES][];
+    private final int[] grid = new int[81];
+    private final SudokuSolver solver = new SudokuSolver();
+    private final CachingSolver exact = new CachingSolver(PUZZLES * 2);
+    private final CachingSolver canonical = new CachingSolver(PUZZLES * 2, true);
+
+    @Setup
+    public void setUp() {
+        PuzzleGenerator generator = new PuzzleGenerator(new Random(42));
+        for (int i = 0; i < PUZZLES; i++) {
+            puzzles[i] = generator.generate(difficulty).getClues();
+            exact.solveInPlace(puzzles[i].clone());
+            canonical.solveInPlace(puzzles[i].clone());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUZZLES)
+    public int solve() {
+        return run(null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUZZLES)
+    public int exactCacheHit() {
+        return run(exact);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUZZLES)
+    public int canonicalCacheHit() {
+        return run(canonical);
+    }
+
+    private int run(CachingSolver cache) {
+        int solved = 0;
+        for (int[] puzzle : puzzles) {
+            System.arraycopy(puzzle, 0, grid, 0, grid.length);
+            if (cache == null ? solver.solveInPlace(grid) : cache.solveInPlace(grid)) {
+                solved += grid[0];
+            }
+        }
+        return solved;
+    }
+}
@@ -0,0 +1,84 @@
+package com.david.sudoku.benchmark;
+
+import com.david.sudoku.app.Launcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de partida dos subcomandos em lote do {@link Launcher}: cada operação inicia uma JVM nova
+ * (a mesma do benchmark, com o mesmo classpath), medida até a primeira saída e até o fim do
+ * processo, como nos scripts que chamam o jogo milhares de vezes. A meta é ficar abaixo de 100 ms
+ * até a primeira saída.
+ * Resultados em milissegundos por processo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+    private static final String GRID =
+            "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+    private static final String PUZZLE =
+            "800000000003600000070090200050007000000045700000100030001000068008500010090000400";
+
+    @Param({"validate", "solve", "generate"})
+    public String command;
+
+    private Path input;
+    private List<String> arguments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        input = Files.createTempFile("sudoku-startup", ".txt");
+        Files.writeString(input, (command.equals("validate") ? GRID : PUZZLE) + "\n");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        arguments = command.equals("generate")
+                ? List.of(java, "-cp", System.getProperty("java.class.path"), Launcher.class.getName(), command,
+                        "--seed", "1")
+                : List.of(java, "-cp", System.getProperty("java.class.path"), Launcher.class.getName(), command,
+                        input.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+    }
+
+    // Só até o primeiro byte: o processo é encerrado em seguida, fora da medida do que importa
+    @Benchmark
+    public int firstOutput() throws IOException {
+        Process process = new ProcessBuilder(arguments).redirectErrorStream(true).start();
+        try (InputStream out = process.getInputStream()) {
+            return out.read();
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    @Benchmark
+    public int untilExit() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(arguments).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        return process.waitFor();
+    }
+}
@@ -0,0 +1,148 @@
+package com.david.sudoku.benchmark;
+
+import com.david.sudoku.model.BoardSnapshot;
+import com.david.sudoku.model.SudokuBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks dos caminhos críticos de {@link SudokuBoard} em tabuleiros vazios, esparsos,
+ * quase completos e com erros.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SudokuBoardBenchmark {
+    private static final int SIZE = 9;
+
+    @Param({"EMPTY", "SPARSE", "NEAR_COMPLETE", "ERRORS"})
+    public BoardFixture fixture;
+
+    private String[] initialNumbers;
+    private SudokuBoard board;
+    private int[] emptyRows;
+    private int[] emptyCols;
+    private int emptyCount;
+
+    @Setup
+    public void setUp() {
+        initialNumbers = fixture.initialNumbers();
+        board = new SudokuBoard(initialNumbers);
+        board.clearPlayerNumbers(); // Inicia o jogo para que os erros sejam verificados
+
+        int[][] grid = board.getBoard();
+        emptyRows = new int[SIZE * SIZE];
+        emptyCols = new int[SIZE * SIZE];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                if (grid[r][c] == 0) {
+                    emptyRows[emptyCount] = r;
+                    emptyCols[emptyCount] = c;
+                    emptyCount++;
+                    // Rascunhos em todas as células vazias, como durante uma partida
+                    for (int n = 1; n <= SIZE; n += 2) {
+                        board.placeDraftNumber(n, r, c);
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public SudokuBoard construct() {
+        return new SudokuBoard(initialNumbers);
+    }
+
+    @Benchmark
+    public boolean placeAndRemoveNumber() {
+        int r = emptyRows[0];
+        int c = emptyCols[0];
+        boolean placed = board.placeNumber(5, r, c);
+        return board.removeNumber(r, c) & placed;
+    }
+
+    @Benchmark
+    public boolean placeUndoRedoUndo() {
+        board.placeNumber(5, emptyRows[0], emptyCols[0]);
+        board.undo();
+        board.redo();
+        return board.undo();
+    }
+
+    @Benchmark
+    public boolean checkGameStatus() {
+        board.checkGameStatus();
+        return board.hasErrors();
+    }
+
+    @Benchmark
+    public int[][] getBoard() {
+        return board.getBoard();
+    }
+
+    /** Consulta os rascunhos das 81 células, como uma atualização completa da interface. */
+    @Benchmark
+    public void getDraftNumbers(Blackhole blackhole) {
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                blackhole.consume(board.getDraftNumbers(r, c));
+            }
+        }
+    }
+
+    /** Mesma consulta usando as máscaras de rascunho, sem alocação. */
+    @Benchmark
+    public int getDraftMasks() {
+        int acc = 0;
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                acc += board.getDraftMask(r, c);
+            }
+        }
+        return acc;
+    }
+
+    /** Mesma consulta pelo snapshot imutável, como faria uma thread de leitura fora da EDT. */
+    @Benchmark
+    public int getSnapshotDraftMasks() {
+        BoardSnapshot snapshot = board.getSnapshot();
+        int acc = 0;
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                acc += snapshot.getDraftMask(r, c);
+            }
+        }
+        return acc;
+    }
+
+    @Benchmark
+    public SudokuBoard fillCandidates() {
+        board.fillCandidates();
+        return board;
+    }
+
+    /** Preenche as células vazias e volta ao estado inicial com clearPlayerNumbers. */
+    @Benchmark
+    public boolean fillAndClearPlayerNumbers() {
+        for (int i = 0; i < emptyCount; i++) {
+            board.placeNumber(1 + i % SIZE, emptyRows[i], emptyCols[i]);
+        }
+        board.clearPlayerNumbers();
+        return board.hasErrors();
+    }
+}
@@ -0,0 +1,63 @@
+package com.david.sudoku.app;
+
+import com.david.sudoku.generator.Difficulty;
+import com.david.sudoku.generator.PuzzleGenerator;
+import com.david.sudoku.io.PuzzleText;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Modo sem interface gráfica: gera quebra-cabeças com solução única e os escreve na saída padrão, um
+ * por linha no formato de 81 caracteres do {@link PuzzleText}, pronto para {@code solve} ou
+ * {@code convert}. Com a mesma semente, a saída é sempre a mesma.
+ */
+public class BatchGeneration {
+    /**
+     * Ponto de entrada da linha de comando: {@code generate [--difficulty D] [--count N] [--seed S]}.
+     */
+    public static int run(String[] args) {
+        Difficulty difficulty = Difficulty.MEDIUM;
+        long count = 1;
+        Random random = new Random();
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--difficulty":
+                        difficulty = Difficulty.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                        break;
+                    case "--count":
+                        count = Long.parseLong(args[++i]);
+                        break;
+                    case "--seed":
+                        random = new Random(Long.parseLong(args[++i]));
+                        break;
+                    default:
+                        throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Uso: " + args[0] + " [--difficulty easy|medium|hard|expert] [--count N] [--seed S]");
+            return 2;
+        }
+
+        PuzzleGenerator generator = new PuzzleGenerator(random);
+        char[] line = new char[PuzzleText.CELLS];
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16)) {
+            for (long i = 0; i < count; i++) {
+                PuzzleText.format(generator.generate(difficulty).getClues(), line);
+                out.write(line);
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao escrever: " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,208 @@
+package com.david.sudoku.app;
+
+import com.david.sudoku.cache.CanonicalCache;
+import com.david.sudoku.generator.Difficulty;
+import com.david.sudoku.io.ParseError;
+import com.david.sudoku.io.PuzzleFormat;
+import com.david.sudoku.io.PuzzleParser;
+import com.david.sudoku.io.PuzzleText;
+import com.david.sudoku.rating.CachingRater;
+import com.david.sudoku.rating.DifficultyRating;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Modo sem interface gráfica: avalia a dificuldade de arquivos inteiros de quebra-cabeças (em
+ * qualquer formato de {@link PuzzleFormat}, pela extensão) com o {@link CachingRater}. Os
+ * quebra-cabeças são lidos em blocos, avaliados em paralelo num ForkJoinPool e escritos na saída
+ * padrão na ordem da entrada, um por linha:
+ * {@code grade pontuação faixa técnica-mais-difícil passos chutes nós}, com a faixa
+ * {@code SEM_SOLUCAO} ou {@code MULTIPLAS} para grades sem solução única. O relatório vai para a
+ * saída de erro.
+ */
+public class BatchRating {
+    private static final int CELLS = PuzzleText.CELLS;
+    private static final int CHUNK_SIZE = 1 << 14; // Quebra-cabeças avaliados por bloco
+    private static final int SPLIT_THRESHOLD = 64; // Tamanho mínimo de uma tarefa fork/join
+    private static final int CACHE_CAPACITY = 1 << 20;
+
+    private final ForkJoinPool pool;
+    private final CachingRater rater;
+    private final Writer out;
+    private final int[] grids = new int[CHUNK_SIZE * CELLS];
+    private final DifficultyRating[] ratings = new DifficultyRating[CHUNK_SIZE];
+    private final long[] tiers = new long[Difficulty.values().length];
+    private final char[] line = new char[CELLS];
+    private int pending;
+    private long total;
+    private long failures; // Sem solução ou com mais de uma
+
+    private BatchRating(ForkJoinPool pool, CachingRater rater, Writer out) {
+        this.pool = pool;
+        this.rater = rater;
+        this.out = out;
+    }
+
+    /**
+     * Ponto de entrada da linha de comando: {@code rate arquivo... [--cache arquivo] [--threads N]}.
+     * Com {@code --cache}, as avaliações são carregadas do arquivo antes e gravadas nele depois.
+     */
+    public static int run(String[] args) {
+        List<Path> inputs = new ArrayList<>();
+        Path cacheFile = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--cache":
+                        cacheFile = Path.of(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        if (threads < 1) {
+                            throw new IllegalArgumentException(args[i]);
+                        }
+                        break;
+                    default:
+                        inputs.add(Path.of(args[i]));
+                        break;
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            inputs.clear();
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Uso: " + args[0] + " <arquivo> [arquivo ...] [--cache arquivo] [--threads N]");
+            return 2;
+        }
+
+        CachingRater rater = new CachingRater(CACHE_CAPACITY);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16)) {
+            int loaded = cacheFile == null ? 0 : rater.load(cacheFile);
+            BatchRating rating = new BatchRating(pool, rater, out);
+            long errors = 0;
+            long start = System.nanoTime();
+            for (Path input : inputs) {
+                errors += rating.rateFile(input);
+            }
+            out.flush();
+            long elapsed = System.nanoTime() - start;
+            rating.printReport(elapsed, errors);
+            if (cacheFile != null) {
+                int saved = rater.save(cacheFile);
+                System.err.println("Cache: " + loaded + " avaliações carregadas, " + saved + " gravadas em " + cacheFile);
+            }
+            return errors == 0 && rating.failures == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Erro ao avaliar o lote: " + e.getMessage());
+            return 1;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Avalia um arquivo inteiro; retorna os erros de leitura
+    private long rateFile(Path input) throws IOException {
+        try (FileChannel channel = FileChannel.open(input)) {
+            PuzzleParser parser = new PuzzleParser(PuzzleFormat.forPath(input), new PuzzleParser.Handler() {
+                @Override
+                public void puzzle(int[] cells, long line) throws IOException {
+                    System.arraycopy(cells, 0, grids, pending * CELLS, CELLS);
+                    if (++pending == CHUNK_SIZE) {
+                        flush();
+                    }
+                }
+
+                @Override
+                public void error(ParseError error) {
+                    System.err.println("Aviso: " + input.getFileName() + ": " + error + " (ignorado)");
+                }
+            });
+            parser.parse(channel);
+            flush();
+            return parser.getErrorCount();
+        }
+    }
+
+    private void flush() throws IOException {
+        if (pending == 0) return;
+        pool.invoke(new RateTask(0, pending));
+
+        int[] cells = new int[CELLS];
+        StringBuilder text = new StringBuilder(128);
+        for (int i = 0; i < pending; i++) {
+            DifficultyRating rating = ratings[i];
+            ratings[i] = null;
+            System.arraycopy(grids, i * CELLS, cells, 0, CELLS);
+            PuzzleText.format(cells, line);
+            text.setLength(0);
+            text.append(line).append(' ').append(rating.getScore()).append(' ');
+            Difficulty tier = rating.getTier();
+            if (tier != null) {
+                tiers[tier.ordinal()]++;
+                text.append(tier.name());
+            } else {
+                failures++;
+                text.append(rating.getSolutionCount() == 0 ? "SEM_SOLUCAO" : "MULTIPLAS");
+            }
+            text.append(' ').append(rating.getHardestTechnique() == null ? "-" : rating.getHardestTechnique().name())
+                    .append(' ').append(rating.getStepCount())
+                    .append(' ').append(rating.getGuessCount())
+                    .append(' ').append(rating.getSearchNodes()).append('\n');
+            out.append(text);
+        }
+        total += pending;
+        pending = 0;
+    }
+
+    private void printReport(long elapsedNanos, long errors) {
+        double seconds = elapsedNanos / 1e9;
+        System.err.println("Quebra-cabeças: " + total + " em " + ReportFormat.decimal(seconds, 3) + " s ("
+                + ReportFormat.decimal(seconds > 0 ? total / seconds : 0.0, 0) + "/s) com "
+                + pool.getParallelism() + " threads");
+        StringBuilder line = new StringBuilder("Faixas:");
+        for (Difficulty tier : Difficulty.values()) {
+            line.append(' ').append(tier.name()).append('=').append(tiers[tier.ordinal()]);
+        }
+        System.err.println(line.append(", sem solução única: ").append(failures)
+                .append(", erros de leitura: ").append(errors));
+        CanonicalCache<DifficultyRating> cache = rater.getCache();
+        System.err.println("Memória de avaliações: " + cache.getHitCount() + " acertos, " + cache.getMissCount()
+                + " falhas (acerto de " + ReportFormat.decimal(100 * cache.getHitRate(), 1) + "%)");
+    }
+
+    private class RateTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        RateTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RateTask(from, mid), new RateTask(mid, to));
+                return;
+            }
+            int[] cells = new int[CELLS];
+            for (int i = from; i < to; i++) {
+                System.arraycopy(grids, i * CELLS, cells, 0, CELLS);
+                ratings[i] = rater.rate(cells);
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.david.sudoku.app;
+
+import com.david.sudoku.io.PuzzleText;
+import com.david.sudoku.metrics.LatencyHistogram;
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.Constraint;
+import com.david.sudoku.solver.SudokuSolver;
+import com.david.sudoku.variant.DiagonalConstraint;
+import com.david.sudoku.variant.WindokuConstraint;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Modo sem interface gráfica: resolve um arquivo com um quebra-cabeça de 81 caracteres por linha
+ * ('1'-'9' para números, '0' ou '.' para vazio) usando todos os núcleos.
+ * O arquivo é lido em blocos; cada bloco é resolvido em paralelo num ForkJoinPool (work-stealing)
+ * e as soluções são escritas na mesma ordem da entrada. Linhas inválidas ou sem solução
+ * são copiadas sem alteração e contadas como falhas. Com {@code --variant}, todas as grades seguem
+ * também as regras da variante ({@code x} para as diagonais, {@code windoku} para as janelas ou
+ * ambas, separadas por vírgula).
+ */
+public class BatchSolver {
+    private static final int CELLS = PuzzleText.CELLS;
+    private static final int CHUNK_SIZE = 1 << 14; // Quebra-cabeças lidos por bloco
+    private static final int SPLIT_THRESHOLD = 64; // Tamanho mínimo de uma tarefa fork/join
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<SudokuSolver> solvers;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+
+    public BatchSolver(ForkJoinPool pool) {
+        this(pool, BoardGeometry.STANDARD);
+    }
+
+    /**
+     * @param geometry geometria 9x9, possivelmente com variantes
+     */
+    public BatchSolver(ForkJoinPool pool, BoardGeometry geometry) {
+        if (geometry.getCellCount() != CELLS) {
+            throw new IllegalArgumentException("O lote resolve apenas tabuleiros 9x9");
+        }
+        this.pool = pool;
+        this.solvers = ThreadLocal.withInitial(() -> new SudokuSolver(SudokuSolver.Engine.BITMASK, geometry));
+    }
+
+    /**
+     * Ponto de entrada da linha de comando: {@code --solve-batch entrada [saida] [--variant x,windoku]}.
+     * Sem arquivo de saída, as soluções vão para a saída padrão; o relatório vai para a saída de erro.
+     */
+    public static int run(String[] args) {
+        String usage = "Uso: " + args[0] + " <arquivo> [arquivo-de-saida] [--variant x|windoku|x,windoku]";
+        BoardGeometry geometry = BoardGeometry.STANDARD;
+        String[] files = new String[2];
+        int fileCount = 0;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--variant") && i + 1 < args.length) {
+                Constraint[] constraints = parseVariants(args[++i]);
+                if (constraints == null) {
+                    System.err.println("Variante desconhecida: " + args[i]);
+                    System.err.println(usage);
+                    return 2;
+                }
+                geometry = geometry.withConstraints(constraints);
+            } else if (fileCount < files.length && !args[i].startsWith("--")) {
+                files[fileCount++] = args[i];
+            } else {
+                System.err.println(usage);
+                return 2;
+            }
+        }
+        if (fileCount == 0) {
+            System.err.println(usage);
+            return 2;
+        }
+        Path input = Path.of(files[0]);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             Writer writer = fileCount > 1
+                     ? Files.newBufferedWriter(Path.of(files[1]), StandardCharsets.US_ASCII)
+                     : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16)) {
+            BatchSolver solver = new BatchSolver(pool, geometry);
+            long start = System.nanoTime();
+            long solved = solver.solveAll(reader, writer);
+            writer.flush();
+            solver.printReport(solved, System.nanoTime() - start);
+            return solver.getFailures() == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Erro ao processar o lote: " + e.getMessage());
+            return 1;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Nomes separados por vírgula; null se algum não for uma variante conhecida
+    private static Constraint[] parseVariants(String names) {
+        String[] parts = names.split(",");
+        Constraint[] constraints = new Constraint[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            switch (parts[i].trim().toLowerCase(Locale.ROOT)) {
+                case "x":
+                case "diagonal":
+                    constraints[i] = new DiagonalConstraint();
+                    break;
+                case "windoku":
+                    constraints[i] = new WindokuConstraint();
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return constraints;
+    }
+
+    /**
+     * Resolve todas as linhas do leitor, escrevendo uma linha de saída por quebra-cabeça.
+     *
+     * @return quantidade de quebra-cabeças processados
+     */
+    public long solveAll(BufferedReader reader, Writer writer) throws IOException {
+        String[] lines = new String[CHUNK_SIZE];
+        int[] grids = new int[CHUNK_SIZE * CELLS];
+        boolean[] solved = new boolean[CHUNK_SIZE];
+        int[] cells = new int[CELLS];
+        char[] out = new char[CELLS];
+        long total = 0;
+
+        while (true) {
+            int count = 0;
+            String line;
+            while (count < CHUNK_SIZE && (line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    lines[count++] = line;
+                }
+            }
+            if (count == 0) {
+                return total;
+            }
+
+            pool.invoke(new SolveTask(lines, grids, solved, 0, count));
+
+            for (int i = 0; i < count; i++) {
+                if (solved[i]) {
+                    System.arraycopy(grids, i * CELLS, cells, 0, CELLS);
+                    PuzzleText.format(cells, out);
+                    writer.write(out);
+                } else {
+                    writer.write(lines[i]);
+                }
+                writer.write('\n');
+                lines[i] = null;
+            }
+            total += count;
+        }
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    private void printReport(long puzzles, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.err.println("Quebra-cabeças: " + puzzles + " em " + ReportFormat.decimal(seconds, 3) + " s ("
+                + ReportFormat.decimal(seconds > 0 ? puzzles / seconds : 0.0, 0) + "/s) com "
+                + pool.getParallelism() + " threads");
+        System.err.println("Latência por quebra-cabeça: p50=" + ReportFormat.decimal(latencies.getPercentileNanos(50) / 1e3, 1)
+                + " µs, p99=" + ReportFormat.decimal(latencies.getPercentileNanos(99) / 1e3, 1)
+                + " µs, máx=" + ReportFormat.decimal(latencies.getMaxNanos() / 1e3, 1) + " µs");
+        System.err.println("Falhas: " + failures.sum());
+    }
+
+    private class SolveTask extends RecursiveAction {
+        private final String[] lines;
+        private final int[] grids;
+        private final boolean[] solved;
+        private final int from;
+        private final int to;
+
+        SolveTask(String[] lines, int[] grids, boolean[] solved, int from, int to) {
+            this.lines = lines;
+            this.grids = grids;
+            this.solved = solved;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SolveTask(lines, grids, solved, from, mid),
+                        new SolveTask(lines, grids, solved, mid, to));
+                return;
+            }
+            SudokuSolver solver = solvers.get();
+            int[] cells = new int[CELLS];
+            for (int i = from; i < to; i++) {
+                long start = System.nanoTime();
+                boolean ok = PuzzleText.parseLine(lines[i], cells) && solver.solveInPlace(cells);
+                latencies.record(System.nanoTime() - start);
+                if (ok) {
+                    System.arraycopy(cells, 0, grids, i * CELLS, CELLS);
+                } else {
+                    failures.increment();
+                }
+                solved[i] = ok;
+            }
+        }
+    }
+}
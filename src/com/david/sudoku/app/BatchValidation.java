@@ -0,0 +1,93 @@
+package com.david.sudoku.app;
+
+import com.david.sudoku.io.ParseError;
+import com.david.sudoku.io.PuzzleFormat;
+import com.david.sudoku.io.PuzzleParser;
+import com.david.sudoku.validation.BatchValidator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Modo sem interface gráfica: {@code --validate-batch arquivo} verifica grades completas (em qualquer
+ * formato de {@link PuzzleFormat}, pela extensão) em lotes com o {@link BatchValidator}. Cada grade
+ * inválida é listada na saída padrão com a linha do arquivo e a primeira unidade com conflito; o
+ * relatório vai para a saída de erro.
+ */
+public class BatchValidation {
+    private static final int BATCH_SIZE = 1 << 16;
+
+    private final BatchValidator validator = BatchValidator.create();
+    private final byte[] grids = new byte[BATCH_SIZE * BatchValidator.CELLS];
+    private final long[] lines = new long[BATCH_SIZE];
+    private final int[] results = new int[BATCH_SIZE];
+    private final Writer out;
+    private int pending;
+    private long total;
+    private long valid;
+
+    private BatchValidation(Writer out) {
+        this.out = out;
+    }
+
+    public static int run(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Uso: " + args[0] + " <arquivo>");
+            return 2;
+        }
+        Path input = Path.of(args[1]);
+        try (FileChannel channel = FileChannel.open(input);
+             Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)) {
+            BatchValidation validation = new BatchValidation(out);
+            PuzzleParser parser = new PuzzleParser(PuzzleFormat.forPath(input), new PuzzleParser.Handler() {
+                @Override
+                public void puzzle(int[] cells, long line) throws IOException {
+                    validation.add(cells, line);
+                }
+
+                @Override
+                public void error(ParseError error) {
+                    System.err.println("Aviso: " + error + " (ignorado)");
+                }
+            });
+            long start = System.nanoTime();
+            parser.parse(channel);
+            validation.flush();
+            out.flush();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.println("Grades: " + validation.total + " em " + ReportFormat.decimal(seconds, 3) + " s ("
+                    + ReportFormat.decimal(seconds > 0 ? validation.total / seconds : 0.0, 0) + "/s, "
+                    + (validation.validator.isVectorized() ? "vetorial" : "escalar") + "), válidas: " + validation.valid
+                    + ", inválidas: " + (validation.total - validation.valid)
+                    + ", erros de leitura: " + parser.getErrorCount());
+            return validation.valid == validation.total && parser.getErrorCount() == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Erro ao validar o lote: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private void add(int[] cells, long line) throws IOException {
+        BatchValidator.pack(cells, grids, pending);
+        lines[pending++] = line;
+        if (pending == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        valid += validator.validate(grids, pending, results);
+        for (int i = 0; i < pending; i++) {
+            if (results[i] != BatchValidator.VALID) {
+                out.write("linha " + lines[i] + ": conflito na " + BatchValidator.describeUnit(results[i]) + '\n');
+            }
+        }
+        total += pending;
+        pending = 0;
+    }
+}
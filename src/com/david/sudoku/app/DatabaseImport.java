@@ -0,0 +1,61 @@
+package com.david.sudoku.app;
+
+import com.david.sudoku.io.ParseError;
+import com.david.sudoku.io.PuzzleDatabaseWriter;
+import com.david.sudoku.io.PuzzleFormat;
+import com.david.sudoku.io.PuzzleParser;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Modo sem interface gráfica: converte quebra-cabeças em texto para a base binária do
+ * {@code PuzzleDatabase}. Sem {@code --format}, o formato vem da extensão da entrada (ver
+ * {@link PuzzleFormat#forPath(Path)}); linhas inválidas são avisadas e ignoradas.
+ */
+public class DatabaseImport {
+    /**
+     * Ponto de entrada da linha de comando: {@code convert entrada saida.db [--format line|sdk|ss|clues]}.
+     */
+    public static int run(String[] args) {
+        if (args.length != 3 && (args.length != 5 || !args[3].equals("--format"))) {
+            System.err.println("Uso: " + args[0] + " <arquivo> <arquivo.db> [--format line|sdk|ss|clues]");
+            return 2;
+        }
+        Path input = Path.of(args[1]);
+        PuzzleFormat format;
+        try {
+            format = args.length == 5
+                    ? PuzzleFormat.valueOf(args[4].toUpperCase(Locale.ROOT))
+                    : PuzzleFormat.forPath(input);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Formato desconhecido: " + args[4]);
+            return 2;
+        }
+        try (FileChannel channel = FileChannel.open(input);
+             PuzzleDatabaseWriter writer = new PuzzleDatabaseWriter(Path.of(args[2]))) {
+            PuzzleParser parser = new PuzzleParser(format, new PuzzleParser.Handler() {
+                @Override
+                public void puzzle(int[] cells, long line) throws IOException {
+                    writer.append(cells, null);
+                }
+
+                @Override
+                public void error(ParseError error) {
+                    System.err.println("Aviso: " + error + " (ignorado)");
+                }
+            });
+            long start = System.nanoTime();
+            parser.parse(channel);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.println("Importados: " + writer.getCount() + ", erros: " + parser.getErrorCount() + " ("
+                    + ReportFormat.decimal(seconds > 0 ? channel.size() / 1e6 / seconds : 0.0, 1) + " MB/s)");
+            return parser.getErrorCount() == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Erro ao importar: " + e.getMessage());
+            return 1;
+        }
+    }
+}
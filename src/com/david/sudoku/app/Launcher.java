@@ -0,0 +1,81 @@
+package com.david.sudoku.app;
+
+import java.util.Arrays;
+
+/**
+ * Ponto de entrada por subcomando. Cada modo sem interface gráfica roda direto na thread principal e
+ * só carrega as próprias classes: nada de AWT/Swing (que exige um display), do pool de geração ou do
+ * JFR, cujos eventos só são criados com uma gravação ativa (ver {@code SudokuMetrics}). Apenas
+ * {@code gui} chega ao {@link SudokuGame}, que monta a janela.
+ * <p>
+ * Sem subcomando, ou com as opções antigas ({@code --solve-batch}, {@code --serve} etc.), os
+ * argumentos vão inteiros para o {@link SudokuGame}, como antes.
+ * Em caso de sucesso o processo termina ao fim do {@code main}, sem {@code System.exit}.
+ */
+public class Launcher {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Uso: <subcomando> [argumentos]",
+            "  validate <arquivo>                         verifica grades completas",
+            "  solve <arquivo> [arquivo-de-saida] [--variant x|windoku]",
+            "                                             resolve quebra-cabeças em paralelo",
+            "  generate [--difficulty D] [--count N] [--seed S]",
+            "                                             gera quebra-cabeças com solução única",
+            "  rate <arquivo> [arquivo ...] [--cache arquivo] [--threads N]",
+            "                                             avalia a dificuldade em paralelo",
+            "  convert <arquivo> <arquivo.db> [--format line|sdk|ss|clues]",
+            "                                             importa para a base binária",
+            "  replay <arquivo> [arquivo ...]             analisa partidas gravadas",
+            "  serve [porta] [opções]                     servidor HTTP/JSON",
+            "  load-test <url> [jogadores] [segundos]     gerador de carga para o servidor",
+            "  gui [argumentos do jogo]                   interface gráfica");
+
+    public static void main(String[] args) {
+        String command = args.length > 0 ? args[0] : "gui";
+        int code;
+        switch (command) {
+            case "validate":
+                code = BatchValidation.run(args);
+                break;
+            case "solve":
+                code = BatchSolver.run(args);
+                break;
+            case "generate":
+                code = BatchGeneration.run(args);
+                break;
+            case "rate":
+                code = BatchRating.run(args);
+                break;
+            case "convert":
+                code = DatabaseImport.run(args);
+                break;
+            case "replay":
+                code = ReplayAnalysis.run(args);
+                break;
+            case "serve":
+                code = SudokuServer.run(args); // As threads do servidor mantêm o processo ativo
+                break;
+            case "load-test":
+                code = LoadGenerator.run(args);
+                break;
+            case "gui":
+                SudokuGame.main(Arrays.copyOfRange(args, Math.min(1, args.length), args.length));
+                return;
+            case "help":
+            case "--help":
+                System.out.println(USAGE);
+                return;
+            default:
+                if (command.startsWith("--") || command.indexOf(':') >= 0) {
+                    SudokuGame.main(args); // Opções antigas e números iniciais "numero:linha:coluna"
+                    return;
+                }
+                System.err.println("Subcomando desconhecido: " + command);
+                System.err.println(USAGE);
+                code = 2;
+                break;
+        }
+        if (code != 0) {
+            System.exit(code);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.david.sudoku.app;
+
+import com.david.sudoku.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga para o modo servidor: {@code --load-test <url> [jogadores] [segundos]}.
+ * Cada jogador simulado é uma thread virtual que cria uma partida e repete um ciclo de jogadas
+ * (número, rascunho, remoção e status) até o fim do tempo, e então encerra a partida. Ao final
+ * são exibidos requisições/s, latências p50/p99/p99,9 e falhas (respostas 5xx ou erros de rede).
+ */
+public class LoadGenerator {
+    private static final int DEFAULT_PLAYERS = 1000;
+    private static final int DEFAULT_SECONDS = 30;
+    // Quebra-cabeça fixo, para que a criação da partida não dependa da geração no servidor
+    private static final String PUZZLE =
+            "530070000600195000098000060800060003400803001700020006060000280000419005000080079";
+
+    private final HttpClient client;
+    private final URI base;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public LoadGenerator(HttpClient client, URI base) {
+        this.client = client;
+        this.base = base;
+    }
+
+    public static int run(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: " + args[0] + " <url> [jogadores] [segundos]");
+            return 2;
+        }
+        int players;
+        int seconds;
+        try {
+            players = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PLAYERS;
+            seconds = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_SECONDS;
+        } catch (NumberFormatException e) {
+            System.err.println("Uso: " + args[0] + " <url> [jogadores] [segundos]");
+            return 2;
+        }
+        String url = args[1].endsWith("/") ? args[1].substring(0, args[1].length() - 1) : args[1];
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+            LoadGenerator generator = new LoadGenerator(client, URI.create(url));
+            long start = System.nanoTime();
+            generator.runPlayers(executor, players, start + seconds * 1_000_000_000L);
+            generator.printReport(players, System.nanoTime() - start);
+            return generator.failures.sum() == 0 ? 0 : 1;
+        }
+    }
+
+    /**
+     * Executa {@code players} jogadores simultâneos até {@code deadlineNanos} e aguarda todos terminarem.
+     */
+    public void runPlayers(ExecutorService executor, int players, long deadlineNanos) {
+        List<Future<?>> running = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            running.add(executor.submit(() -> play(deadlineNanos)));
+        }
+        for (Future<?> player : running) {
+            try {
+                player.get();
+            } catch (Exception e) {
+                failures.increment();
+            }
+        }
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    private void play(long deadlineNanos) {
+        HttpResponse<String> created = send("POST", "/games", "{\"puzzle\":\"" + PUZZLE + "\"}");
+        if (created == null || created.statusCode() != 201) {
+            return;
+        }
+        String body = created.body();
+        int idStart = body.indexOf("\"id\":\"") + 6;
+        String game = "/games/" + body.substring(idStart, body.indexOf('"', idStart));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadlineNanos) {
+            int row = random.nextInt(9);
+            int col = random.nextInt(9);
+            int number = random.nextInt(1, 10);
+            String move = "{\"number\":" + number + ",\"row\":" + row + ",\"col\":" + col + "}";
+            send("POST", game + "/drafts/place", move);
+            send("POST", game + "/place", move); // 409 (jogada recusada) também é uma resposta válida
+            send("GET", game + "/status", null);
+            send("POST", game + "/remove", move);
+        }
+        send("DELETE", game, null);
+    }
+
+    private HttpResponse<String> send(String method, String path, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(30));
+        if (json != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            latencies.record(System.nanoTime() - start);
+            requests.increment();
+            if (response.statusCode() >= 500) {
+                failures.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            failures.increment();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.increment();
+            return null;
+        }
+    }
+
+    private void printReport(int players, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long total = requests.sum();
+        System.err.printf("Requisições: %d em %.1f s (%.0f/s) com %d jogadores%n",
+                total, seconds, seconds > 0 ? total / seconds : 0.0, players);
+        System.err.printf("Latência: p50=%.2f ms, p99=%.2f ms, p99,9=%.2f ms, máx=%.2f ms%n",
+                latencies.getPercentileNanos(50) / 1e6,
+                latencies.getPercentileNanos(99) / 1e6,
+                latencies.getPercentileNanos(99.9) / 1e6,
+                latencies.getMaxNanos() / 1e6);
+        System.err.println("Falhas: " + failures.sum());
+    }
+}
@@ -0,0 +1,41 @@
+package com.david.sudoku.app;
+
+import com.david.sudoku.replay.RecordingReader;
+import com.david.sudoku.replay.ReplayAnalytics;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Modo sem interface gráfica: {@code --replay arquivo...} reexecuta as partidas gravadas (com
+ * {@code --record}) e imprime os agregados do {@link ReplayAnalytics}. Os arquivos são lidos em fluxo,
+ * uma única vez, com memória fixa independentemente do número de sessões.
+ */
+public class ReplayAnalysis {
+    public static int run(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: " + args[0] + " <arquivo> [arquivo ...]");
+            return 2;
+        }
+        ReplayAnalytics analytics = new ReplayAnalytics();
+        RecordingReader reader = new RecordingReader(analytics);
+        long start = System.nanoTime();
+        for (int i = 1; i < args.length; i++) {
+            try (FileChannel channel = FileChannel.open(Path.of(args[i]))) {
+                reader.read(channel);
+            } catch (IOException e) {
+                System.err.println("Erro ao ler " + args[i] + ": " + e.getMessage());
+                return 1;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        analytics.writeReport(System.out);
+        System.err.printf("Reexecutadas %d sessões (%.1f MB) em %.3f s (%.0f sessões/s), incompletas: %d, inválidas: %d%n",
+                reader.getSessionCount(), reader.getByteCount() / 1e6, seconds,
+                seconds > 0 ? reader.getSessionCount() / seconds : 0.0,
+                reader.getTruncatedCount(), reader.getCorruptCount());
+        return 0;
+    }
+}
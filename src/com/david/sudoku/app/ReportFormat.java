@@ -0,0 +1,37 @@
+package com.david.sudoku.app;
+
+/**
+ * Números dos relatórios dos modos em lote, formatados sem {@code printf}: o primeiro
+ * {@code String.format} de um processo carrega o {@code Formatter} e os dados de localidade, cerca de
+ * 45 ms, mais do que um lote pequeno leva para rodar. Usa sempre ponto como separador decimal.
+ */
+final class ReportFormat {
+    private ReportFormat() {
+    }
+
+    /** {@code value} com {@code digits} casas decimais (0 a 9), arredondado como {@code %.Nf}. */
+    static String decimal(double value, int digits) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return Double.toString(value);
+        }
+        long scale = 1;
+        for (int i = 0; i < digits; i++) {
+            scale *= 10;
+        }
+        long scaled = Math.round(Math.abs(value) * scale);
+        StringBuilder text = new StringBuilder(24);
+        if (value < 0 && scaled != 0) {
+            text.append('-');
+        }
+        text.append(scaled / scale);
+        if (digits > 0) {
+            text.append('.');
+            String fraction = Long.toString(scaled % scale);
+            for (int i = fraction.length(); i < digits; i++) {
+                text.append('0');
+            }
+            text.append(fraction);
+        }
+        return text.toString();
+    }
+}
@@ -1,20 +1,151 @@
 package com.david.sudoku.app;
 
+import com.david.sudoku.generator.PuzzlePool;
 import com.david.sudoku.gui.SudokuGUI;
+import com.david.sudoku.io.PuzzleDatabase;
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.SessionLog;
 import com.david.sudoku.model.SudokuBoard;
+import com.david.sudoku.replay.RecordingWriter;
 
 import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 public class SudokuGame {
+    private static final int PUZZLES_PER_DIFFICULTY = 8;
+
     public static void main(String[] args) {
         // Exemplo de como passar números iniciais via args:
         // java com.david.sudoku.app.SudokuGame 5:0:0 3:0:1 8:1:4 2:2:6 ...
         // Formato: "numero:linha:coluna" (linha e coluna de 0 a 8)
+        //
+        // Modo em lote, sem interface gráfica:
+        // java com.david.sudoku.app.SudokuGame --solve-batch puzzles.txt [solucoes.txt]
+        // java [--add-modules jdk.incubator.vector] com.david.sudoku.app.SudokuGame --validate-batch grades.txt
+        //
+        // Base binária de quebra-cabeças:
+        // java com.david.sudoku.app.SudokuGame --db-import puzzles.txt puzzles.db
+        // java com.david.sudoku.app.SudokuGame --db-import colecao.sdk puzzles.db (também .ss e --format clues)
+        // java com.david.sudoku.app.SudokuGame --db puzzles.db --index 42
+        //
+        // Gravação da partida para recuperação após uma falha (retoma a sessão se o arquivo existir):
+        // java com.david.sudoku.app.SudokuGame --session partida.log [demais argumentos]
+        //
+        // Gravação das partidas como eventos (acrescentadas ao arquivo) e análise das gravações:
+        // java com.david.sudoku.app.SudokuGame --record partidas.rec [--session partida.log] [demais argumentos]
+        // java com.david.sudoku.app.SudokuGame --replay partidas.rec [outras.rec ...]
+        //
+        // Servidor HTTP/JSON sem interface gráfica e gerador de carga para ele:
+        // java com.david.sudoku.app.SudokuGame --serve [porta] [--max-sessions N] [--idle-minutes N]
+        // java com.david.sudoku.app.SudokuGame --load-test http://localhost:8080 [jogadores] [segundos]
+        //
+        // Subcomandos sem interface gráfica (validate, solve, generate, convert...): ver Launcher
+        //
+        // Tabuleiros maiores (blocos 4x4 = 16x16, 5x5 = 25x25), com linha e coluna de 0 a size-1:
+        // java com.david.sudoku.app.SudokuGame --box 4 12:0:0 16:3:15 ...
+
+        if (args.length > 0 && args[0].equals("--solve-batch")) {
+            System.exit(BatchSolver.run(args));
+        }
+        if (args.length > 0 && args[0].equals("--validate-batch")) {
+            System.exit(BatchValidation.run(args));
+        }
+        if (args.length > 0 && args[0].equals("--db-import")) {
+            System.exit(DatabaseImport.run(args));
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int code = SudokuServer.run(args);
+            if (code != 0) {
+                System.exit(code);
+            }
+            return; // As threads do servidor mantêm o processo ativo
+        }
+        if (args.length > 0 && args[0].equals("--load-test")) {
+            System.exit(LoadGenerator.run(args));
+        }
+        if (args.length > 0 && args[0].equals("--replay")) {
+            System.exit(ReplayAnalysis.run(args));
+        }
+
+        Path recordFile = null;
+        if (args.length > 1 && args[0].equals("--record")) {
+            recordFile = Path.of(args[1]);
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        Path sessionFile = null;
+        if (args.length > 1 && args[0].equals("--session")) {
+            sessionFile = Path.of(args[1]);
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
 
-        final SudokuBoard board = new SudokuBoard(args);
+        final SudokuBoard board;
+        if (sessionFile != null && Files.exists(sessionFile)) {
+            board = recoverSession(sessionFile);
+        } else if (args.length > 0 && args[0].equals("--db")) {
+            board = loadFromDatabase(args);
+        } else if (args.length > 1 && args[0].equals("--box")) {
+            board = new SudokuBoard(parseGeometry(args[1]), Arrays.copyOfRange(args, 2, args.length));
+        } else {
+            board = new SudokuBoard(args);
+        }
+        // Gera quebra-cabeças em segundo plano para que "Iniciar Novo Jogo" seja instantâneo
+        final PuzzlePool puzzlePool = new PuzzlePool(
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1), PUZZLES_PER_DIFFICULTY);
 
+        final Path session = sessionFile;
+        final RecordingWriter recordings = recordFile == null ? null : openRecordings(recordFile);
         SwingUtilities.invokeLater(() -> {
-            new SudokuGUI(board).setVisible(true);
+            new SudokuGUI(board, puzzlePool, session, recordings).setVisible(true);
         });
     }
-}
\ No newline at end of file
+
+    private static RecordingWriter openRecordings(Path recordFile) {
+        try {
+            return RecordingWriter.open(recordFile);
+        } catch (IOException e) {
+            System.err.println("Erro ao abrir o arquivo de gravações: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    private static SudokuBoard recoverSession(Path sessionFile) {
+        try {
+            return SessionLog.recover(sessionFile);
+        } catch (IOException e) {
+            System.err.println("Erro ao recuperar a sessão: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+
+    private static BoardGeometry parseGeometry(String boxSize) {
+        try {
+            return BoardGeometry.forBoxSize(Integer.parseInt(boxSize));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Uso: --box <" + BoardGeometry.MIN_BOX_SIZE + "-" + BoardGeometry.MAX_BOX_SIZE
+                    + "> [numero:linha:coluna ...]");
+            System.exit(2);
+            return null;
+        }
+    }
+
+    // --db arquivo [--index N]: carrega o quebra-cabeça N (0 por padrão) da base binária
+    private static SudokuBoard loadFromDatabase(String[] args) {
+        if (args.length < 2 || (args.length > 2 && (args.length < 4 || !args[2].equals("--index")))) {
+            System.err.println("Uso: --db <arquivo> [--index N]");
+            System.exit(2);
+        }
+        try (PuzzleDatabase database = new PuzzleDatabase(Path.of(args[1]))) {
+            long index = args.length > 3 ? Long.parseLong(args[3]) : 0;
+            return database.getBoard(index);
+        } catch (IOException | IndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println("Erro ao carregar da base: " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
+    }
+}
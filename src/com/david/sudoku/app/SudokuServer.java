@@ -0,0 +1,102 @@
+package com.david.sudoku.app;
+
+import com.david.sudoku.generator.PuzzlePool;
+import com.david.sudoku.replay.RecordingWriter;
+import com.david.sudoku.server.GameServer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Modo servidor, sem interface gráfica:
+ * {@code --serve [porta] [--max-sessions N] [--idle-minutes N] [--record arquivo]}.
+ * Atende as partidas por HTTP/JSON (ver {@link GameServer}) até o processo ser encerrado; com
+ * {@code --record}, as partidas encerradas são acrescentadas ao arquivo de gravações.
+ */
+public class SudokuServer {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_MAX_SESSIONS = 100_000;
+    private static final int DEFAULT_IDLE_MINUTES = 30;
+    private static final int PUZZLES_PER_DIFFICULTY = 64;
+
+    public static void main(String[] args) {
+        int code = start(args);
+        if (code != 0) {
+            System.exit(code);
+        }
+    }
+
+    /**
+     * Ponto de entrada da linha de comando a partir de {@link SudokuGame}: {@code --serve [opções]}.
+     * Inicia o servidor e retorna imediatamente; as threads do servidor mantêm o processo ativo.
+     *
+     * @return 0 se o servidor foi iniciado, ou o código de saída do erro
+     */
+    public static int run(String[] args) {
+        return start(Arrays.copyOfRange(args, 1, args.length));
+    }
+
+    private static int start(String[] args) {
+        int port = DEFAULT_PORT;
+        int maxSessions = DEFAULT_MAX_SESSIONS;
+        int idleMinutes = DEFAULT_IDLE_MINUTES;
+        Path recordFile = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--max-sessions":
+                        maxSessions = Integer.parseInt(args[++i]);
+                        break;
+                    case "--idle-minutes":
+                        idleMinutes = Integer.parseInt(args[++i]);
+                        break;
+                    case "--record":
+                        recordFile = Path.of(args[++i]);
+                        break;
+                    default:
+                        port = Integer.parseInt(args[i]);
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Uso: " + args[0] + " [porta] [--max-sessions N] [--idle-minutes N] [--record arquivo]");
+            return 2;
+        }
+
+        // Poucas threads de geração: o servidor precisa dos núcleos para atender as requisições
+        PuzzlePool puzzlePool = new PuzzlePool(
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 4), PUZZLES_PER_DIFFICULTY);
+        RecordingWriter recordings = null;
+        try {
+            recordings = recordFile == null ? null : RecordingWriter.open(recordFile);
+            GameServer server = new GameServer(port, maxSessions, idleMinutes, puzzlePool, recordings);
+            final RecordingWriter openRecordings = recordings;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close(); // Encerra as partidas ativas, que entram na gravação
+                puzzlePool.close();
+                if (openRecordings != null) {
+                    try {
+                        openRecordings.close();
+                    } catch (IOException e) {
+                        System.err.println("Erro ao gravar as partidas: " + e.getMessage());
+                    }
+                }
+            }, "sudoku-server-shutdown"));
+            server.start();
+            System.err.println("Servidor Sudoku na porta " + server.getPort() + " (máx. " + maxSessions
+                    + " partidas, descartadas após " + idleMinutes + " min sem acesso)");
+            return 0;
+        } catch (IOException e) {
+            puzzlePool.close();
+            if (recordings != null) {
+                try {
+                    recordings.close();
+                } catch (IOException ignored) {
+                    // O erro de inicialização é o que interessa
+                }
+            }
+            System.err.println("Erro ao iniciar o servidor: " + e.getMessage());
+            return 1;
+        }
+    }
+}
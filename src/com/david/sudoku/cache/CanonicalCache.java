@@ -0,0 +1,185 @@
+package com.david.sudoku.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Cache limitado e concorrente de resultados indexados pela {@link CanonicalKey}. Para reduzir a
+ * disputa, as chaves são divididas em segmentos, cada um com seu próprio lock e sua própria ordem
+ * LRU ({@link LinkedHashMap} em ordem de acesso); o limite é dividido igualmente entre eles.
+ * <p>
+ * Os valores devem estar no sistema de coordenadas canônico (ou não depender dele, como uma
+ * dificuldade); cabe ao chamador levá-los de volta à grade original com a {@link CanonicalForm}.
+ * ReentrantLock em vez de synchronized para não prender a thread de plataforma de uma thread virtual.
+ */
+public final class CanonicalCache<V> {
+    private final Segment<V>[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+
+    /**
+     * @param capacity quantidade máxima de entradas (aproximada: o limite vale por segmento)
+     */
+    public CanonicalCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A capacidade deve ser positiva");
+        }
+        int count = Integer.highestOneBit(Math.max(1, Math.min(
+                Runtime.getRuntime().availableProcessors() * 4, capacity / 16)));
+        @SuppressWarnings("unchecked")
+        Segment<V>[] segments = (Segment<V>[]) new Segment<?>[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>((capacity + count - 1) / count, evictions);
+        }
+        this.segments = segments;
+        this.segmentMask = count - 1;
+    }
+
+    /**
+     * Valor em cache para a chave, ou {@code null}; conta um acerto ou uma falha.
+     */
+    public V get(CanonicalKey key) {
+        V value = segmentFor(key).get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    public void put(CanonicalKey key, V value) {
+        segmentFor(key).put(key, value);
+    }
+
+    /**
+     * Registra uma consulta que não pôde usar o cache (grade sem forma canônica).
+     */
+    public void recordBypass() {
+        bypasses.increment();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getBypassCount() {
+        return bypasses.sum();
+    }
+
+    /**
+     * Fração das consultas respondidas pelo cache (0 sem consultas); desvios contam como falhas.
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum() + bypasses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Percorre as entradas, um segmento por vez e sob o lock dele, sem alterar a ordem LRU nem as
+     * estatísticas. A ação não deve usar o próprio cache.
+     */
+    public void forEach(BiConsumer<CanonicalKey, V> action) {
+        for (Segment<V> segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    private Segment<V> segmentFor(CanonicalKey key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ hash >>> 16) & segmentMask];
+    }
+
+    private static final class Segment<V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<CanonicalKey, V> entries;
+
+        Segment(int capacity, LongAdder evictions) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CanonicalKey, V> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        V get(CanonicalKey key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(CanonicalKey key, V value) {
+            lock.lock();
+            try {
+                entries.put(key, value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                entries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void forEach(BiConsumer<CanonicalKey, V> action) {
+            lock.lock();
+            try {
+                entries.forEach(action);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
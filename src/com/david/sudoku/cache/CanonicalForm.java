@@ -0,0 +1,75 @@
+package com.david.sudoku.cache;
+
+/**
+ * Resultado de {@link Canonicalizer#canonicalize(int[])}: a chave canônica e a transformação que
+ * leva a grade original até ela, usada para levar resultados (como a solução) de volta à grade original.
+ */
+public final class CanonicalForm {
+    private static final int SIZE = 9;
+
+    private final CanonicalKey key;
+    private final boolean transposed;
+    private final int[] rows; // Linha de origem de cada linha canônica
+    private final int[] cols; // Coluna de origem de cada coluna canônica
+    private final int[] labelOf; // Número original -> número canônico (índice 0 não usado)
+    private final int[] digitOf; // Número canônico -> número original
+
+    CanonicalForm(CanonicalKey key, boolean transposed, int[] rows, int[] cols, long labels) {
+        this.key = key;
+        this.transposed = transposed;
+        this.rows = rows;
+        this.cols = cols;
+        this.labelOf = new int[SIZE + 1];
+        this.digitOf = new int[SIZE + 1];
+        int next = 1;
+        for (int digit = 1; digit <= SIZE; digit++) {
+            int label = (int) (labels >>> ((digit - 1) * 4)) & 0xF;
+            if (label != 0) {
+                labelOf[digit] = label;
+                digitOf[label] = digit;
+                next = Math.max(next, label + 1);
+            }
+        }
+        // Números ausentes da grade recebem os rótulos restantes, para que uma solução possa voltar
+        for (int digit = 1; digit <= SIZE; digit++) {
+            if (labelOf[digit] == 0) {
+                labelOf[digit] = next;
+                digitOf[next] = digit;
+                next++;
+            }
+        }
+    }
+
+    public CanonicalKey getKey() {
+        return key;
+    }
+
+    /**
+     * Aplica a transformação a uma grade de 81 células (por exemplo, a solução da grade original).
+     */
+    public void toCanonical(int[] grid, int[] out) {
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                int value = grid[sourceCell(i, j)];
+                out[i * SIZE + j] = value == 0 ? 0 : labelOf[value];
+            }
+        }
+    }
+
+    /**
+     * Aplica a transformação inversa: leva uma grade canônica (por exemplo, a solução em cache)
+     * para o sistema de coordenadas e números da grade original.
+     */
+    public void fromCanonical(int[] canonical, int[] out) {
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                int value = canonical[i * SIZE + j];
+                out[sourceCell(i, j)] = value == 0 ? 0 : digitOf[value];
+            }
+        }
+    }
+
+    private int sourceCell(int i, int j) {
+        return transposed ? cols[j] * SIZE + rows[i] : rows[i] * SIZE + cols[j];
+    }
+}
@@ -0,0 +1,70 @@
+package com.david.sudoku.cache;
+
+import java.util.Arrays;
+
+/**
+ * Forma canônica de uma grade 9x9 como chave de cache: as 81 células com 4 bits cada, 16 por long.
+ * Duas grades equivalentes por simetria (troca de números, de linhas dentro de uma faixa, de faixas,
+ * de colunas dentro de uma pilha, de pilhas e transposição) têm a mesma chave.
+ */
+public final class CanonicalKey {
+    private static final int CELLS = 81;
+    private static final int CELLS_PER_WORD = 16;
+
+    private final long[] words;
+    private final int hash;
+
+    CanonicalKey(int[] cells) {
+        this.words = new long[(CELLS + CELLS_PER_WORD - 1) / CELLS_PER_WORD];
+        for (int cell = 0; cell < CELLS; cell++) {
+            words[cell / CELLS_PER_WORD] |= (long) cells[cell] << (cell % CELLS_PER_WORD * 4);
+        }
+        this.hash = Arrays.hashCode(words);
+    }
+
+    /**
+     * Chave da grade tal como está, sem canonicalizar: para uma grade que já está na forma canônica
+     * (como a copiada por {@link #copyCells(int[])}) ou para um cache que só precisa reconhecer
+     * exatamente a mesma grade, sem pagar pela canonicalização.
+     */
+    public static CanonicalKey of(int[] canonicalCells) {
+        if (canonicalCells.length != CELLS) {
+            throw new IllegalArgumentException("A grade deve ter " + CELLS + " células");
+        }
+        for (int number : canonicalCells) {
+            if (number < 0 || number > 9) {
+                throw new IllegalArgumentException("Número inválido na grade: " + number);
+            }
+        }
+        return new CanonicalKey(canonicalCells);
+    }
+
+    /**
+     * Copia a grade canônica (81 células em ordem de linha, 0 = vazio) para {@code out}.
+     */
+    public void copyCells(int[] out) {
+        for (int cell = 0; cell < CELLS; cell++) {
+            out[cell] = (int) (words[cell / CELLS_PER_WORD] >>> (cell % CELLS_PER_WORD * 4)) & 0xF;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CanonicalKey && hash == ((CanonicalKey) other).hash
+                && Arrays.equals(words, ((CanonicalKey) other).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(CELLS);
+        for (int cell = 0; cell < CELLS; cell++) {
+            text.append((char) ('0' + ((words[cell / CELLS_PER_WORD] >>> (cell % CELLS_PER_WORD * 4)) & 0xF)));
+        }
+        return text.toString();
+    }
+}
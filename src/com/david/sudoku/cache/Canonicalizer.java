@@ -0,0 +1,271 @@
+package com.david.sudoku.cache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reduz uma grade 9x9 à sua forma canônica sob o grupo completo de simetrias do Sudoku: transposição,
+ * permutação de faixas e de linhas dentro de cada faixa, de pilhas e de colunas dentro de cada pilha,
+ * e troca dos números. A forma canônica é a menor grade, em ordem lexicográfica, entre todas as
+ * transformadas, com os números renomeados na ordem em que aparecem (células vazias valem 0).
+ * <p>
+ * A busca monta a grade linha a linha: a primeira linha é escolhida entre as 2 x 9 linhas de origem e
+ * as 1296 permutações de colunas, e cada linha seguinte entre as linhas ainda permitidas pela
+ * estrutura de faixas. Em cada nível só sobrevivem os estados que produzem a menor linha; estados
+ * equivalentes (mesma permutação de colunas, mesmas linhas usadas e mesmos rótulos) são unidos.
+ * Grades muito simétricas, quase vazias, gerariam estados demais: para elas o resultado é
+ * {@code null} e o chamador deve tratar a grade sem cache. Não é thread-safe.
+ */
+public final class Canonicalizer {
+    public static final int CELLS = 81;
+    private static final int SIZE = 9;
+    private static final int MAX_STATES = 1 << 14;
+
+    private static final int[][] ORDERS = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+    // Índice de uma ordem de três elementos em ORDERS, pelos dois primeiros (primeiro * 3 + segundo)
+    private static final int[] ORDER_INDEX = {-1, 0, 1, 2, -1, 3, 4, 5, -1};
+    // As 1296 permutações de 0..8 que preservam os grupos de três (pilhas ou faixas)
+    private static final int[][] LINE_PERMUTATIONS = buildLinePermutations();
+
+    private final int[] cells = new int[CELLS];
+    private final int[] candidate = new int[SIZE];
+    private final int[] best = new int[SIZE];
+    private final int[] columns = new int[SIZE]; // Coluna de origem de cada posição da primeira linha
+    private boolean haveBest;
+    // Rótulos após a última chamada de relabelRow
+    private long candidateLabels;
+    private int candidateNext;
+    private final Set<Long> seen = new HashSet<>();
+
+    private static final class State {
+        final boolean transposed;
+        final int permutation;
+        final int[] rows = new int[SIZE];
+        int used; // Linhas de origem já usadas (bit por linha)
+        long labels; // Rótulo de cada número original, 4 bits por número (0 = ainda sem rótulo)
+        int nextLabel;
+
+        State(boolean transposed, int permutation) {
+            this.transposed = transposed;
+            this.permutation = permutation;
+        }
+
+        State extend(int row, int level, long labels, int nextLabel) {
+            State next = new State(transposed, permutation);
+            System.arraycopy(this.rows, 0, next.rows, 0, level);
+            next.rows[level] = row;
+            next.used = used | 1 << row;
+            next.labels = labels;
+            next.nextLabel = nextLabel;
+            return next;
+        }
+
+        long identity() {
+            return (transposed ? 1L : 0L) | (long) permutation << 1 | (long) used << 12 | labels << 21;
+        }
+    }
+
+    /**
+     * Forma canônica da grade (81 células em ordem de linha, 0 = vazio), ou {@code null} se a grade
+     * for simétrica demais para ser canonicalizada a um custo razoável.
+     */
+    public CanonicalForm canonicalize(int[] grid) {
+        if (grid.length != CELLS) {
+            throw new IllegalArgumentException("A grade deve ter " + CELLS + " células");
+        }
+        System.arraycopy(grid, 0, cells, 0, CELLS);
+
+        List<State> states = firstRow();
+        int[] canonical = new int[CELLS];
+        System.arraycopy(best, 0, canonical, 0, SIZE);
+        for (int level = 1; level < SIZE && states != null; level++) {
+            states = nextRow(states, level);
+            if (states != null) {
+                System.arraycopy(best, 0, canonical, level * SIZE, SIZE);
+            }
+        }
+        if (states == null) {
+            return null;
+        }
+        State winner = states.get(0);
+        return new CanonicalForm(new CanonicalKey(canonical), winner.transposed, winner.rows.clone(),
+                LINE_PERMUTATIONS[winner.permutation].clone(), winner.labels);
+    }
+
+    private List<State> firstRow() {
+        List<State> states = new ArrayList<>();
+        haveBest = false;
+        for (int t = 0; t < 2; t++) {
+            for (int row = 0; row < SIZE; row++) {
+                if (!searchFirstRow(states, t == 1, row, 0, 0, 0L, 1)) {
+                    return null;
+                }
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Escolhe a coluna da posição {@code j} da primeira linha: no início de cada pilha, uma coluna de
+     * uma pilha ainda não usada; dentro dela, outra coluna da mesma pilha. Ramos cujo prefixo já é
+     * maior que o da melhor linha conhecida são abandonados.
+     *
+     * @return false se a quantidade de estados passou do limite
+     */
+    private boolean searchFirstRow(List<State> states, boolean transposed, int row, int j, int usedCols,
+                                   long labels, int nextLabel) {
+        int order = haveBest ? compare(j) : -1;
+        if (order > 0) {
+            return true; // Prefixo maior que o da melhor linha: nenhuma linha deste ramo pode vencer
+        }
+        if (j == SIZE) {
+            if (order < 0) {
+                System.arraycopy(candidate, 0, best, 0, SIZE);
+                states.clear();
+                haveBest = true;
+            }
+            if (states.size() == MAX_STATES) {
+                return false;
+            }
+            State state = new State(transposed, permutationIndex());
+            states.add(state.extend(row, 0, labels, nextLabel));
+            return true;
+        }
+        int stackOfPrevious = j % 3 == 0 ? -1 : columns[j - 1] / 3;
+        for (int col = 0; col < SIZE; col++) {
+            int stack = col / 3;
+            boolean allowed = stackOfPrevious < 0
+                    ? (usedCols & 7 << stack * 3) == 0 // Começo de pilha: qualquer pilha ainda não usada
+                    : stack == stackOfPrevious && (usedCols & 1 << col) == 0;
+            if (!allowed) {
+                continue;
+            }
+            int value = transposed ? cells[col * SIZE + row] : cells[row * SIZE + col];
+            long nextLabels = labels;
+            int next = nextLabel;
+            int label = 0;
+            if (value != 0) {
+                int shift = (value - 1) * 4;
+                label = (int) (labels >>> shift) & 0xF;
+                if (label == 0) {
+                    label = next++;
+                    nextLabels |= (long) label << shift;
+                }
+            }
+            candidate[j] = label;
+            columns[j] = col;
+            if (!searchFirstRow(states, transposed, row, j + 1, usedCols | 1 << col, nextLabels, next)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Compara os primeiros n números de candidate com os de best
+    private int compare(int n) {
+        for (int j = 0; j < n; j++) {
+            if (candidate[j] != best[j]) {
+                return candidate[j] < best[j] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    // Índice em LINE_PERMUTATIONS da permutação montada em columns
+    private int permutationIndex() {
+        int index = ORDER_INDEX[columns[0] / 3 * 3 + columns[3] / 3];
+        for (int g = 0; g < 3; g++) {
+            index = index * 6 + ORDER_INDEX[columns[g * 3] % 3 * 3 + columns[g * 3 + 1] % 3];
+        }
+        return index;
+    }
+
+    private List<State> nextRow(List<State> states, int level) {
+        List<State> next = new ArrayList<>();
+        seen.clear();
+        haveBest = false;
+        for (State state : states) {
+            int[] permutation = LINE_PERMUTATIONS[state.permutation];
+            int band = state.rows[level - 1] / 3;
+            for (int row = 0; row < SIZE; row++) {
+                if ((state.used & 1 << row) != 0) continue;
+                // Dentro de uma faixa, as linhas seguintes vêm da mesma faixa; depois, de uma faixa nova
+                boolean sameBand = row / 3 == band;
+                if (level % 3 != 0 ? !sameBand : (state.used & 7 << (row / 3 * 3)) != 0) continue;
+
+                int order = relabelRow(state.transposed, row, permutation, state.labels, state.nextLabel);
+                if (order > 0) continue;
+                if (order < 0 || !haveBest) {
+                    System.arraycopy(candidate, 0, best, 0, SIZE);
+                    next.clear();
+                    seen.clear();
+                    haveBest = true;
+                }
+                State extended = state.extend(row, level, candidateLabels, candidateNext);
+                if (seen.add(extended.identity())) {
+                    if (next.size() == MAX_STATES) {
+                        return null;
+                    }
+                    next.add(extended);
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Monta em {@code candidate} a linha de origem com as colunas permutadas e os números renomeados.
+     *
+     * @return negativo, zero ou positivo se a linha é menor, igual ou maior que {@code best}
+     * (maior interrompe a montagem); sem melhor linha ainda, sempre negativo
+     */
+    private int relabelRow(boolean transposed, int row, int[] permutation, long labels, int nextLabel) {
+        int order = haveBest ? 0 : -1;
+        for (int j = 0; j < SIZE; j++) {
+            int col = permutation[j];
+            int value = transposed ? cells[col * SIZE + row] : cells[row * SIZE + col];
+            int label = 0;
+            if (value != 0) {
+                int shift = (value - 1) * 4;
+                label = (int) (labels >>> shift) & 0xF;
+                if (label == 0) {
+                    label = nextLabel++;
+                    labels |= (long) label << shift;
+                }
+            }
+            candidate[j] = label;
+            if (order == 0 && label != best[j]) {
+                if (label > best[j]) {
+                    return 1;
+                }
+                order = -1;
+            }
+        }
+        candidateLabels = labels;
+        candidateNext = nextLabel;
+        return order;
+    }
+
+    private static int[][] buildLinePermutations() {
+        int[][] permutations = new int[6 * 6 * 6 * 6][SIZE];
+        int index = 0;
+        for (int[] groups : ORDERS) {
+            for (int[] first : ORDERS) {
+                for (int[] second : ORDERS) {
+                    for (int[] third : ORDERS) {
+                        int[][] inner = {first, second, third};
+                        for (int g = 0; g < 3; g++) {
+                            for (int i = 0; i < 3; i++) {
+                                permutations[index][g * 3 + i] = groups[g] * 3 + inner[g][i];
+                            }
+                        }
+                        index++;
+                    }
+                }
+            }
+        }
+        return permutations;
+    }
+}
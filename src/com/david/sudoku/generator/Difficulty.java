@@ -0,0 +1,36 @@
+package com.david.sudoku.generator;
+
+/**
+ * Níveis de dificuldade, os mesmos da avaliação do {@link com.david.sudoku.rating.PuzzleRater}: o
+ * nível é dado pela técnica mais difícil que a resolução lógica exige
+ * (ver {@link com.david.sudoku.rating.DifficultyRating#getTier()}), não pela quantidade de números
+ * iniciais. Cada nível guarda apenas até quantos números o gerador tenta remover.
+ */
+public enum Difficulty {
+    EASY("Fácil", 36),
+    MEDIUM("Médio", 17),
+    HARD("Difícil", 17),
+    EXPERT("Especialista", 17);
+
+    private final String displayName;
+    private final int targetClues;
+
+    Difficulty(String displayName, int targetClues) {
+        this.displayName = displayName;
+        this.targetClues = targetClues;
+    }
+
+    /**
+     * Números iniciais em que o gerador para de remover; 17, o mínimo possível, remove enquanto a
+     * solução continuar única. Menos números não garantem um nível mais difícil, só o tornam mais
+     * provável: nos fáceis, parar antes mantém a grade agradável de jogar.
+     */
+    public int getTargetClues() {
+        return targetClues;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,53 @@
+package com.david.sudoku.generator;
+
+import com.david.sudoku.model.SudokuBoard;
+
+/**
+ * Quebra-cabeça gerado, com solução única. As grades são vetores de 81 células em ordem de linha.
+ */
+public final class Puzzle {
+    private static final int SIZE = 9;
+
+    private final int[] clues;
+    private final int[] solution;
+    private final Difficulty difficulty;
+    private final int clueCount;
+
+    Puzzle(int[] clues, int[] solution, Difficulty difficulty) {
+        this.clues = clues.clone();
+        this.solution = solution.clone();
+        this.difficulty = difficulty;
+        int count = 0;
+        for (int number : clues) {
+            if (number != 0) count++;
+        }
+        this.clueCount = count;
+    }
+
+    public int[] getClues() {
+        return clues.clone();
+    }
+
+    public int[] getSolution() {
+        return solution.clone();
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getClueCount() {
+        return clueCount;
+    }
+
+    /**
+     * Cria um novo tabuleiro com os números iniciais deste quebra-cabeça como números fixos.
+     */
+    public SudokuBoard toBoard() {
+        int[][] grid = new int[SIZE][SIZE];
+        for (int r = 0; r < SIZE; r++) {
+            System.arraycopy(clues, r * SIZE, grid[r], 0, SIZE);
+        }
+        return new SudokuBoard(grid);
+    }
+}
@@ -0,0 +1,121 @@
+package com.david.sudoku.generator;
+
+import com.david.sudoku.metrics.GeneratorEvent;
+import com.david.sudoku.metrics.SudokuMetrics;
+import com.david.sudoku.metrics.SudokuMetrics.Operation;
+import com.david.sudoku.rating.PuzzleRater;
+import com.david.sudoku.solver.SudokuSolver;
+
+import java.util.Random;
+
+/**
+ * Gera quebra-cabeças com solução única: monta uma grade completa aleatória e remove
+ * números em ordem aleatória, desfazendo cada remoção que admita uma segunda solução
+ * (a contagem é interrompida ao encontrar duas). O {@link PuzzleRater} avalia cada grade, e só a
+ * que cai no nível pedido é aceita. Não é thread-safe: use uma instância por thread.
+ */
+public class PuzzleGenerator {
+    private static final int SIZE = 9;
+    private static final int CELLS = SIZE * SIZE;
+    private static final int MAX_ATTEMPTS = 1000; // Grades difíceis sem chutes são raras: cerca de 1 em 100
+
+    private final Random random;
+    private final SudokuSolver solver = new SudokuSolver();
+    private final PuzzleRater rater = new PuzzleRater();
+    private final int[] order = new int[CELLS];
+    private final int[] digits = new int[SIZE];
+
+    public PuzzleGenerator(Random random) {
+        this.random = random;
+        for (int i = 0; i < CELLS; i++) {
+            order[i] = i;
+        }
+    }
+
+    /**
+     * Gera um quebra-cabeça avaliado no nível pedido. Se nenhuma tentativa o atingir, devolve o de
+     * nível mais próximo; {@link Puzzle#getDifficulty()} é sempre o nível avaliado.
+     */
+    public Puzzle generate(Difficulty difficulty) {
+        GeneratorEvent event = SudokuMetrics.eventsEnabled() ? new GeneratorEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = SudokuMetrics.start();
+        Puzzle best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        int attempt = 0;
+        while (attempt < MAX_ATTEMPTS && bestDistance > 0) {
+            attempt++;
+            int[] solution = generateSolution();
+            int[] clues = removeClues(solution, difficulty.getTargetClues());
+            Difficulty tier = rater.rate(clues).getTier(); // Nunca nulo: a solução é única
+            int distance = Math.abs(tier.ordinal() - difficulty.ordinal());
+            if (distance < bestDistance) {
+                best = new Puzzle(clues, solution, tier);
+                bestDistance = distance;
+            }
+        }
+        boolean inRange = bestDistance == 0;
+        SudokuMetrics.record(Operation.GENERATE, start, inRange);
+        if (event != null && event.shouldCommit()) {
+            event.difficulty = difficulty.name();
+            event.clues = best.getClueCount();
+            event.attempts = attempt;
+            event.inRange = inRange;
+            event.commit();
+        }
+        return best;
+    }
+
+    /**
+     * Gera uma grade completa: os três blocos da diagonal são independentes entre si,
+     * então são preenchidos com permutações aleatórias e o solver completa o restante.
+     */
+    public int[] generateSolution() {
+        int[] grid = new int[CELLS];
+        for (int block = 0; block < SIZE; block += 4) {
+            shuffleDigits();
+            int startRow = (block / 3) * 3;
+            int startCol = (block % 3) * 3;
+            for (int i = 0; i < SIZE; i++) {
+                grid[(startRow + i / 3) * SIZE + startCol + i % 3] = digits[i];
+            }
+        }
+        solver.solveInPlace(grid); // Sempre há solução a partir dos blocos diagonais
+        return grid;
+    }
+
+    private int[] removeClues(int[] solution, int targetClues) {
+        int[] clues = solution.clone();
+        shuffle(order);
+        int remaining = CELLS;
+        for (int i = 0; i < CELLS && remaining > targetClues; i++) {
+            int cell = order[i];
+            int number = clues[cell];
+            clues[cell] = 0;
+            if (solver.countSolutions(clues, 2) != 1) {
+                clues[cell] = number; // A remoção tornaria a solução ambígua
+            } else {
+                remaining--;
+            }
+        }
+        return clues;
+    }
+
+    private void shuffleDigits() {
+        for (int i = 0; i < SIZE; i++) {
+            digits[i] = i + 1;
+        }
+        shuffle(digits);
+    }
+
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
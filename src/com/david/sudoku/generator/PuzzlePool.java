@@ -0,0 +1,111 @@
+package com.david.sudoku.generator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mantém filas limitadas de quebra-cabeças prontos para cada dificuldade, abastecidas em
+ * segundo plano por um pool de threads. Cada thread gera para a fila com mais espaço livre
+ * e aguarda quando todas estão cheias.
+ */
+public class PuzzlePool implements AutoCloseable {
+    private final Map<Difficulty, BlockingQueue<Puzzle>> queues = new EnumMap<>(Difficulty.class);
+    private final ExecutorService executor;
+    private final Object refill = new Object();
+    private volatile boolean closed;
+
+    public PuzzlePool(int threads, int capacityPerDifficulty) {
+        for (Difficulty difficulty : Difficulty.values()) {
+            queues.put(difficulty, new ArrayBlockingQueue<>(capacityPerDifficulty));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "sudoku-generator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true); // Não impede o encerramento da aplicação
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            executor.execute(this::fill);
+        }
+    }
+
+    /**
+     * Retorna um quebra-cabeça pronto, ou {@code null} se a fila da dificuldade estiver vazia.
+     */
+    public Puzzle poll(Difficulty difficulty) {
+        Puzzle puzzle = queues.get(difficulty).poll();
+        if (puzzle != null) {
+            signalRefill();
+        }
+        return puzzle;
+    }
+
+    /**
+     * Retorna um quebra-cabeça, aguardando a geração caso a fila esteja vazia.
+     */
+    public Puzzle take(Difficulty difficulty) throws InterruptedException {
+        Puzzle puzzle = queues.get(difficulty).take();
+        signalRefill();
+        return puzzle;
+    }
+
+    public int available(Difficulty difficulty) {
+        return queues.get(difficulty).size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+
+    private void fill() {
+        PuzzleGenerator generator = new PuzzleGenerator(new Random(ThreadLocalRandom.current().nextLong()));
+        try {
+            while (!closed) {
+                Difficulty target = mostNeeded();
+                if (target == null) {
+                    synchronized (refill) {
+                        while (!closed && mostNeeded() == null) {
+                            refill.wait();
+                        }
+                    }
+                    continue;
+                }
+                // O quebra-cabeça vai para a fila do nível avaliado, que pode não ser o pedido; se
+                // outra thread encheu a fila antes, é descartado
+                Puzzle puzzle = generator.generate(target);
+                queues.get(puzzle.getDifficulty()).offer(puzzle);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Difficulty mostNeeded() {
+        Difficulty target = null;
+        int bestFree = 0;
+        for (Map.Entry<Difficulty, BlockingQueue<Puzzle>> entry : queues.entrySet()) {
+            int free = entry.getValue().remainingCapacity();
+            if (free > bestFree) {
+                bestFree = free;
+                target = entry.getKey();
+            }
+        }
+        return target;
+    }
+
+    private void signalRefill() {
+        synchronized (refill) {
+            refill.notifyAll();
+        }
+    }
+}
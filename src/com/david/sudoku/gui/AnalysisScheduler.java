@@ -0,0 +1,186 @@
+package com.david.sudoku.gui;
+
+import com.david.sudoku.model.BoardListener;
+import com.david.sudoku.model.BoardSnapshot;
+import com.david.sudoku.model.GameStatus;
+import com.david.sudoku.model.SudokuBoard;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Executa análises do tabuleiro (contagem de soluções, busca de dicas etc.) fora da EDT, num
+ * executor próprio de baixa prioridade. Cada análise recebe o {@link BoardSnapshot} publicado após
+ * a última jogada; uma nova jogada cancela (por interrupção) as análises ainda em andamento, cujos
+ * resultados são descartados.
+ * <p>
+ * Os resultados são entregues na EDT em lotes: tudo o que termina antes de a EDT processar a
+ * entrega anterior é aplicado numa única chamada, sem uma tarefa da EDT por resultado.
+ * Os métodos públicos devem ser chamados na EDT.
+ */
+public class AnalysisScheduler implements AutoCloseable {
+    /**
+     * Análise executada numa thread de segundo plano. Deve ser rápida para responder à interrupção:
+     * o resultado de uma análise interrompida é descartado.
+     */
+    public interface Analysis<T> {
+        T analyze(BoardSnapshot snapshot) throws InterruptedException;
+    }
+
+    private final ExecutorService executor;
+    private final List<Registration<?>> analyses = new ArrayList<>();
+    private final List<Future<?>> running = new ArrayList<>();
+    private final BoardListener boardListener = new BoardListener() {
+        @Override
+        public void cellChanged(int row, int col, int changes) {
+            requestAnalysis();
+        }
+
+        @Override
+        public void statusChanged(GameStatus status, boolean hasErrors) {
+            requestAnalysis();
+        }
+    };
+
+    private SudokuBoard board;
+    private long analyzedVersion = -1;
+    private boolean analysisRequested; // Já há uma submissão agendada para o fim da operação atual
+    private volatile int generation; // Incrementada a cada submissão; resultados antigos são descartados
+
+    // Resultados prontos aguardando a próxima entrega na EDT
+    private final Object pendingLock = new Object();
+    private List<Runnable> pending = new ArrayList<>();
+    private boolean deliveryScheduled;
+
+    public AnalysisScheduler(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "sudoku-analysis-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY); // A EDT tem prioridade sobre a análise
+            return thread;
+        });
+    }
+
+    /**
+     * Registra uma análise executada a cada jogada; {@code onResult} é chamado na EDT.
+     */
+    public <T> void register(Analysis<T> analysis, Consumer<T> onResult) {
+        analyses.add(new Registration<>(analysis, onResult));
+    }
+
+    /**
+     * Passa a analisar o tabuleiro informado (substituindo o anterior) e agenda a primeira análise.
+     */
+    public void attach(SudokuBoard board) {
+        if (this.board != null) {
+            this.board.removeBoardListener(boardListener);
+        }
+        this.board = board;
+        board.addBoardListener(boardListener);
+        analyzedVersion = -1;
+        requestAnalysis();
+    }
+
+    @Override
+    public void close() {
+        cancelRunning();
+        executor.shutdownNow();
+        if (board != null) {
+            board.removeBoardListener(boardListener);
+        }
+    }
+
+    // O ouvinte é chamado uma vez por célula alterada; a submissão fica para depois da operação
+    private void requestAnalysis() {
+        if (analysisRequested) {
+            return;
+        }
+        analysisRequested = true;
+        SwingUtilities.invokeLater(this::submit);
+    }
+
+    private void submit() {
+        analysisRequested = false;
+        BoardSnapshot snapshot = board.getSnapshot();
+        if (snapshot.getVersion() == analyzedVersion) {
+            return;
+        }
+        analyzedVersion = snapshot.getVersion();
+        cancelRunning();
+        int current = generation;
+        for (Registration<?> registration : analyses) {
+            running.add(executor.submit(() -> registration.run(snapshot, current)));
+        }
+    }
+
+    // Interrompe as análises em andamento e invalida os resultados que ainda não foram entregues
+    private void cancelRunning() {
+        for (Future<?> future : running) {
+            future.cancel(true);
+        }
+        running.clear();
+        generation++;
+    }
+
+    private void publish(Runnable delivery, int jobGeneration) {
+        synchronized (pendingLock) {
+            if (jobGeneration != generation) {
+                return;
+            }
+            pending.add(delivery);
+            if (deliveryScheduled) {
+                return;
+            }
+            deliveryScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::deliver);
+    }
+
+    private void deliver() {
+        List<Runnable> batch;
+        synchronized (pendingLock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            deliveryScheduled = false;
+        }
+        for (Runnable delivery : batch) {
+            delivery.run();
+        }
+        running.removeIf(Future::isDone);
+    }
+
+    private final class Registration<T> {
+        private final Analysis<T> analysis;
+        private final Consumer<T> onResult;
+
+        Registration(Analysis<T> analysis, Consumer<T> onResult) {
+            this.analysis = analysis;
+            this.onResult = onResult;
+        }
+
+        void run(BoardSnapshot snapshot, int jobGeneration) {
+            T result;
+            try {
+                result = analysis.analyze(snapshot);
+            } catch (InterruptedException e) {
+                return; // Cancelada por uma jogada mais recente
+            }
+            if (Thread.currentThread().isInterrupted() || jobGeneration != generation) {
+                return; // A análise terminou, mas o tabuleiro já mudou
+            }
+            publish(() -> {
+                // Uma jogada pode ter ocorrido entre a publicação e a entrega
+                if (jobGeneration == generation) {
+                    onResult.accept(result);
+                }
+            }, jobGeneration);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.david.sudoku.gui;
+
+import com.david.sudoku.model.BoardListener;
+import com.david.sudoku.model.GameStatus;
+import com.david.sudoku.model.SudokuBoard;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Componente único que desenha o tabuleiro inteiro com Graphics2D: números, rascunhos, bordas
+ * dos blocos e destaque de erros. Os números são pré-renderizados em imagens para o tamanho
+ * atual da célula, e cada alteração do tabuleiro repinta apenas o retângulo da célula afetada.
+ */
+public class BoardPanel extends JComponent {
+    private static final int DEFAULT_BOARD_PIXELS = 540; // 60 pixels por célula no 9x9
+    private static final int MIN_CELL_SIZE = 24;
+    private static final int THIN_LINE = 1;
+    private static final int THICK_LINE = 3;
+
+    private static final Color FIXED_COLOR = Color.BLUE.darker();
+    private static final Color PLAYER_COLOR = Color.BLACK;
+    private static final Color DRAFT_COLOR = Color.GRAY;
+    private static final Color ERROR_COLOR = Color.RED.brighter();
+    private static final Color GRID_COLOR = Color.LIGHT_GRAY;
+
+    // Imagens dos números 1 a size (índice 0 não usado) para o tamanho de célula em cache
+    private BufferedImage[] fixedGlyphs;
+    private BufferedImage[] playerGlyphs;
+    private BufferedImage[] draftGlyphs;
+    private int glyphCellSize;
+
+    private final BoardListener boardListener = new BoardListener() {
+        @Override
+        public void cellChanged(int row, int col, int changes) {
+            repaintCell(row, col);
+        }
+
+        @Override
+        public void statusChanged(GameStatus status, boolean hasErrors) {
+            repaint(); // O destaque de erros depende de hasErrors
+        }
+    };
+
+    private SudokuBoard board;
+    private int boardSize; // Células por linha (9, 16 ou 25)
+    private int boxSize;
+
+    public BoardPanel(SudokuBoard board) {
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        attach(board);
+    }
+
+    public void setBoard(SudokuBoard board) {
+        this.board.removeBoardListener(boardListener);
+        attach(board);
+        revalidate();
+        repaint();
+    }
+
+    private void attach(SudokuBoard board) {
+        this.board = board;
+        board.addBoardListener(boardListener);
+        if (board.getSize() != boardSize) {
+            boardSize = board.getSize();
+            boxSize = board.getBoxSize();
+            fixedGlyphs = new BufferedImage[boardSize + 1];
+            playerGlyphs = new BufferedImage[boardSize + 1];
+            draftGlyphs = new BufferedImage[boardSize + 1];
+            glyphCellSize = 0;
+            int size = Math.max(MIN_CELL_SIZE, DEFAULT_BOARD_PIXELS / boardSize) * boardSize + THICK_LINE;
+            setPreferredSize(new Dimension(size, size));
+            int minimum = MIN_CELL_SIZE * boardSize + THICK_LINE;
+            setMinimumSize(new Dimension(minimum, minimum));
+        }
+    }
+
+    /**
+     * Repinta somente a célula informada. Pode ser chamado de qualquer thread.
+     */
+    public void repaintCell(int row, int col) {
+        int cellSize = cellSize();
+        repaint(originX(cellSize) + col * cellSize, originY(cellSize) + row * cellSize,
+                cellSize + THICK_LINE, cellSize + THICK_LINE);
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics;
+        int cellSize = cellSize();
+        int x0 = originX(cellSize);
+        int y0 = originY(cellSize);
+        ensureGlyphs(cellSize);
+
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Apenas as células que intersectam a área de recorte são desenhadas
+        int firstRow = clamp((clip.y - y0) / cellSize - 1);
+        int lastRow = clamp((clip.y + clip.height - y0) / cellSize + 1);
+        int firstCol = clamp((clip.x - x0) / cellSize - 1);
+        int lastCol = clamp((clip.x + clip.width - x0) / cellSize + 1);
+        boolean showErrors = board.hasErrors();
+
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstCol; c <= lastCol; c++) {
+                paintCell(g, r, c, x0 + c * cellSize, y0 + r * cellSize, cellSize, showErrors);
+            }
+        }
+        paintGrid(g, x0, y0, cellSize, firstRow, lastRow, firstCol, lastCol);
+    }
+
+    private void paintCell(Graphics2D g, int row, int col, int x, int y, int cellSize, boolean showErrors) {
+        int number = board.getNumber(row, col);
+        if (number != 0) {
+            if (showErrors && board.isConflict(row, col)) {
+                g.setColor(ERROR_COLOR);
+                g.fillRect(x, y, cellSize, cellSize);
+            }
+            BufferedImage[] glyphs = board.isPositionFixed(row, col) ? fixedGlyphs : playerGlyphs;
+            g.drawImage(glyphs[number], x, y, null);
+            return;
+        }
+
+        int drafts = board.getDraftMask(row, col);
+        // Rascunhos numa grade boxSize x boxSize dentro da célula
+        int slot = cellSize / boxSize;
+        while (drafts != 0) {
+            int index = Integer.numberOfTrailingZeros(drafts);
+            drafts &= drafts - 1;
+            g.drawImage(draftGlyphs[index + 1], x + (index % boxSize) * slot, y + (index / boxSize) * slot, null);
+        }
+    }
+
+    private void paintGrid(Graphics2D g, int x0, int y0, int cellSize,
+                           int firstRow, int lastRow, int firstCol, int lastCol) {
+        int boardPixels = cellSize * boardSize;
+        int top = y0 + firstRow * cellSize;
+        int bottom = Math.min(y0 + (lastRow + 1) * cellSize, y0 + boardPixels);
+        int left = x0 + firstCol * cellSize;
+        int right = Math.min(x0 + (lastCol + 1) * cellSize, x0 + boardPixels);
+
+        g.setColor(GRID_COLOR);
+        for (int i = firstCol; i <= lastCol + 1 && i <= boardSize; i++) {
+            if (i % boxSize != 0) g.fillRect(x0 + i * cellSize, top, THIN_LINE, bottom - top);
+        }
+        for (int i = firstRow; i <= lastRow + 1 && i <= boardSize; i++) {
+            if (i % boxSize != 0) g.fillRect(left, y0 + i * cellSize, right - left, THIN_LINE);
+        }
+
+        // Bordas dos blocos e do tabuleiro
+        g.setColor(Color.BLACK);
+        for (int i = 0; i <= boardSize; i += boxSize) {
+            g.fillRect(x0 + i * cellSize, y0, THICK_LINE, boardPixels + THICK_LINE);
+            g.fillRect(x0, y0 + i * cellSize, boardPixels + THICK_LINE, THICK_LINE);
+        }
+    }
+
+    private void ensureGlyphs(int cellSize) {
+        if (cellSize == glyphCellSize) {
+            return;
+        }
+        // Números de dois dígitos (16x16 e 25x25) usam uma fonte menor para caber na célula
+        Font numberFont = new Font("Arial", Font.BOLD, boardSize > 9 ? cellSize * 2 / 5 : cellSize / 2);
+        Font draftFont = new Font("Arial", Font.PLAIN, Math.max(6, cellSize / (2 * boxSize)));
+        for (int n = 1; n <= boardSize; n++) {
+            fixedGlyphs[n] = renderGlyph(n, cellSize, numberFont, FIXED_COLOR);
+            playerGlyphs[n] = renderGlyph(n, cellSize, numberFont, PLAYER_COLOR);
+            draftGlyphs[n] = renderGlyph(n, Math.max(1, cellSize / boxSize), draftFont, DRAFT_COLOR);
+        }
+        glyphCellSize = cellSize;
+    }
+
+    private static BufferedImage renderGlyph(int number, int size, Font font, Color color) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(font);
+        g.setColor(color);
+        FontMetrics metrics = g.getFontMetrics();
+        String text = String.valueOf(number);
+        int x = (size - metrics.stringWidth(text)) / 2;
+        int y = (size - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, x, y);
+        g.dispose();
+        return image;
+    }
+
+    private int cellSize() {
+        int available = Math.min(getWidth(), getHeight()) - THICK_LINE;
+        return Math.max(MIN_CELL_SIZE, available / boardSize);
+    }
+
+    // O tabuleiro fica centralizado quando o componente não é quadrado
+    private int originX(int cellSize) {
+        return Math.max(0, (getWidth() - cellSize * boardSize - THICK_LINE) / 2);
+    }
+
+    private int originY(int cellSize) {
+        return Math.max(0, (getHeight() - cellSize * boardSize - THICK_LINE) / 2);
+    }
+
+    private int clamp(int index) {
+        return Math.max(0, Math.min(boardSize - 1, index));
+    }
+}
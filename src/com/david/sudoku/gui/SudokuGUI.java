@@ -1,32 +1,68 @@
 package com.david.sudoku.gui;
 
+import com.david.sudoku.generator.Difficulty;
+import com.david.sudoku.generator.Puzzle;
+import com.david.sudoku.generator.PuzzleGenerator;
+import com.david.sudoku.generator.PuzzlePool;
+import com.david.sudoku.logic.Hint;
+import com.david.sudoku.logic.LogicalSolver;
+import com.david.sudoku.logic.Technique;
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.BoardSnapshot;
+import com.david.sudoku.model.SessionLog;
 import com.david.sudoku.model.SudokuBoard;
-import com.david.sudoku.model.GameStatus;
+import com.david.sudoku.replay.GameRecorder;
+import com.david.sudoku.replay.RecordingWriter;
+import com.david.sudoku.solver.ParallelSolutionCounter;
 
 import javax.swing.*;
-import javax.swing.border.Border;
-import javax.swing.border.LineBorder;
 import java.awt.*;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SudokuGUI extends JFrame {
     private SudokuBoard sudokuBoard;
-    private JTextField[][] cells; // Para números principais
-    private JPanel[][] draftPanels; // Para rascunhos
-    private JLabel[][] draftLabels; // Labels individuais para cada rascunho em cada célula
-
-    private static final int BOARD_SIZE = 9;
-    private static final int CELL_SIZE = 60; // Tamanho de cada célula
-    private static final Font NUMBER_FONT = new Font("Arial", Font.BOLD, 30);
-    private static final Font DRAFT_FONT = new Font("Arial", Font.PLAIN, 10);
+    private final PuzzlePool puzzlePool; // Quebra-cabeças pré-gerados para "Iniciar Novo Jogo" (pode ser null)
+    private final Path sessionFile; // Arquivo onde a partida é gravada para recuperação (pode ser null)
+    private SessionLog sessionLog;
+    private final RecordingWriter recordings; // Gravação das partidas para análise (pode ser null)
+    private GameRecorder recorder;
+    private BoardPanel boardPanel; // Desenha o tabuleiro e repinta as células alteradas
+    private LogicalSolver logicalSolver; // Calcula as dicas; recriado quando o tamanho do tabuleiro muda
+    private AnalysisScheduler analysis; // Contagem de soluções e análise lógica fora da EDT
+    private JLabel analysisLabel;
+    private String solutionsText = "";
+    private String logicText = "";
+
+    // Estruturas das análises em segundo plano: a contagem de soluções usa todos os núcleos (um
+    // contador por tamanho de tabuleiro) e a análise lógica uma instância por thread do AnalysisScheduler
+    private static final Map<BoardGeometry, ParallelSolutionCounter> SOLUTION_COUNTERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<LogicalSolver> ANALYSIS_LOGIC = new ThreadLocal<>();
+
+    private static final int SESSION_CHECKPOINT_INTERVAL = 50; // Jogadas entre pontos de controle da sessão
 
     public SudokuGUI(SudokuBoard board) {
+        this(board, null);
+    }
+
+    public SudokuGUI(SudokuBoard board, PuzzlePool puzzlePool) {
+        this(board, puzzlePool, null);
+    }
+
+    public SudokuGUI(SudokuBoard board, PuzzlePool puzzlePool, Path sessionFile) {
+        this(board, puzzlePool, sessionFile, null);
+    }
+
+    public SudokuGUI(SudokuBoard board, PuzzlePool puzzlePool, Path sessionFile, RecordingWriter recordings) {
         this.sudokuBoard = board;
-        this.cells = new JTextField[BOARD_SIZE][BOARD_SIZE];
-        this.draftPanels = new JPanel[BOARD_SIZE][BOARD_SIZE];
-        this.draftLabels = new JLabel[BOARD_SIZE][BOARD_SIZE * BOARD_SIZE]; // 9 labels por célula para rascunhos
+        this.puzzlePool = puzzlePool;
+        this.sessionFile = sessionFile;
+        this.recordings = recordings;
 
         setTitle("Jogo de Sudoku");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -34,11 +70,20 @@ public class SudokuGUI extends JFrame {
 
         createMenuBar();
         createGamePanel();
-        drawBoard(); // Desenha o tabuleiro inicial
+        createAnalysis();
+        startSession();
+        startRecording();
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeFiles(); // Chamado antes do System.exit de EXIT_ON_CLOSE
+            }
+        });
 
         pack();
+        setMinimumSize(getSize());
         setLocationRelativeTo(null); // Centraliza a janela
-        setResizable(false);
+        setResizable(true); // O tabuleiro se ajusta ao tamanho da janela
     }
 
     private void createMenuBar() {
@@ -60,6 +105,21 @@ public class SudokuGUI extends JFrame {
         JMenuItem removeDraftItem = new JMenuItem("Remover Rascunho");
         removeDraftItem.addActionListener(e -> promptForDraftRemoval());
 
+        JMenuItem autoDraftItem = new JMenuItem("Preencher Rascunhos Automaticamente");
+        autoDraftItem.addActionListener(e -> fillCandidates());
+
+        JMenuItem hintItem = new JMenuItem("Dica");
+        hintItem.setAccelerator(KeyStroke.getKeyStroke("control H"));
+        hintItem.addActionListener(e -> showHint());
+
+        JMenuItem undoItem = new JMenuItem("Desfazer");
+        undoItem.setAccelerator(KeyStroke.getKeyStroke("control Z"));
+        undoItem.addActionListener(e -> sudokuBoard.undo());
+
+        JMenuItem redoItem = new JMenuItem("Refazer");
+        redoItem.setAccelerator(KeyStroke.getKeyStroke("control Y"));
+        redoItem.addActionListener(e -> sudokuBoard.redo());
+
         JMenuItem checkGameItem = new JMenuItem("Visualizar Jogo");
         checkGameItem.addActionListener(e -> displayCurrentBoard());
 
@@ -79,6 +139,11 @@ public class SudokuGUI extends JFrame {
         gameMenu.addSeparator();
         gameMenu.add(placeDraftItem);
         gameMenu.add(removeDraftItem);
+        gameMenu.add(autoDraftItem);
+        gameMenu.add(hintItem);
+        gameMenu.addSeparator();
+        gameMenu.add(undoItem);
+        gameMenu.add(redoItem);
         gameMenu.addSeparator();
         gameMenu.add(checkGameItem);
         gameMenu.add(checkStatusItem);
@@ -91,200 +156,175 @@ public class SudokuGUI extends JFrame {
     }
 
     private void createGamePanel() {
-        JPanel gamePanel = new JPanel(new GridLayout(BOARD_SIZE, BOARD_SIZE));
-        gamePanel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 3)); // Borda externa do tabuleiro
-
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            for (int c = 0; c < BOARD_SIZE; c++) {
-                JPanel cellPanel = new JPanel(new BorderLayout()); // Painel para cada célula
-                cellPanel.setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE));
-
-                // Configura as bordas para os blocos 3x3
-                Border border = new LineBorder(Color.LIGHT_GRAY, 1);
-                if (r % 3 == 0) border = BorderFactory.createMatteBorder(3, 1, 1, 1, Color.BLACK);
-                if (c % 3 == 0) border = BorderFactory.createMatteBorder(1, 3, 1, 1, Color.BLACK);
-                if (r % 3 == 0 && c % 3 == 0) border = BorderFactory.createMatteBorder(3, 3, 1, 1, Color.BLACK);
-                if (r == 0 && c % 3 != 0) border = BorderFactory.createMatteBorder(3, 1, 1, 1, Color.BLACK);
-                if (c == 0 && r % 3 != 0) border = BorderFactory.createMatteBorder(1, 3, 1, 1, Color.BLACK);
-
-                // Bordas para o final do tabuleiro
-                if (r == BOARD_SIZE - 1) border = BorderFactory.createMatteBorder(
-                        (r % 3 == 0) ? 3 : 1,
-                        (c % 3 == 0) ? 3 : 1,
-                        3,
-                        (c == BOARD_SIZE - 1) ? 3 : 1,
-                        Color.BLACK
-                );
-                if (c == BOARD_SIZE - 1) border = BorderFactory.createMatteBorder(
-                        (r % 3 == 0) ? 3 : 1,
-                        (c % 3 == 0) ? 3 : 1,
-                        (r == BOARD_SIZE - 1) ? 3 : 1,
-                        3,
-                        Color.BLACK
-                );
-
-
-                // Adiciona o JTextField para o número principal
-                JTextField cell = new JTextField();
-                cell.setFont(NUMBER_FONT);
-                cell.setHorizontalAlignment(JTextField.CENTER);
-                cell.setEditable(false); // Não editável diretamente, apenas via menu
-                cell.setBackground(Color.WHITE); // Cor de fundo padrão
-                cell.setBorder(border); // Aplica as bordas
-                this.cells[r][c] = cell;
-                cellPanel.add(cell, BorderLayout.CENTER);
-
-                // Adiciona o painel para os rascunhos (GridLayout 3x3)
-                JPanel draftsGrid = new JPanel(new GridLayout(3, 3));
-                draftsGrid.setBackground(Color.WHITE);
-                this.draftPanels[r][c] = draftsGrid;
-                for (int i = 0; i < 9; i++) {
-                    JLabel draftLabel = new JLabel("", SwingConstants.CENTER);
-                    draftLabel.setFont(DRAFT_FONT);
-                    draftLabel.setForeground(Color.GRAY);
-                    this.draftLabels[r][c * 9 + i] = draftLabel; // Armazena labels para acesso individual
-                    draftsGrid.add(draftLabel);
-                }
-                cellPanel.add(draftsGrid, BorderLayout.NORTH); // Rascunhos no topo da célula
+        boardPanel = new BoardPanel(sudokuBoard);
+        add(boardPanel, BorderLayout.CENTER);
+    }
 
-                gamePanel.add(cellPanel);
-            }
-        }
-        add(gamePanel, BorderLayout.CENTER);
+    // Barra inferior atualizada pelas análises em segundo plano a cada jogada
+    private void createAnalysis() {
+        analysisLabel = new JLabel(" ");
+        analysisLabel.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+        add(analysisLabel, BorderLayout.SOUTH);
+
+        analysis = new AnalysisScheduler(Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)));
+        analysis.register(SudokuGUI::describeSolutions, text -> {
+            solutionsText = text;
+            updateAnalysisLabel();
+        });
+        analysis.register(SudokuGUI::describeLogic, text -> {
+            logicText = text;
+            updateAnalysisLabel();
+        });
+        analysis.attach(sudokuBoard);
     }
 
-    public void drawBoard() {
-        int[][] currentBoard = sudokuBoard.getBoard();
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            for (int c = 0; c < BOARD_SIZE; c++) {
-                JTextField cell = cells[r][c];
-                int number = currentBoard[r][c];
-
-                if (number != 0) {
-                    cell.setText(String.valueOf(number));
-                    cell.setForeground(sudokuBoard.isPositionFixed(r, c) ? Color.BLUE.darker() : Color.BLACK); // Azul para fixos, preto para jogador
-                    cell.setBackground(Color.WHITE);
-                    draftPanels[r][c].setVisible(false); // Esconde rascunhos se houver número principal
-                } else {
-                    cell.setText("");
-                    cell.setBackground(Color.WHITE);
-                    draftPanels[r][c].setVisible(true); // Mostra rascunhos se a célula estiver vazia
-                }
+    private void updateAnalysisLabel() {
+        analysisLabel.setText(logicText.isEmpty() ? solutionsText : solutionsText + "  ·  " + logicText);
+    }
 
-                // Atualiza os rascunhos
-                updateDraftNumbersDisplay(r, c, sudokuBoard.getDraftNumbers(r, c));
-            }
+    private static String describeSolutions(BoardSnapshot snapshot) throws InterruptedException {
+        if (snapshot.hasErrors()) {
+            return "Soluções: nenhuma (há números repetidos)";
         }
-        highlightErrors(); // Destaca erros após desenhar
+        BoardGeometry geometry = snapshot.getGeometry();
+        ParallelSolutionCounter counter = SOLUTION_COUNTERS.computeIfAbsent(geometry, ParallelSolutionCounter::new);
+        int[] cells = new int[geometry.getCellCount()];
+        snapshot.copyCells(cells);
+        int count = counter.countSolutions(cells, 2); // Interrompida por uma nova jogada
+        return count == 0 ? "Soluções: nenhuma" : count == 1 ? "Solução única" : "Mais de uma solução";
     }
 
-    private void updateDraftNumbersDisplay(int row, int col, List<Integer> drafts) {
-        for (int i = 0; i < 9; i++) {
-            JLabel draftLabel = draftLabels[row][col * 9 + i];
-            if (drafts.contains(i + 1)) {
-                draftLabel.setText(String.valueOf(i + 1));
-            } else {
-                draftLabel.setText("");
+    // Resolve por dedução a partir do estado atual: técnica da próxima dica e a mais difícil necessária
+    private static String describeLogic(BoardSnapshot snapshot) throws InterruptedException {
+        if (snapshot.hasErrors()) {
+            return "";
+        }
+        BoardGeometry geometry = snapshot.getGeometry();
+        LogicalSolver solver = ANALYSIS_LOGIC.get();
+        if (solver == null || solver.getGeometry() != geometry) {
+            solver = new LogicalSolver(geometry);
+            ANALYSIS_LOGIC.set(solver);
+        }
+        int[] cells = new int[geometry.getCellCount()];
+        snapshot.copyCells(cells);
+        solver.load(cells);
+        if (solver.isSolved()) {
+            return "";
+        }
+        Technique next = null;
+        Technique hardest = null;
+        Hint hint;
+        while (!solver.isSolved() && (hint = solver.nextHint()) != null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
             }
+            if (next == null) {
+                next = hint.getTechnique();
+            }
+            if (hardest == null || hint.getTechnique().compareTo(hardest) > 0) {
+                hardest = hint.getTechnique();
+            }
+            solver.apply(hint);
         }
+        if (next == null) {
+            return "Nenhuma técnica disponível avança";
+        }
+        String text = "Próxima dica: " + next;
+        return solver.isSolved()
+                ? text + " (resolve até " + hardest + ")"
+                : text + " (depois exige tentativa)";
     }
 
-    private void highlightErrors() {
-        // Primeiro, remove qualquer destaque de erro anterior
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            for (int c = 0; c < BOARD_SIZE; c++) {
-                if (cells[r][c].getBackground().equals(Color.RED.brighter())) {
-                    cells[r][c].setBackground(Color.WHITE);
-                }
-            }
-        }
+    public void drawBoard() {
+        boardPanel.repaint();
+    }
 
-        if (sudokuBoard.hasErrors()) {
-            int[][] currentBoard = sudokuBoard.getBoard();
-            // Verifica linhas e colunas
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                // Linhas
-                Set<Integer> seenInRow = new HashSet<>();
-                for (int c = 0; c < BOARD_SIZE; c++) {
-                    int num = currentBoard[i][c];
-                    if (num != 0) {
-                        if (seenInRow.contains(num)) {
-                            // Marca todos os números duplicados na linha
-                            for (int k = 0; k <= c; k++) {
-                                if (currentBoard[i][k] == num) {
-                                    cells[i][k].setBackground(Color.RED.brighter());
-                                }
-                            }
-                        }
-                        seenInRow.add(num);
-                    }
-                }
+    private void setBoard(SudokuBoard board) {
+        sudokuBoard = board;
+        boardPanel.setBoard(board);
+        analysis.attach(board);
+        startSession();
+        startRecording();
+    }
 
-                // Colunas
-                Set<Integer> seenInCol = new HashSet<>();
-                for (int r = 0; r < BOARD_SIZE; r++) {
-                    int num = currentBoard[r][i];
-                    if (num != 0) {
-                        if (seenInCol.contains(num)) {
-                            // Marca todos os números duplicados na coluna
-                            for (int k = 0; k <= r; k++) {
-                                if (currentBoard[k][i] == num) {
-                                    cells[k][i].setBackground(Color.RED.brighter());
-                                }
-                            }
-                        }
-                        seenInCol.add(num);
-                    }
-                }
+    // Grava a partida atual no arquivo de sessão, substituindo a gravação da partida anterior
+    private void startSession() {
+        if (sessionFile == null) return;
+        try {
+            if (sessionLog != null) {
+                sessionLog.close();
             }
+            sessionLog = SessionLog.create(sessionFile, sudokuBoard, SESSION_CHECKPOINT_INTERVAL);
+        } catch (IOException e) {
+            sessionLog = null;
+            displayMessage("Não foi possível gravar a sessão: " + e.getMessage(), "Erro de Sessão");
+        }
+    }
 
-            // Verifica blocos 3x3
-            for (int blockRow = 0; blockRow < 3; blockRow++) {
-                for (int blockCol = 0; blockCol < 3; blockCol++) {
-                    Set<Integer> seenInBlock = new HashSet<>();
-                    for (int r = blockRow * 3; r < blockRow * 3 + 3; r++) {
-                        for (int c = blockCol * 3; c < blockCol * 3 + 3; c++) {
-                            int num = currentBoard[r][c];
-                            if (num != 0) {
-                                if (seenInBlock.contains(num)) {
-                                    // Marca todos os números duplicados no bloco
-                                    for (int r2 = blockRow * 3; r2 <= r; r2++) {
-                                        for (int c2 = blockCol * 3; c2 <= c; c2++) {
-                                            if (currentBoard[r2][c2] == num) {
-                                                cells[r2][c2].setBackground(Color.RED.brighter());
-                                            }
-                                        }
-                                    }
-                                }
-                                seenInBlock.add(num);
-                            }
-                        }
-                    }
-                }
+    // Cada tabuleiro é uma sessão na gravação: a anterior é encerrada e entregue ao arquivo
+    private void startRecording() {
+        if (recordings == null) return;
+        if (recorder != null) {
+            recorder.finish();
+        }
+        recorder = GameRecorder.start(sudokuBoard, recordings);
+    }
+
+    // Entrega a partida em andamento à gravação e fecha os arquivos; a aplicação encerra em seguida
+    private void closeFiles() {
+        stopRecording();
+        if (sessionLog != null) {
+            try {
+                sessionLog.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao gravar a sessão: " + e.getMessage());
             }
+            sessionLog = null;
         }
     }
 
+    private void stopRecording() {
+        if (recordings == null) return;
+        if (recorder != null) {
+            recorder.finish();
+            recorder = null;
+        }
+        try {
+            recordings.close();
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar as partidas: " + e.getMessage());
+        }
+    }
 
     private void startNewGame() {
-        // Para iniciar um "novo jogo", o usuário deve reiniciar a aplicação com novos argumentos
-        // Ou, se o "novo jogo" significa resetar o atual, podemos chamar clearPlayerNumbers()
-        // Por simplicidade, vou fazer com que "Iniciar Novo Jogo" limpe os números do jogador
-        // e mantenha os fixos, como um "reset" do jogo atual.
-        // Se a intenção é carregar um *novo* tabuleiro, a lógica de inicialização precisaria ser refeita,
-        // possivelmente com uma nova instância de com.david.sudoku.model.SudokuBoard ou um método reset mais robusto.
-        sudokuBoard.clearPlayerNumbers();
-        sudokuBoard.checkGameStatus(); // Reavalia o status após a limpeza
-        drawBoard();
-        displayMessage("Jogo reiniciado. Números do jogador foram limpos.", "Novo Jogo");
+        if (puzzlePool == null) {
+            // Sem gerador disponível, "Iniciar Novo Jogo" reinicia o tabuleiro atual mantendo os números fixos
+            sudokuBoard.clearPlayerNumbers();
+            displayMessage("Jogo reiniciado. Números do jogador foram limpos.", "Novo Jogo");
+            return;
+        }
+
+        Difficulty difficulty = (Difficulty) JOptionPane.showInputDialog(this, "Escolha a dificuldade:", "Novo Jogo",
+                JOptionPane.QUESTION_MESSAGE, null, Difficulty.values(), Difficulty.MEDIUM);
+        if (difficulty == null) return;
+
+        Puzzle puzzle = puzzlePool.poll(difficulty);
+        if (puzzle == null) {
+            // Fila vazia: gera na hora em vez de esperar pelas threads de segundo plano
+            puzzle = new PuzzleGenerator(new Random()).generate(difficulty);
+        }
+        SudokuBoard newBoard = puzzle.toBoard();
+        newBoard.clearPlayerNumbers(); // Inicia o jogo (status INCOMPLETE)
+        setBoard(newBoard);
+        displayMessage("Novo jogo " + puzzle.getDifficulty() + " com " + puzzle.getClueCount() + " números iniciais.", "Novo Jogo");
     }
 
     private void promptForNumberPlacement() {
-        String inputNum = JOptionPane.showInputDialog(this, "Digite o número (1-9):");
+        String inputNum = JOptionPane.showInputDialog(this, "Digite o número (1-" + sudokuBoard.getSize() + "):");
         if (inputNum == null || inputNum.isEmpty()) return;
-        String inputRow = JOptionPane.showInputDialog(this, "Digite a linha (0-8):");
+        String inputRow = JOptionPane.showInputDialog(this, "Digite a linha (0-" + (sudokuBoard.getSize() - 1) + "):");
         if (inputRow == null || inputRow.isEmpty()) return;
-        String inputCol = JOptionPane.showInputDialog(this, "Digite a coluna (0-8):");
+        String inputCol = JOptionPane.showInputDialog(this, "Digite a coluna (0-" + (sudokuBoard.getSize() - 1) + "):");
         if (inputCol == null || inputCol.isEmpty()) return;
 
         try {
@@ -293,7 +333,6 @@ public class SudokuGUI extends JFrame {
             int col = Integer.parseInt(inputCol);
 
             if (sudokuBoard.placeNumber(number, row, col)) {
-                drawBoard();
                 displayMessage("Número " + number + " colocado em (" + row + ", " + col + ").", "Sucesso");
             } else {
                 displayMessage("Não foi possível colocar o número. Posição inválida, já preenchida ou número fixo.", "Erro ao Colocar Número");
@@ -304,9 +343,9 @@ public class SudokuGUI extends JFrame {
     }
 
     private void promptForRemoval() {
-        String inputRow = JOptionPane.showInputDialog(this, "Digite a linha (0-8) do número a remover:");
+        String inputRow = JOptionPane.showInputDialog(this, "Digite a linha (0-" + (sudokuBoard.getSize() - 1) + ") do número a remover:");
         if (inputRow == null || inputRow.isEmpty()) return;
-        String inputCol = JOptionPane.showInputDialog(this, "Digite a coluna (0-8) do número a remover:");
+        String inputCol = JOptionPane.showInputDialog(this, "Digite a coluna (0-" + (sudokuBoard.getSize() - 1) + ") do número a remover:");
         if (inputCol == null || inputCol.isEmpty()) return;
 
         try {
@@ -316,7 +355,6 @@ public class SudokuGUI extends JFrame {
             if (sudokuBoard.isPositionFixed(row, col)) {
                 displayMessage("Este é um número fixo e não pode ser removido.", "Erro ao Remover");
             } else if (sudokuBoard.removeNumber(row, col)) {
-                drawBoard();
                 displayMessage("Número removido de (" + row + ", " + col + ").", "Sucesso");
             } else {
                 displayMessage("Não foi possível remover o número. Posição inválida ou vazia.", "Erro ao Remover");
@@ -327,11 +365,11 @@ public class SudokuGUI extends JFrame {
     }
 
     private void promptForDraftPlacement() {
-        String inputNum = JOptionPane.showInputDialog(this, "Digite o número de rascunho (1-9):");
+        String inputNum = JOptionPane.showInputDialog(this, "Digite o número de rascunho (1-" + sudokuBoard.getSize() + "):");
         if (inputNum == null || inputNum.isEmpty()) return;
-        String inputRow = JOptionPane.showInputDialog(this, "Digite a linha (0-8):");
+        String inputRow = JOptionPane.showInputDialog(this, "Digite a linha (0-" + (sudokuBoard.getSize() - 1) + "):");
         if (inputRow == null || inputRow.isEmpty()) return;
-        String inputCol = JOptionPane.showInputDialog(this, "Digite a coluna (0-8):");
+        String inputCol = JOptionPane.showInputDialog(this, "Digite a coluna (0-" + (sudokuBoard.getSize() - 1) + "):");
         if (inputCol == null || inputCol.isEmpty()) return;
 
         try {
@@ -339,13 +377,12 @@ public class SudokuGUI extends JFrame {
             int row = Integer.parseInt(inputRow);
             int col = Integer.parseInt(inputCol);
 
-            if (sudokuBoard.getBoard()[row][col] != 0) {
+            if (sudokuBoard.getNumber(row, col) != 0) {
                 displayMessage("Não é possível adicionar rascunhos em uma célula já preenchida com um número principal.", "Erro de Rascunho");
                 return;
             }
 
             sudokuBoard.placeDraftNumber(number, row, col);
-            drawBoard();
             displayMessage("Rascunho " + number + " adicionado em (" + row + ", " + col + ").", "Sucesso");
         } catch (NumberFormatException ex) {
             displayMessage("Entrada inválida. Por favor, digite números.", "Erro de Entrada");
@@ -353,11 +390,11 @@ public class SudokuGUI extends JFrame {
     }
 
     private void promptForDraftRemoval() {
-        String inputNum = JOptionPane.showInputDialog(this, "Digite o número de rascunho a remover (1-9):");
+        String inputNum = JOptionPane.showInputDialog(this, "Digite o número de rascunho a remover (1-" + sudokuBoard.getSize() + "):");
         if (inputNum == null || inputNum.isEmpty()) return;
-        String inputRow = JOptionPane.showInputDialog(this, "Digite a linha (0-8):");
+        String inputRow = JOptionPane.showInputDialog(this, "Digite a linha (0-" + (sudokuBoard.getSize() - 1) + "):");
         if (inputRow == null || inputRow.isEmpty()) return;
-        String inputCol = JOptionPane.showInputDialog(this, "Digite a coluna (0-8):");
+        String inputCol = JOptionPane.showInputDialog(this, "Digite a coluna (0-" + (sudokuBoard.getSize() - 1) + "):");
         if (inputCol == null || inputCol.isEmpty()) return;
 
         try {
@@ -366,7 +403,6 @@ public class SudokuGUI extends JFrame {
             int col = Integer.parseInt(inputCol);
 
             sudokuBoard.removeDraftNumber(number, row, col);
-            drawBoard();
             displayMessage("Rascunho " + number + " removido de (" + row + ", " + col + ").", "Sucesso");
         } catch (NumberFormatException ex) {
             displayMessage("Entrada inválida. Por favor, digite números.", "Erro de Entrada");
@@ -374,19 +410,70 @@ public class SudokuGUI extends JFrame {
     }
 
 
+    private void fillCandidates() {
+        sudokuBoard.fillCandidates();
+        displayMessage("Rascunhos preenchidos com os números possíveis em cada célula vazia.", "Rascunhos Automáticos");
+    }
+
+    // Mostra o próximo passo dedutível e oferece aplicá-lo ao tabuleiro
+    private void showHint() {
+        sudokuBoard.checkGameStatus();
+        if (sudokuBoard.hasErrors()) {
+            displayMessage("Corrija os números repetidos antes de pedir uma dica.", "Dica");
+            return;
+        }
+        if (logicalSolver == null || logicalSolver.getGeometry() != sudokuBoard.getGeometry()) {
+            logicalSolver = new LogicalSolver(sudokuBoard.getGeometry());
+        }
+        logicalSolver.load(sudokuBoard);
+        if (logicalSolver.isSolved()) {
+            displayMessage("Todas as células já estão preenchidas.", "Dica");
+            return;
+        }
+        Hint hint = logicalSolver.nextHint();
+        if (hint == null) {
+            displayMessage("Nenhuma técnica disponível encontra o próximo passo.", "Dica");
+            return;
+        }
+        if (!hint.isPlacement() && !sudokuBoard.isAutoCandidates()) {
+            // Sem rascunhos automáticos não há candidatos visíveis para eliminar
+            displayMessage(hint.getDescription(), "Dica");
+            return;
+        }
+        int choice = JOptionPane.showConfirmDialog(this, hint.getDescription() + "\n\nAplicar a dica?", "Dica",
+                JOptionPane.YES_NO_OPTION, JOptionPane.INFORMATION_MESSAGE);
+        if (choice != JOptionPane.YES_OPTION) return;
+        if (hint.isPlacement()) {
+            int size = sudokuBoard.getSize();
+            sudokuBoard.placeNumber(hint.getNumber(), hint.getCell() / size, hint.getCell() % size);
+        } else {
+            int[] cells = new int[hint.getEliminationCount()];
+            int[] masks = new int[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = hint.getEliminationCell(i);
+                masks[i] = hint.getEliminationMask(i);
+            }
+            sudokuBoard.removeDraftMasks(cells, masks);
+        }
+    }
+
     private void displayCurrentBoard() {
         int[][] currentBoard = sudokuBoard.getBoard();
+        int size = sudokuBoard.getSize();
+        int box = sudokuBoard.getBoxSize();
+        int width = size > 9 ? 2 : 1; // Números de dois dígitos nos tabuleiros maiores
         StringBuilder sb = new StringBuilder("Situação Atual do Jogo:\n\n");
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            for (int c = 0; c < BOARD_SIZE; c++) {
-                sb.append(currentBoard[r][c] == 0 ? "." : currentBoard[r][c]).append(" ");
-                if ((c + 1) % 3 == 0 && c != BOARD_SIZE - 1) {
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                String cell = currentBoard[r][c] == 0 ? "." : String.valueOf(currentBoard[r][c]);
+                sb.append(" ".repeat(width - cell.length())).append(cell).append(" ");
+                if ((c + 1) % box == 0 && c != size - 1) {
                     sb.append("| ");
                 }
             }
             sb.append("\n");
-            if ((r + 1) % 3 == 0 && r != BOARD_SIZE - 1) {
-                sb.append("---------------------\n");
+            if ((r + 1) % box == 0 && r != size - 1) {
+                sb.append("-".repeat(size * (width + 1) + (box - 1) * 2 - 1)).append("\n");
             }
         }
         JOptionPane.showMessageDialog(this, sb.toString(), "Visualizar Jogo", JOptionPane.PLAIN_MESSAGE);
@@ -399,7 +486,6 @@ public class SudokuGUI extends JFrame {
 
     private void clearPlayerNumbers() {
         sudokuBoard.clearPlayerNumbers();
-        drawBoard();
         displayMessage("Todos os números informados pelo jogador foram removidos.", "Limpeza Concluída");
     }
 
@@ -407,6 +493,7 @@ public class SudokuGUI extends JFrame {
         sudokuBoard.checkGameStatus(); // Garante que o status está atualizado
         if (sudokuBoard.gameIsCompleteAndValid()) {
             displayMessage("Parabéns! O jogo está completo e correto. Encerrando o jogo.", "Jogo Finalizado");
+            closeFiles(); // System.exit não passa por windowClosing
             System.exit(0); // Encerra a aplicação
         } else {
             displayMessage("O jogo não está completo e/ou contém erros. Por favor, preencha todos os espaços corretamente.", "Erro ao Finalizar Jogo");
@@ -0,0 +1,50 @@
+package com.david.sudoku.io;
+
+/**
+ * Erro encontrado por {@link PuzzleParser}, com a posição no arquivo (linha e coluna a partir de 1).
+ */
+public final class ParseError {
+    public enum Kind {
+        /** Caractere que não é número, vazio nem separador do formato. */
+        INVALID_CHARACTER,
+        /** Linha (ou linha da grade) com mais ou menos células que o esperado. */
+        WRONG_LENGTH,
+        /** Grade interrompida por uma linha em branco ou pelo fim do arquivo. */
+        INCOMPLETE_GRID,
+        /** Entrada "numero:linha:coluna" malformada, fora dos limites ou repetida. */
+        INVALID_CLUE
+    }
+
+    private final Kind kind;
+    private final long line;
+    private final int column;
+    private final String message;
+
+    ParseError(Kind kind, long line, int column, String message) {
+        this.kind = kind;
+        this.line = line;
+        this.column = column;
+        this.message = message;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "linha " + line + ", coluna " + column + ": " + message;
+    }
+}
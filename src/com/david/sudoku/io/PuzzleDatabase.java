@@ -0,0 +1,112 @@
+package com.david.sudoku.io;
+
+import com.david.sudoku.model.SudokuBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Biblioteca de quebra-cabeças em arquivo, lida por mapeamento de memória: abrir é imediato e
+ * qualquer registro pode ser acessado pelo índice sem carregar o arquivo no heap.
+ * <p>
+ * Formato: cabeçalho de {@value #HEADER_SIZE} bytes (assinatura "SDKB", versão, tamanho do
+ * registro e quantidade de registros) seguido de registros {@link PuzzleRecord} consecutivos.
+ * As leituras são thread-safe.
+ */
+public class PuzzleDatabase implements AutoCloseable {
+    static final int MAGIC = 0x53444B42; // "SDKB"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    // Cada segmento mapeado tem no máximo ~2 GB e contém apenas registros inteiros
+    private static final long RECORDS_PER_SEGMENT = Integer.MAX_VALUE / PuzzleRecord.SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long count;
+
+    public PuzzleDatabase(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) break;
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("Arquivo não é uma base de quebra-cabeças: " + file);
+            }
+            short version = header.getShort();
+            short recordSize = header.getShort();
+            if (version != VERSION || recordSize != PuzzleRecord.SIZE) {
+                throw new IOException("Versão de base não suportada: " + version);
+            }
+            long declared = header.getLong();
+            long available = (channel.size() - HEADER_SIZE) / PuzzleRecord.SIZE;
+            this.count = Math.min(declared, available); // Ignora um último registro incompleto
+
+            int segmentCount = (int) ((count + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long first = s * RECORDS_PER_SEGMENT;
+                long records = Math.min(RECORDS_PER_SEGMENT, count - first);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * PuzzleRecord.SIZE, records * PuzzleRecord.SIZE);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Lê o registro {@code index} para os vetores informados (81 posições cada), sem alocação.
+     *
+     * @param fixed recebe as células fixas; pode ser {@code null}
+     */
+    public void read(long index, int[] cells, boolean[] fixed) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora da base (" + count + " registros)");
+        }
+        ByteBuffer segment = segments[(int) (index / RECORDS_PER_SEGMENT)];
+        int offset = (int) (index % RECORDS_PER_SEGMENT) * PuzzleRecord.SIZE;
+        PuzzleRecord.read(segment, offset, cells, fixed);
+    }
+
+    /**
+     * Cria um tabuleiro com o registro {@code index}: as células fixas viram números iniciais e
+     * as demais células preenchidas são colocadas como números do jogador.
+     */
+    public SudokuBoard getBoard(long index) {
+        int[] cells = new int[PuzzleRecord.CELLS];
+        boolean[] fixed = new boolean[PuzzleRecord.CELLS];
+        read(index, cells, fixed);
+
+        int[][] initial = new int[9][9];
+        for (int cell = 0; cell < PuzzleRecord.CELLS; cell++) {
+            if (fixed[cell]) {
+                initial[cell / 9][cell % 9] = cells[cell];
+            }
+        }
+        SudokuBoard board = new SudokuBoard(initial);
+        for (int cell = 0; cell < PuzzleRecord.CELLS; cell++) {
+            if (!fixed[cell] && cells[cell] != 0) {
+                board.placeNumber(cells[cell], cell / 9, cell % 9);
+            }
+        }
+        return board;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,87 @@
+package com.david.sudoku.io;
+
+import com.david.sudoku.model.SudokuBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grava uma base de quebra-cabeças no formato lido por {@link PuzzleDatabase}. Os registros são
+ * acumulados num buffer e a quantidade final é escrita no cabeçalho ao fechar. Não é thread-safe.
+ */
+public class PuzzleDatabaseWriter implements AutoCloseable {
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * PuzzleRecord.SIZE);
+    private final int[] cells = new int[PuzzleRecord.CELLS];
+    private final boolean[] fixed = new boolean[PuzzleRecord.CELLS];
+    private long count;
+
+    public PuzzleDatabaseWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        writeHeader(); // Reservado; reescrito com a quantidade final em close()
+        channel.position(PuzzleDatabase.HEADER_SIZE);
+    }
+
+    /**
+     * @param fixed células fixas, ou {@code null} para considerar fixa toda célula preenchida
+     */
+    public void append(int[] cells, boolean[] fixed) throws IOException {
+        if (buffer.remaining() < PuzzleRecord.SIZE) {
+            flush();
+        }
+        PuzzleRecord.write(buffer, buffer.position(), cells, fixed);
+        buffer.position(buffer.position() + PuzzleRecord.SIZE);
+        count++;
+    }
+
+    public void append(SudokuBoard board) throws IOException {
+        if (board.getSize() != 9) {
+            throw new IllegalArgumentException("A base binária só armazena tabuleiros 9x9");
+        }
+        for (int cell = 0; cell < PuzzleRecord.CELLS; cell++) {
+            cells[cell] = board.getNumber(cell / 9, cell % 9);
+            fixed[cell] = board.isPositionFixed(cell / 9, cell % 9);
+        }
+        append(cells, fixed);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            writeHeader();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(PuzzleDatabase.HEADER_SIZE);
+        header.putInt(PuzzleDatabase.MAGIC)
+                .putShort(PuzzleDatabase.VERSION)
+                .putShort((short) PuzzleRecord.SIZE)
+                .putLong(count)
+                .flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position()); // Escrita posicional: não move a posição do canal
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.david.sudoku.io;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Formatos de texto aceitos por {@link PuzzleParser}. Em todos, linhas começando com '#' são comentários.
+ */
+public enum PuzzleFormat {
+    /**
+     * Um quebra-cabeça por linha: 81 caracteres ('1'-'9', '0' ou '.'), opcionalmente seguidos de
+     * espaço, tab, ',' ou ';' e de qualquer texto (classificação, nome etc.), que é ignorado.
+     */
+    LINE,
+    /**
+     * Grade de 9 linhas com 9 caracteres cada ({@code .sdk}); quebra-cabeças separados por linhas em branco.
+     */
+    SDK,
+    /**
+     * Grade do Simple Sudoku ({@code .ss}): como {@link #SDK}, com '|' entre os blocos e linhas
+     * separadoras de '-' (ignorados).
+     */
+    SS,
+    /**
+     * Um quebra-cabeça por linha no formato da linha de comando: entradas "numero:linha:coluna"
+     * separadas por espaço, tab, ',' ou ';' (linha e coluna de 0 a 8).
+     */
+    CLUES;
+
+    /**
+     * Formato pela extensão do arquivo: {@code .sdk}, {@code .ss}, {@code .clues}; os demais são {@link #LINE}.
+     */
+    public static PuzzleFormat forPath(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".sdk")) {
+            return SDK;
+        }
+        if (name.endsWith(".ss")) {
+            return SS;
+        }
+        if (name.endsWith(".clues")) {
+            return CLUES;
+        }
+        return LINE;
+    }
+}
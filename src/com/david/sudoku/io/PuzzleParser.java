@@ -0,0 +1,353 @@
+package com.david.sudoku.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Leitor incremental de quebra-cabeças 9x9 nos formatos de {@link PuzzleFormat}, direto de
+ * {@link ByteBuffer}s (ASCII). É uma máquina de estados byte a byte, então um quebra-cabeça pode
+ * estar dividido entre dois buffers, e não aloca nada por quebra-cabeça: as células são entregues
+ * num único array reutilizado. Erros são reportados ao {@link Handler} com linha e coluna, e a
+ * leitura continua no próximo quebra-cabeça. Não é thread-safe.
+ */
+public final class PuzzleParser {
+    public static final int CELLS = PuzzleText.CELLS;
+    private static final int SIZE = 9;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    // Estado da linha atual
+    private static final int READING = 0;
+    private static final int IGNORING = 1; // Resto da linha ignorado (comentário ou texto após o quebra-cabeça)
+    private static final int INVALID = 2; // Erro já reportado; resto da linha ignorado
+
+    /**
+     * Recebe os quebra-cabeças e os erros, na ordem do arquivo.
+     */
+    public interface Handler {
+        /**
+         * @param cells 81 células em ordem de linha (0 = vazio); o array é reutilizado após o retorno
+         * @param line  linha do arquivo onde o quebra-cabeça começa
+         */
+        void puzzle(int[] cells, long line) throws IOException;
+
+        void error(ParseError error) throws IOException;
+    }
+
+    private final PuzzleFormat format;
+    private final Handler handler;
+    private final int[] cells = new int[CELLS];
+    private ByteBuffer readBuffer;
+
+    private long line = 1;
+    private int column;
+    private int lineState = READING;
+    private boolean blank = true;
+    private long puzzleCount;
+    private long errorCount;
+
+    // LINE: células lidas na linha
+    private int position;
+
+    // SDK e SS: células das linhas completas da grade, células e separadores da linha atual
+    private int gridPosition;
+    private int rowCells;
+    private boolean gridValid = true;
+    private long gridLine;
+
+    // CLUES: campo atual de "numero:linha:coluna", seu valor e os campos já lidos
+    private int field;
+    private int fieldValue;
+    private int fieldDigits;
+    private int clueNumber;
+    private int clueRow;
+    private int tokenColumn;
+    private int clueCount;
+
+    public PuzzleParser(PuzzleFormat format, Handler handler) {
+        this.format = format;
+        this.handler = handler;
+    }
+
+    /**
+     * Lê o canal até o fim e chama {@link #finish()}.
+     *
+     * @return quantidade de quebra-cabeças válidos entregues
+     */
+    public long parse(ReadableByteChannel channel) throws IOException {
+        if (readBuffer == null) {
+            readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        while (channel.read(readBuffer) >= 0) {
+            readBuffer.flip();
+            feed(readBuffer);
+            readBuffer.clear();
+        }
+        finish();
+        return puzzleCount;
+    }
+
+    /**
+     * Processa todos os bytes restantes do buffer, deixando-o sem bytes restantes.
+     */
+    public void feed(ByteBuffer buffer) throws IOException {
+        int end = buffer.limit();
+        for (int i = buffer.position(); i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n') {
+                endLine();
+                continue;
+            }
+            if (b == '\r') {
+                continue;
+            }
+            column++;
+            if (lineState != READING) {
+                continue;
+            }
+            switch (format) {
+                case LINE:
+                    lineByte(b);
+                    break;
+                case SDK:
+                case SS:
+                    gridByte(b);
+                    break;
+                case CLUES:
+                    clueByte(b);
+                    break;
+            }
+            if (b != ' ' && b != '\t') {
+                blank = false;
+            }
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Fim da entrada: entrega a última linha (mesmo sem quebra de linha) e reporta uma grade incompleta.
+     */
+    public void finish() throws IOException {
+        if (column > 0) {
+            endLine();
+        }
+        if (gridPosition > 0) {
+            error(ParseError.Kind.INCOMPLETE_GRID, gridLine, 1,
+                    "Grade incompleta no fim do arquivo: " + gridPosition / SIZE + " de 9 linhas");
+            resetGrid();
+        }
+    }
+
+    public long getPuzzleCount() {
+        return puzzleCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    private void lineByte(byte b) throws IOException {
+        if (position < CELLS) {
+            if (b >= '1' && b <= '9') {
+                cells[position++] = b - '0';
+            } else if (b == '0' || b == '.') {
+                cells[position++] = 0;
+            } else if (position == 0 && (b == ' ' || b == '\t')) {
+                // Espaços antes do quebra-cabeça
+            } else if (position == 0 && b == '#') {
+                lineState = IGNORING;
+            } else {
+                invalidCharacter(b);
+            }
+        } else if (b == ' ' || b == '\t' || b == ',' || b == ';') {
+            lineState = IGNORING;
+        } else {
+            lineError(ParseError.Kind.WRONG_LENGTH, "Linha com mais de " + CELLS + " células");
+        }
+    }
+
+    private void gridByte(byte b) throws IOException {
+        int value;
+        if (b >= '1' && b <= '9') {
+            value = b - '0';
+        } else if (b == '0' || b == '.') {
+            value = 0;
+        } else if (b == ' ' || b == '\t' || b == '|' || b == '+' || b == '-' || b == '*' || b == '=') {
+            return; // Separadores de blocos e linhas separadoras do .ss
+        } else if (blank && b == '#') {
+            lineState = IGNORING; // Comentários e metadados (#A autor, #D descrição...)
+            return;
+        } else {
+            value = -1;
+        }
+        if (gridPosition == 0 && rowCells == 0) {
+            gridLine = line;
+        }
+        if (value < 0) {
+            invalidCharacter(b); // A linha ainda conta como uma linha da grade
+            gridValid = false;
+            return;
+        }
+        if (rowCells < SIZE) {
+            cells[gridPosition + rowCells] = value;
+        }
+        rowCells++;
+    }
+
+    private void clueByte(byte b) throws IOException {
+        if (field == 0 && fieldDigits == 0) {
+            tokenColumn = column;
+        }
+        if (b >= '0' && b <= '9') {
+            fieldValue = Math.min(fieldValue * 10 + b - '0', 1000);
+            fieldDigits++;
+        } else if (b == ':') {
+            if (fieldDigits == 0 || field == 2) {
+                clueError("Entrada malformada; use numero:linha:coluna");
+                return;
+            }
+            if (field == 0) {
+                clueNumber = fieldValue;
+            } else {
+                clueRow = fieldValue;
+            }
+            field++;
+            fieldValue = 0;
+            fieldDigits = 0;
+        } else if (b == ' ' || b == '\t' || b == ',' || b == ';') {
+            endClue();
+        } else if (blank && b == '#') {
+            lineState = IGNORING;
+        } else {
+            invalidCharacter(b);
+        }
+    }
+
+    private void endClue() throws IOException {
+        if (field == 0 && fieldDigits == 0) {
+            return; // Separadores repetidos
+        }
+        if (field != 2 || fieldDigits == 0) {
+            clueError("Entrada malformada; use numero:linha:coluna");
+            return;
+        }
+        int number = clueNumber;
+        int row = clueRow;
+        int col = fieldValue;
+        field = 0;
+        fieldValue = 0;
+        fieldDigits = 0;
+        if (number < 1 || number > SIZE || row >= SIZE || col >= SIZE) {
+            clueError("Entrada fora dos limites: " + number + ":" + row + ":" + col);
+            return;
+        }
+        if (cells[row * SIZE + col] != 0) {
+            clueError("Célula repetida: " + row + ":" + col);
+            return;
+        }
+        cells[row * SIZE + col] = number;
+        clueCount++;
+    }
+
+    private void endLine() throws IOException {
+        switch (format) {
+            case LINE:
+                endPuzzleLine();
+                break;
+            case SDK:
+            case SS:
+                endGridLine();
+                break;
+            case CLUES:
+                endClueLine();
+                break;
+        }
+        line++;
+        column = 0;
+        lineState = READING;
+        blank = true;
+    }
+
+    private void endPuzzleLine() throws IOException {
+        if (lineState != INVALID) {
+            if (position == CELLS) {
+                emit(cells, line);
+            } else if (position > 0) {
+                lineError(ParseError.Kind.WRONG_LENGTH,
+                        "Linha com " + position + " células (esperado " + CELLS + ")");
+            }
+        }
+        position = 0;
+    }
+
+    private void endGridLine() throws IOException {
+        if (rowCells == 0 && lineState != INVALID) {
+            // Uma linha em branco termina o quebra-cabeça; separadores e comentários não
+            if (blank && gridPosition > 0) {
+                error(ParseError.Kind.INCOMPLETE_GRID, gridLine, 1,
+                        "Grade incompleta: " + gridPosition / SIZE + " de 9 linhas");
+                resetGrid();
+            }
+            return;
+        }
+        if (rowCells != SIZE && lineState != INVALID) {
+            lineError(ParseError.Kind.WRONG_LENGTH,
+                    "Linha da grade com " + rowCells + " células (esperado " + SIZE + ")");
+            gridValid = false;
+        }
+        rowCells = 0;
+        gridPosition += SIZE;
+        if (gridPosition == CELLS) {
+            if (gridValid) {
+                emit(cells, gridLine);
+            }
+            resetGrid();
+        }
+    }
+
+    private void endClueLine() throws IOException {
+        if (lineState == READING) {
+            endClue();
+        }
+        if (lineState != INVALID && clueCount > 0) {
+            emit(cells, line);
+        }
+        Arrays.fill(cells, 0);
+        field = 0;
+        fieldValue = 0;
+        fieldDigits = 0;
+        clueCount = 0;
+    }
+
+    private void resetGrid() {
+        gridPosition = 0;
+        rowCells = 0;
+        gridValid = true;
+    }
+
+    private void emit(int[] puzzle, long puzzleLine) throws IOException {
+        puzzleCount++;
+        handler.puzzle(puzzle, puzzleLine);
+    }
+
+    private void invalidCharacter(byte b) throws IOException {
+        String shown = b >= 0x20 && b < 0x7F ? "'" + (char) b + "'" : String.format("0x%02X", b & 0xFF);
+        lineError(ParseError.Kind.INVALID_CHARACTER, "Caractere inválido " + shown);
+    }
+
+    private void clueError(String message) throws IOException {
+        error(ParseError.Kind.INVALID_CLUE, line, tokenColumn, message);
+        lineState = INVALID;
+    }
+
+    private void lineError(ParseError.Kind kind, String message) throws IOException {
+        error(kind, line, Math.max(column, 1), message);
+        lineState = INVALID;
+    }
+
+    private void error(ParseError.Kind kind, long errorLine, int errorColumn, String message) throws IOException {
+        errorCount++;
+        handler.error(new ParseError(kind, errorLine, errorColumn, message));
+    }
+}
@@ -0,0 +1,66 @@
+package com.david.sudoku.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Registro binário de 51 bytes de um tabuleiro: 81 células de 4 bits (bytes 0 a 40, a célula par
+ * no nibble baixo) seguidas do mapa de 81 bits das células fixas. O mapa começa no nibble alto do
+ * byte 40, que sobra após as 81 células (célula 0), e continua nos bytes 41 a 50 (células 1 a 80).
+ */
+public final class PuzzleRecord {
+    public static final int CELLS = 81;
+    public static final int SIZE = 51;
+
+    private static final int NIBBLE_BYTES = 41;
+
+    private PuzzleRecord() {
+    }
+
+    /**
+     * Grava o registro na posição absoluta {@code offset} do buffer.
+     *
+     * @param fixed células fixas, ou {@code null} para considerar fixa toda célula preenchida
+     */
+    public static void write(ByteBuffer buffer, int offset, int[] cells, boolean[] fixed) {
+        for (int i = 0; i < NIBBLE_BYTES - 1; i++) {
+            buffer.put(offset + i, (byte) (cells[2 * i] | cells[2 * i + 1] << 4));
+        }
+        boolean fixedFirst = fixed == null ? cells[0] != 0 : fixed[0];
+        buffer.put(offset + NIBBLE_BYTES - 1, (byte) (cells[CELLS - 1] | (fixedFirst ? 0x10 : 0)));
+        for (int i = 0; i < SIZE - NIBBLE_BYTES; i++) {
+            int bits = 0;
+            for (int b = 0; b < 8; b++) {
+                int cell = 1 + i * 8 + b;
+                if (fixed == null ? cells[cell] != 0 : fixed[cell]) {
+                    bits |= 1 << b;
+                }
+            }
+            buffer.put(offset + NIBBLE_BYTES + i, (byte) bits);
+        }
+    }
+
+    /**
+     * Lê o registro da posição absoluta {@code offset} do buffer, sem alocação.
+     *
+     * @param fixed recebe as células fixas; pode ser {@code null}
+     */
+    public static void read(ByteBuffer buffer, int offset, int[] cells, boolean[] fixed) {
+        for (int i = 0; i < NIBBLE_BYTES - 1; i++) {
+            int packed = buffer.get(offset + i);
+            cells[2 * i] = packed & 0x0F;
+            cells[2 * i + 1] = (packed >>> 4) & 0x0F;
+        }
+        int last = buffer.get(offset + NIBBLE_BYTES - 1);
+        cells[CELLS - 1] = last & 0x0F;
+        if (fixed == null) {
+            return;
+        }
+        fixed[0] = (last & 0x10) != 0;
+        for (int i = 0; i < SIZE - NIBBLE_BYTES; i++) {
+            int bits = buffer.get(offset + NIBBLE_BYTES + i);
+            for (int b = 0; b < 8; b++) {
+                fixed[1 + i * 8 + b] = (bits & (1 << b)) != 0;
+            }
+        }
+    }
+}
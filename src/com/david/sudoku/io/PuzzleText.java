@@ -0,0 +1,40 @@
+package com.david.sudoku.io;
+
+/**
+ * Formato texto de uma linha: 81 caracteres em ordem de linha, '1'-'9' para números e '0' ou '.' para vazio.
+ */
+public final class PuzzleText {
+    public static final int CELLS = 81;
+
+    private PuzzleText() {
+    }
+
+    /**
+     * Converte a linha para {@code cells}. Retorna {@code false} se a linha não estiver no formato.
+     */
+    public static boolean parseLine(CharSequence line, int[] cells) {
+        if (line.length() != CELLS) {
+            return false;
+        }
+        for (int c = 0; c < CELLS; c++) {
+            char ch = line.charAt(c);
+            if (ch >= '1' && ch <= '9') {
+                cells[c] = ch - '0';
+            } else if (ch == '0' || ch == '.') {
+                cells[c] = 0;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Escreve as 81 células em {@code out} usando '0' para células vazias.
+     */
+    public static void format(int[] cells, char[] out) {
+        for (int c = 0; c < CELLS; c++) {
+            out[c] = (char) ('0' + cells[c]);
+        }
+    }
+}
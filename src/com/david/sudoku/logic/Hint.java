@@ -0,0 +1,118 @@
+package com.david.sudoku.logic;
+
+/**
+ * Próximo passo dedutível de um tabuleiro: a técnica usada, as células que formam o padrão e o
+ * resultado, que é colocar um número ({@link #isPlacement()}) ou eliminar candidatos de outras
+ * células. As células são índices em ordem de linha ({@code linha * size + coluna}).
+ */
+public final class Hint {
+    private final Technique technique;
+    private final int size;
+    private final int cell; // Célula onde o número deve ser colocado, ou -1
+    private final int number;
+    private final int[] cells;
+    private final int numbers; // Números que formam o padrão, como máscara de bits
+    private final int[] eliminationCells;
+    private final int[] eliminationMasks;
+
+    Hint(Technique technique, int size, int cell, int number, int[] cells, int numbers,
+         int[] eliminationCells, int[] eliminationMasks) {
+        this.technique = technique;
+        this.size = size;
+        this.cell = cell;
+        this.number = number;
+        this.cells = cells;
+        this.numbers = numbers;
+        this.eliminationCells = eliminationCells;
+        this.eliminationMasks = eliminationMasks;
+    }
+
+    static Hint placement(Technique technique, int size, int cell, int number) {
+        return new Hint(technique, size, cell, number, new int[]{cell}, 1 << (number - 1), new int[0], new int[0]);
+    }
+
+    public Technique getTechnique() {
+        return technique;
+    }
+
+    public boolean isPlacement() {
+        return cell >= 0;
+    }
+
+    /** Célula onde o número deve ser colocado, ou -1 se a dica só elimina candidatos. */
+    public int getCell() {
+        return cell;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    /** Células que formam o padrão. */
+    public int[] getCells() {
+        return cells.clone();
+    }
+
+    /** Números que formam o padrão (bit n - 1 = número n). */
+    public int getNumbers() {
+        return numbers;
+    }
+
+    public int getEliminationCount() {
+        return eliminationCells.length;
+    }
+
+    public int getEliminationCell(int i) {
+        return eliminationCells[i];
+    }
+
+    /** Candidatos eliminados da i-ésima célula (bit n - 1 = número n). */
+    public int getEliminationMask(int i) {
+        return eliminationMasks[i];
+    }
+
+    /**
+     * Descrição da dica para o jogador, com linhas e colunas a partir de 0.
+     */
+    public String getDescription() {
+        StringBuilder sb = new StringBuilder(technique.toString()).append(": ");
+        if (isPlacement()) {
+            sb.append("coloque o número ").append(number).append(" em ").append(formatCell(cell));
+            if (technique == Technique.NAKED_SINGLE) {
+                sb.append(", o único candidato da célula.");
+            } else {
+                sb.append(", a única posição possível para ele na linha, coluna ou bloco.");
+            }
+            return sb.toString();
+        }
+        sb.append("os números ").append(formatNumbers(numbers)).append(" nas células ");
+        for (int i = 0; i < cells.length; i++) {
+            sb.append(i == 0 ? "" : " ").append(formatCell(cells[i]));
+        }
+        sb.append(" permitem eliminar:");
+        for (int i = 0; i < eliminationCells.length; i++) {
+            sb.append("\n  ").append(formatNumbers(eliminationMasks[i])).append(" de ")
+                    .append(formatCell(eliminationCells[i]));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+
+    private String formatCell(int cell) {
+        return "(" + cell / size + ", " + cell % size + ")";
+    }
+
+    private static String formatNumbers(int mask) {
+        StringBuilder sb = new StringBuilder();
+        while (mask != 0) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(Integer.numberOfTrailingZeros(mask) + 1);
+            mask &= mask - 1;
+        }
+        return sb.toString();
+    }
+}
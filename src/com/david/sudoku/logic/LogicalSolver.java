@@ -0,0 +1,615 @@
+package com.david.sudoku.logic;
+
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.SudokuBoard;
+
+import java.util.Arrays;
+
+/**
+ * Resolve o tabuleiro por dedução, com as técnicas de {@link Technique}, e fornece o próximo passo
+ * como {@link Hint}.
+ * <p>
+ * Em vez de varrer o tabuleiro a cada passo, cada técnica tem uma fila de trabalho com o que mudou
+ * desde a última vez em que ela não encontrou nada: células (candidato único), unidades (posição
+ * única, candidatos bloqueados, pares e trios) ou números (X-Wing e Swordfish). Um item só sai da
+ * fila quando é examinado sem produzir dica, e volta a ela quando os candidatos de alguma de suas
+ * células mudam. Não é thread-safe: use uma instância por thread.
+ * <p>
+ * Com variantes, os candidatos respeitam todas as unidades e os números permitidos de cada célula,
+ * mas as técnicas só examinam linhas, colunas e blocos: deduções que continuam corretas com regras a
+ * mais, embora possam não bastar onde uma gaiola ou diagonal resolveria.
+ */
+public class LogicalSolver {
+    private static final Technique[] SUBSET_TECHNIQUES = {
+            Technique.NAKED_PAIR, Technique.HIDDEN_PAIR, Technique.NAKED_TRIPLE, Technique.HIDDEN_TRIPLE
+    };
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int boxSize;
+    private final int cellCount;
+    private final int[] values; // Números em ordem de linha, 0 = vazio
+    private final int[] candidates; // Candidatos das células vazias (bit n - 1 = número n), 0 nas preenchidas
+    private int filledCount;
+
+    // Filas de trabalho de cada técnica
+    private final WorkQueue cellQueue;
+    private final WorkQueue hiddenSingleQueue;
+    private final WorkQueue lockedQueue;
+    private final WorkQueue[] subsetQueues = new WorkQueue[SUBSET_TECHNIQUES.length];
+    private final boolean[] xWingDirty; // Por número
+    private final boolean[] swordfishDirty;
+
+    // Buffers reutilizados na busca de padrões e na montagem das dicas
+    private final int[] items;
+    private final int[] masks;
+    private final int[] positions;
+    private final int[] combo = new int[3];
+    private final int[] patternCells;
+    private final int[] eliminationCells;
+    private final int[] eliminationMasks;
+    private int patternCount;
+    private int eliminationCount;
+
+    public LogicalSolver() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    public LogicalSolver(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.boxSize = geometry.getBoxSize();
+        this.cellCount = geometry.getCellCount();
+        this.values = new int[cellCount];
+        this.candidates = new int[cellCount];
+        this.cellQueue = new WorkQueue(cellCount);
+        this.hiddenSingleQueue = new WorkQueue(geometry.getClassicUnitCount());
+        this.lockedQueue = new WorkQueue(geometry.getClassicUnitCount());
+        for (int t = 0; t < subsetQueues.length; t++) {
+            subsetQueues[t] = new WorkQueue(geometry.getClassicUnitCount());
+        }
+        this.xWingDirty = new boolean[size + 1];
+        this.swordfishDirty = new boolean[size + 1];
+        this.items = new int[size];
+        this.masks = new int[size];
+        this.positions = new int[size + 1];
+        this.patternCells = new int[cellCount];
+        this.eliminationCells = new int[cellCount];
+        this.eliminationMasks = new int[cellCount];
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Carrega os números do tabuleiro. Se os rascunhos automáticos estiverem ativos, os candidatos
+     * são os rascunhos da célula, que já refletem as eliminações feitas pelo jogador.
+     */
+    public void load(SudokuBoard board) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("O tabuleiro deve ter " + size + "x" + size + " células");
+        }
+        board.copyCells(values);
+        computeCandidates();
+        if (board.isAutoCandidates()) {
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (values[cell] == 0) {
+                    candidates[cell] &= board.getDraftMask(cell / size, cell % size);
+                }
+            }
+        }
+        resetQueues();
+    }
+
+    /**
+     * Carrega uma grade em ordem de linha (0 = vazio), com os candidatos calculados a partir dos números.
+     */
+    public void load(int[] cells) {
+        if (cells.length != cellCount) {
+            throw new IllegalArgumentException("A grade deve ter " + cellCount + " células");
+        }
+        System.arraycopy(cells, 0, values, 0, cellCount);
+        computeCandidates();
+        resetQueues();
+    }
+
+    /**
+     * Próximo passo dedutível com a técnica mais simples possível, sem aplicá-lo, ou {@code null}
+     * se nenhuma técnica avança.
+     */
+    public Hint nextHint() {
+        Hint hint = nakedSingle();
+        if (hint == null) hint = hiddenSingle();
+        if (hint == null) hint = lockedCandidates();
+        for (int t = 0; hint == null && t < SUBSET_TECHNIQUES.length; t++) {
+            hint = subset(t);
+        }
+        if (hint == null) hint = fish(2, xWingDirty, Technique.X_WING);
+        if (hint == null) hint = fish(3, swordfishDirty, Technique.SWORDFISH);
+        return hint;
+    }
+
+    /**
+     * Aplica a dica ao estado interno (não ao tabuleiro de origem).
+     */
+    public void apply(Hint hint) {
+        if (hint.isPlacement()) {
+            place(hint.getCell(), hint.getNumber());
+        }
+        for (int i = 0; i < hint.getEliminationCount(); i++) {
+            eliminate(hint.getEliminationCell(i), hint.getEliminationMask(i));
+        }
+    }
+
+    /**
+     * Aplica dicas até resolver a grade ou esgotar as técnicas.
+     *
+     * @return quantidade de passos aplicados
+     */
+    public int solve() {
+        int steps = 0;
+        Hint hint;
+        while (!isSolved() && (hint = nextHint()) != null) {
+            apply(hint);
+            steps++;
+        }
+        return steps;
+    }
+
+    public boolean isSolved() {
+        return filledCount == cellCount;
+    }
+
+    /** Número da célula no estado interno (0 se vazia). */
+    public int getNumber(int cell) {
+        return values[cell];
+    }
+
+    /** Candidatos restantes da célula no estado interno. */
+    public int getCandidates(int cell) {
+        return candidates[cell];
+    }
+
+    private void computeCandidates() {
+        filledCount = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            candidates[cell] = values[cell] == 0 ? geometry.getAllowedNumbers(cell) : 0;
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (values[cell] != 0) {
+                filledCount++;
+                int clear = ~(1 << (values[cell] - 1));
+                for (int i = 0; i < geometry.getPeerCount(cell); i++) {
+                    candidates[geometry.peer(cell, i)] &= clear;
+                }
+            }
+        }
+    }
+
+    private void resetQueues() {
+        cellQueue.fill();
+        hiddenSingleQueue.fill();
+        lockedQueue.fill();
+        for (WorkQueue queue : subsetQueues) {
+            queue.fill();
+        }
+        Arrays.fill(xWingDirty, true);
+        Arrays.fill(swordfishDirty, true);
+    }
+
+    private void place(int cell, int number) {
+        values[cell] = number;
+        filledCount++;
+        int removed = candidates[cell];
+        candidates[cell] = 0;
+        changed(cell, removed);
+        int bit = 1 << (number - 1);
+        for (int i = 0; i < geometry.getPeerCount(cell); i++) {
+            eliminate(geometry.peer(cell, i), bit);
+        }
+    }
+
+    private void eliminate(int cell, int mask) {
+        int removed = candidates[cell] & mask;
+        if (removed != 0) {
+            candidates[cell] &= ~removed;
+            changed(cell, removed);
+        }
+    }
+
+    // Devolve às filas a célula, suas três unidades e os números removidos
+    private void changed(int cell, int removed) {
+        cellQueue.add(cell);
+        enqueueUnit(geometry.rowOf(cell));
+        enqueueUnit(geometry.colUnitOf(cell));
+        enqueueUnit(geometry.boxUnitOf(cell));
+        while (removed != 0) {
+            int number = Integer.numberOfTrailingZeros(removed) + 1;
+            removed &= removed - 1;
+            xWingDirty[number] = true;
+            swordfishDirty[number] = true;
+        }
+    }
+
+    private void enqueueUnit(int unit) {
+        hiddenSingleQueue.add(unit);
+        lockedQueue.add(unit);
+        for (WorkQueue queue : subsetQueues) {
+            queue.add(unit);
+        }
+    }
+
+    private Hint nakedSingle() {
+        while (!cellQueue.isEmpty()) {
+            int cell = cellQueue.peek();
+            if (values[cell] == 0 && Integer.bitCount(candidates[cell]) == 1) {
+                return Hint.placement(Technique.NAKED_SINGLE, size, cell, numberOf(candidates[cell]));
+            }
+            cellQueue.remove();
+        }
+        return null;
+    }
+
+    private Hint hiddenSingle() {
+        while (!hiddenSingleQueue.isEmpty()) {
+            int unit = hiddenSingleQueue.peek();
+            int once = 0;
+            int twice = 0;
+            for (int i = 0; i < size; i++) {
+                int mask = candidates[geometry.unitCell(unit, i)];
+                twice |= once & mask;
+                once |= mask;
+            }
+            int hidden = once & ~twice;
+            if (hidden != 0) {
+                int bit = hidden & -hidden;
+                for (int i = 0; i < size; i++) {
+                    int cell = geometry.unitCell(unit, i);
+                    if ((candidates[cell] & bit) != 0) {
+                        return Hint.placement(Technique.HIDDEN_SINGLE, size, cell, numberOf(bit));
+                    }
+                }
+            }
+            hiddenSingleQueue.remove();
+        }
+        return null;
+    }
+
+    private Hint lockedCandidates() {
+        while (!lockedQueue.isEmpty()) {
+            int unit = lockedQueue.peek();
+            Hint hint = null;
+            if (unit >= 2 * size) {
+                // Bloco: examina as linhas e colunas que o cruzam
+                int first = geometry.unitCell(unit, 0);
+                for (int k = 0; hint == null && k < boxSize; k++) {
+                    hint = lockedIntersection(unit, geometry.rowOf(first) + k);
+                }
+                for (int k = 0; hint == null && k < boxSize; k++) {
+                    hint = lockedIntersection(unit, geometry.colUnitOf(first) + k);
+                }
+            } else {
+                // Linha ou coluna: examina os blocos que ela cruza
+                for (int k = 0; hint == null && k < size; k += boxSize) {
+                    hint = lockedIntersection(geometry.boxUnitOf(geometry.unitCell(unit, k)), unit);
+                }
+            }
+            if (hint != null) {
+                return hint;
+            }
+            lockedQueue.remove();
+        }
+        return null;
+    }
+
+    private Hint lockedIntersection(int box, int line) {
+        int inside = 0;
+        int lineRest = 0;
+        int boxRest = 0;
+        for (int i = 0; i < size; i++) {
+            int cell = geometry.unitCell(line, i);
+            if (geometry.boxUnitOf(cell) == box) {
+                inside |= candidates[cell];
+            } else {
+                lineRest |= candidates[cell];
+            }
+            cell = geometry.unitCell(box, i);
+            if (!inLine(cell, line)) {
+                boxRest |= candidates[cell];
+            }
+        }
+        // Número do bloco restrito à interseção sai do resto da linha, e vice-versa
+        int pointing = inside & ~boxRest & lineRest;
+        if (pointing != 0) {
+            return lockedHint(box, line, pointing & -pointing, line);
+        }
+        int claiming = inside & ~lineRest & boxRest;
+        if (claiming != 0) {
+            return lockedHint(box, line, claiming & -claiming, box);
+        }
+        return null;
+    }
+
+    private Hint lockedHint(int box, int line, int bit, int target) {
+        startHint();
+        for (int i = 0; i < size; i++) {
+            int cell = geometry.unitCell(target, i);
+            if ((candidates[cell] & bit) == 0) continue;
+            if (geometry.boxUnitOf(cell) == box && inLine(cell, line)) {
+                patternCells[patternCount++] = cell;
+            } else {
+                addElimination(cell, bit);
+            }
+        }
+        return buildHint(Technique.LOCKED_CANDIDATES, bit);
+    }
+
+    private boolean inLine(int cell, int line) {
+        return line < size ? geometry.rowOf(cell) == line : geometry.colUnitOf(cell) == line;
+    }
+
+    private Hint subset(int t) {
+        WorkQueue queue = subsetQueues[t];
+        int n = 2 + t / 2;
+        while (!queue.isEmpty()) {
+            int unit = queue.peek();
+            Hint hint = t % 2 == 0 ? nakedSubset(unit, n, SUBSET_TECHNIQUES[t])
+                    : hiddenSubset(unit, n, SUBSET_TECHNIQUES[t]);
+            if (hint != null) {
+                return hint;
+            }
+            queue.remove();
+        }
+        return null;
+    }
+
+    // n células da unidade cujos candidatos somam só n números: esses números saem das demais células
+    private Hint nakedSubset(int unit, int n, Technique technique) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int cell = geometry.unitCell(unit, i);
+            int bits = Integer.bitCount(candidates[cell]);
+            if (bits >= 2 && bits <= n) {
+                items[count] = cell;
+                masks[count++] = candidates[cell];
+            }
+        }
+        if (count < n) {
+            return null;
+        }
+        firstCombination(n);
+        do {
+            int union = 0;
+            for (int j = 0; j < n; j++) {
+                union |= masks[combo[j]];
+            }
+            if (Integer.bitCount(union) != n) continue;
+            startHint();
+            for (int j = 0; j < n; j++) {
+                patternCells[patternCount++] = items[combo[j]];
+            }
+            for (int i = 0; i < size; i++) {
+                int cell = geometry.unitCell(unit, i);
+                if (!inPattern(cell)) {
+                    addElimination(cell, candidates[cell] & union);
+                }
+            }
+            if (eliminationCount > 0) {
+                return buildHint(technique, union);
+            }
+        } while (nextCombination(n, count));
+        return null;
+    }
+
+    // n números que só cabem nas mesmas n células da unidade: os demais candidatos dessas células saem
+    private Hint hiddenSubset(int unit, int n, Technique technique) {
+        Arrays.fill(positions, 0);
+        for (int i = 0; i < size; i++) {
+            int mask = candidates[geometry.unitCell(unit, i)];
+            while (mask != 0) {
+                positions[Integer.numberOfTrailingZeros(mask) + 1] |= 1 << i;
+                mask &= mask - 1;
+            }
+        }
+        int count = 0;
+        for (int number = 1; number <= size; number++) {
+            int bits = Integer.bitCount(positions[number]);
+            if (bits >= 2 && bits <= n) {
+                items[count] = number;
+                masks[count++] = positions[number];
+            }
+        }
+        if (count < n) {
+            return null;
+        }
+        firstCombination(n);
+        do {
+            int union = 0;
+            int numbers = 0;
+            for (int j = 0; j < n; j++) {
+                union |= masks[combo[j]];
+                numbers |= 1 << (items[combo[j]] - 1);
+            }
+            if (Integer.bitCount(union) != n) continue;
+            startHint();
+            for (int p = union; p != 0; p &= p - 1) {
+                int cell = geometry.unitCell(unit, Integer.numberOfTrailingZeros(p));
+                patternCells[patternCount++] = cell;
+                addElimination(cell, candidates[cell] & ~numbers);
+            }
+            if (eliminationCount > 0) {
+                return buildHint(technique, numbers);
+            }
+        } while (nextCombination(n, count));
+        return null;
+    }
+
+    private Hint fish(int n, boolean[] dirty, Technique technique) {
+        for (int number = 1; number <= size; number++) {
+            if (!dirty[number]) continue;
+            Hint hint = fishFor(number, n, false, technique);
+            if (hint == null) {
+                hint = fishFor(number, n, true, technique);
+            }
+            if (hint != null) {
+                return hint;
+            }
+            dirty[number] = false;
+        }
+        return null;
+    }
+
+    // n linhas (ou colunas) em que o número só cabe nas mesmas n colunas (ou linhas): ele sai do
+    // resto dessas colunas (ou linhas)
+    private Hint fishFor(int number, int n, boolean columns, Technique technique) {
+        int bit = 1 << (number - 1);
+        int count = 0;
+        for (int base = 0; base < size; base++) {
+            int unit = columns ? size + base : base;
+            int mask = 0;
+            for (int i = 0; i < size; i++) {
+                if ((candidates[geometry.unitCell(unit, i)] & bit) != 0) {
+                    mask |= 1 << i;
+                }
+            }
+            int bits = Integer.bitCount(mask);
+            if (bits >= 2 && bits <= n) {
+                items[count] = unit;
+                masks[count++] = mask;
+            }
+        }
+        if (count < n) {
+            return null;
+        }
+        firstCombination(n);
+        do {
+            int union = 0;
+            for (int j = 0; j < n; j++) {
+                union |= masks[combo[j]];
+            }
+            if (Integer.bitCount(union) != n) continue;
+            startHint();
+            for (int j = 0; j < n; j++) {
+                for (int p = masks[combo[j]]; p != 0; p &= p - 1) {
+                    patternCells[patternCount++] = geometry.unitCell(items[combo[j]], Integer.numberOfTrailingZeros(p));
+                }
+            }
+            for (int p = union; p != 0; p &= p - 1) {
+                int cover = columns ? Integer.numberOfTrailingZeros(p) : size + Integer.numberOfTrailingZeros(p);
+                for (int i = 0; i < size; i++) {
+                    int cell = geometry.unitCell(cover, i);
+                    int base = columns ? geometry.colUnitOf(cell) : geometry.rowOf(cell);
+                    if (!inCombination(base, n)) {
+                        addElimination(cell, candidates[cell] & bit);
+                    }
+                }
+            }
+            if (eliminationCount > 0) {
+                return buildHint(technique, bit);
+            }
+        } while (nextCombination(n, count));
+        return null;
+    }
+
+    // Combinações de n índices entre 0 e count - 1, em ordem lexicográfica
+    private void firstCombination(int n) {
+        for (int j = 0; j < n; j++) {
+            combo[j] = j;
+        }
+    }
+
+    private boolean nextCombination(int n, int count) {
+        int i = n - 1;
+        while (i >= 0 && combo[i] == count - n + i) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        combo[i]++;
+        for (int j = i + 1; j < n; j++) {
+            combo[j] = combo[j - 1] + 1;
+        }
+        return true;
+    }
+
+    private boolean inCombination(int item, int n) {
+        for (int j = 0; j < n; j++) {
+            if (items[combo[j]] == item) return true;
+        }
+        return false;
+    }
+
+    private boolean inPattern(int cell) {
+        for (int i = 0; i < patternCount; i++) {
+            if (patternCells[i] == cell) return true;
+        }
+        return false;
+    }
+
+    private void startHint() {
+        patternCount = 0;
+        eliminationCount = 0;
+    }
+
+    private void addElimination(int cell, int mask) {
+        if (mask != 0) {
+            eliminationCells[eliminationCount] = cell;
+            eliminationMasks[eliminationCount++] = mask;
+        }
+    }
+
+    private Hint buildHint(Technique technique, int numbers) {
+        return new Hint(technique, size, -1, 0, Arrays.copyOf(patternCells, patternCount), numbers,
+                Arrays.copyOf(eliminationCells, eliminationCount), Arrays.copyOf(eliminationMasks, eliminationCount));
+    }
+
+    private static int numberOf(int bit) {
+        return Integer.numberOfTrailingZeros(bit) + 1;
+    }
+
+    // Fila circular sem repetições; o item examinado só sai quando não produz dica
+    private static final class WorkQueue {
+        private final int[] items;
+        private final boolean[] queued;
+        private int head;
+        private int count;
+
+        WorkQueue(int capacity) {
+            this.items = new int[capacity];
+            this.queued = new boolean[capacity];
+        }
+
+        void add(int item) {
+            if (!queued[item]) {
+                queued[item] = true;
+                items[(head + count) % items.length] = item;
+                count++;
+            }
+        }
+
+        void fill() {
+            for (int i = 0; i < items.length; i++) {
+                items[i] = i;
+            }
+            Arrays.fill(queued, true);
+            head = 0;
+            count = items.length;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        int peek() {
+            return items[head];
+        }
+
+        void remove() {
+            queued[items[head]] = false;
+            head = (head + 1) % items.length;
+            count--;
+        }
+    }
+}
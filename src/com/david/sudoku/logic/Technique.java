@@ -0,0 +1,28 @@
+package com.david.sudoku.logic;
+
+/**
+ * Técnicas de dedução usadas pelo {@link LogicalSolver}, da mais simples para a mais difícil.
+ * As dicas sempre usam a técnica mais simples que produz algum avanço.
+ */
+public enum Technique {
+    NAKED_SINGLE("Candidato Único"),
+    HIDDEN_SINGLE("Posição Única"),
+    LOCKED_CANDIDATES("Candidatos Bloqueados"),
+    NAKED_PAIR("Par Nu"),
+    HIDDEN_PAIR("Par Oculto"),
+    NAKED_TRIPLE("Trio Nu"),
+    HIDDEN_TRIPLE("Trio Oculto"),
+    X_WING("X-Wing"),
+    SWORDFISH("Swordfish");
+
+    private final String displayName;
+
+    Technique(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
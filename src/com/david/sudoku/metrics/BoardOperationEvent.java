@@ -0,0 +1,42 @@
+package com.david.sudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do JDK Flight Recorder para as operações de {@link com.david.sudoku.model.SudokuBoard}.
+ * Sem uma gravação ativa, {@link #shouldCommit()} é falso e o objeto do evento é eliminado pelo JIT.
+ */
+@Name("com.david.sudoku.BoardOperation")
+@Label("Operação do Tabuleiro")
+@Category({"Sudoku", "Tabuleiro"})
+@Description("Jogada ou verificação feita no tabuleiro, com a célula, o número e o resultado")
+@StackTrace(false)
+public final class BoardOperationEvent extends Event {
+    @Label("Operação")
+    public String operation;
+
+    @Label("Linha")
+    @Description("-1 quando a operação não se refere a uma célula")
+    public int row;
+
+    @Label("Coluna")
+    public int col;
+
+    @Label("Número")
+    public int number;
+
+    @Label("Sucesso")
+    @Description("Falso quando a jogada foi recusada (célula fixa, ocupada ou coordenadas inválidas)")
+    public boolean success;
+
+    @Label("Status")
+    public String status;
+
+    @Label("Com Erros")
+    public boolean hasErrors;
+}
@@ -0,0 +1,32 @@
+package com.david.sudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do JDK Flight Recorder para cada quebra-cabeça gerado pelo
+ * {@link com.david.sudoku.generator.PuzzleGenerator}.
+ */
+@Name("com.david.sudoku.Generate")
+@Label("Geração de Quebra-cabeça")
+@Category({"Sudoku", "Gerador"})
+@Description("Geração de um quebra-cabeça com solução única")
+@StackTrace(false)
+public final class GeneratorEvent extends Event {
+    @Label("Dificuldade")
+    public String difficulty;
+
+    @Label("Números Iniciais")
+    public int clues;
+
+    @Label("Tentativas")
+    public int attempts;
+
+    @Label("Nível Atingido")
+    @Description("Falso quando nenhuma tentativa foi avaliada no nível pedido")
+    public boolean inRange;
+}
@@ -0,0 +1,54 @@
+package com.david.sudoku.metrics;
+
+/**
+ * Contadores e latências de uma operação, como exibidos pelo JMX (tempos em microssegundos).
+ */
+public final class OperationStats {
+    private final String operation;
+    private final long count;
+    private final long failures;
+    private final double meanMicros;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double maxMicros;
+
+    public OperationStats(String operation, long count, long failures, double meanMicros,
+                          double p50Micros, double p99Micros, double maxMicros) {
+        this.operation = operation;
+        this.count = count;
+        this.failures = failures;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /** Jogadas recusadas, buscas sem solução ou gerações fora da faixa de dificuldade. */
+    public long getFailures() {
+        return failures;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+}
@@ -0,0 +1,38 @@
+package com.david.sudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do JDK Flight Recorder para cada busca do {@link com.david.sudoku.solver.SudokuSolver}.
+ */
+@Name("com.david.sudoku.Solve")
+@Label("Resolução")
+@Category({"Sudoku", "Resolvedor"})
+@Description("Busca de solução ou contagem de soluções de uma grade")
+@StackTrace(false)
+public final class SolverEvent extends Event {
+    @Label("Motor")
+    public String engine;
+
+    @Label("Tamanho")
+    @Description("Números por linha (9, 16 ou 25)")
+    public int size;
+
+    @Label("Números Iniciais")
+    public int clues;
+
+    @Label("Limite")
+    @Description("Quantidade de soluções em que a busca para")
+    public int limit;
+
+    @Label("Soluções")
+    public int solutions;
+
+    @Label("Interrompida")
+    public boolean interrupted;
+}
@@ -0,0 +1,142 @@
+package com.david.sudoku.metrics;
+
+import com.david.sudoku.model.GameStatus;
+
+import jdk.jfr.FlightRecorder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores e histogramas de latência dos caminhos críticos do modelo, do resolvedor e do gerador,
+ * expostos por JMX, mais a emissão dos eventos do JDK Flight Recorder.
+ * <p>
+ * Os contadores só são ativados com {@code -Dsudoku.metrics=true}. Como {@link #ENABLED} é uma
+ * constante, o JIT remove as medições quando desativados; os eventos JFR, por sua vez, só são
+ * criados depois que o Flight Recorder foi iniciado ({@link #eventsEnabled()}) e só custam algo
+ * durante uma gravação. Assim a instrumentação pode ficar no código de produção.
+ */
+public final class SudokuMetrics implements SudokuMetricsMXBean {
+    public static final boolean ENABLED = Boolean.getBoolean("sudoku.metrics");
+
+    public enum Operation {
+        PLACE_NUMBER,
+        REMOVE_NUMBER,
+        CHECK_GAME_STATUS,
+        CLEAR_PLAYER_NUMBERS,
+        SOLVE,
+        COUNT_SOLUTIONS,
+        GENERATE
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final LatencyHistogram[] LATENCIES = new LatencyHistogram[OPERATIONS.length];
+    private static final LongAdder[] FAILURES = new LongAdder[OPERATIONS.length];
+
+    static {
+        if (ENABLED) {
+            for (int i = 0; i < OPERATIONS.length; i++) {
+                LATENCIES[i] = new LatencyHistogram();
+                FAILURES[i] = new LongAdder();
+            }
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new SudokuMetrics(),
+                        new ObjectName("com.david.sudoku:type=Metrics"));
+            } catch (JMException e) {
+                System.err.println("Aviso: métricas não registradas no JMX - " + e.getMessage());
+            }
+        }
+    }
+
+    private SudokuMetrics() {
+    }
+
+    /**
+     * Início de uma operação medida; 0 quando os contadores estão desativados.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public static void record(Operation operation, long start, boolean success) {
+        if (ENABLED) {
+            LATENCIES[operation.ordinal()].record(System.nanoTime() - start);
+            if (!success) {
+                FAILURES[operation.ordinal()].increment();
+            }
+        }
+    }
+
+    /**
+     * Indica se o Flight Recorder já foi iniciado, na linha de comando ou depois (por exemplo, com
+     * jcmd). Antes disso nenhum evento é criado: a primeira classe de evento carregada inicializa
+     * o JFR, o que custaria centenas de milissegundos na partida dos modos em lote.
+     */
+    public static boolean eventsEnabled() {
+        return FlightRecorder.isInitialized();
+    }
+
+    /**
+     * Evento de uma operação do tabuleiro já iniciado, ou {@code null} se o JFR não foi iniciado.
+     */
+    public static BoardOperationEvent beginBoardOperation() {
+        if (!eventsEnabled()) {
+            return null;
+        }
+        BoardOperationEvent event = new BoardOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Registra uma operação do tabuleiro nos contadores e, se houver uma gravação JFR, no evento.
+     *
+     * @param event evento de {@link #beginBoardOperation()}; pode ser {@code null}
+     * @param row   -1 (assim como col e number) quando a operação não se refere a uma célula
+     */
+    public static void boardOperation(Operation operation, long start, BoardOperationEvent event, int row, int col,
+                                      int number, boolean success, GameStatus status, boolean hasErrors) {
+        record(operation, start, success);
+        if (event != null && event.shouldCommit()) {
+            event.operation = operation.name();
+            event.row = row;
+            event.col = col;
+            event.number = number;
+            event.success = success;
+            event.status = status.name();
+            event.hasErrors = hasErrors;
+            event.commit();
+        }
+    }
+
+    /**
+     * Histograma da operação, ou {@code null} se os contadores estiverem desativados.
+     */
+    public static LatencyHistogram getLatencies(Operation operation) {
+        return LATENCIES[operation.ordinal()];
+    }
+
+    @Override
+    public List<OperationStats> getOperations() {
+        List<OperationStats> stats = new ArrayList<>(OPERATIONS.length);
+        for (Operation operation : OPERATIONS) {
+            LatencyHistogram latencies = LATENCIES[operation.ordinal()];
+            stats.add(new OperationStats(operation.name(), latencies.getCount(), FAILURES[operation.ordinal()].sum(),
+                    latencies.getMeanNanos() / 1e3, latencies.getPercentileNanos(50) / 1e3,
+                    latencies.getPercentileNanos(99) / 1e3, latencies.getMaxNanos() / 1e3));
+        }
+        return stats;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            LATENCIES[i].reset();
+            FAILURES[i].reset();
+        }
+    }
+}
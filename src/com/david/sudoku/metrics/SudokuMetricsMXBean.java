@@ -0,0 +1,13 @@
+package com.david.sudoku.metrics;
+
+import java.util.List;
+
+/**
+ * Interface JMX das métricas ({@code com.david.sudoku:type=Metrics}), visível no JConsole ou no
+ * VisualVM quando a aplicação roda com {@code -Dsudoku.metrics=true}.
+ */
+public interface SudokuMetricsMXBean {
+    List<OperationStats> getOperations();
+
+    void reset();
+}
@@ -0,0 +1,191 @@
+package com.david.sudoku.model;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Visão de um registro do {@link BoardArena} com as consultas do {@link SudokuBoard} (números,
+ * células fixas, rascunhos, conflitos, candidatos e status), lidas direto da memória fora do heap.
+ * Uma mesma visão percorre qualquer quantidade de registros com {@link #moveTo(int)}, sem alocar.
+ * <p>
+ * Não é thread-safe e reflete o registro no momento de cada consulta: alterações feitas na arena
+ * aparecem na visão, e a visão de um registro removido passa a ler dados sem sentido.
+ */
+public final class ArenaBoardView {
+    private static final BoardGeometry GEOMETRY = BoardGeometry.STANDARD;
+    private static final int SIZE = 9;
+
+    private final BoardArena arena;
+    private ByteBuffer chunk;
+    private int offset;
+    private int index = -1;
+
+    ArenaBoardView(BoardArena arena) {
+        this.arena = arena;
+    }
+
+    /**
+     * Posiciona a visão no registro {@code index}.
+     *
+     * @throws IllegalArgumentException se o registro foi removido
+     */
+    public ArenaBoardView moveTo(int index) {
+        arena.checkLive(index);
+        this.chunk = arena.chunk(index);
+        this.offset = BoardArena.offset(index);
+        this.index = index;
+        return this;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public BoardGeometry getGeometry() {
+        return GEOMETRY;
+    }
+
+    public int getSize() {
+        return SIZE;
+    }
+
+    public int getBoxSize() {
+        return GEOMETRY.getBoxSize();
+    }
+
+    /**
+     * Número da célula (0 se vazia).
+     */
+    public int getNumber(int row, int col) {
+        return isValidCoordinate(row, col) ? number(row * SIZE + col) : 0;
+    }
+
+    public int[][] getBoard() {
+        int[][] board = new int[SIZE][SIZE];
+        for (int cell = 0; cell < BoardArena.CELLS; cell++) {
+            board[cell / SIZE][cell % SIZE] = number(cell);
+        }
+        return board;
+    }
+
+    /**
+     * Copia os números para {@code cells} em ordem de linha (0 = vazio), sem alocação.
+     */
+    public void copyCells(int[] cells) {
+        for (int i = 0; i < BoardArena.STATE_BYTE; i++) {
+            int packed = chunk.get(offset + i);
+            cells[2 * i] = packed & 0x0F;
+            cells[2 * i + 1] = (packed >>> 4) & 0x0F;
+        }
+        cells[BoardArena.CELLS - 1] = chunk.get(offset + BoardArena.STATE_BYTE) & 0x0F;
+    }
+
+    public boolean isPositionFixed(int row, int col) {
+        if (!isValidCoordinate(row, col)) {
+            return false;
+        }
+        int cell = row * SIZE + col;
+        return (chunk.get(offset + BoardArena.FIXED_OFFSET + (cell >>> 3)) & (1 << (cell & 7))) != 0;
+    }
+
+    /**
+     * Rascunhos da célula como máscara de bits (bit n - 1 = número n).
+     */
+    public int getDraftMask(int row, int col) {
+        if (!isValidCoordinate(row, col)) {
+            return 0;
+        }
+        int bit = 9 * (row * SIZE + col);
+        return (chunk.getInt(offset + BoardArena.DRAFT_OFFSET + (bit >>> 3)) >>> (bit & 7)) & 0x1FF;
+    }
+
+    public List<Integer> getDraftNumbers(int row, int col) {
+        List<Integer> drafts = new ArrayList<>();
+        for (int mask = getDraftMask(row, col); mask != 0; mask &= mask - 1) {
+            drafts.add(Integer.numberOfTrailingZeros(mask) + 1);
+        }
+        return drafts;
+    }
+
+    /**
+     * Números que ainda não aparecem na linha, na coluna nem no bloco da célula, como máscara de bits.
+     */
+    public int getCandidateMask(int row, int col) {
+        if (!isValidCoordinate(row, col)) {
+            return 0;
+        }
+        int cell = row * SIZE + col;
+        int used = bit(number(cell));
+        for (int i = 0; i < GEOMETRY.getPeerCount(cell); i++) {
+            used |= bit(number(GEOMETRY.peer(cell, i)));
+        }
+        return ~used & GEOMETRY.getAllNumbers();
+    }
+
+    /**
+     * Indica se o número da célula se repete na sua linha, coluna ou bloco.
+     */
+    public boolean isConflict(int row, int col) {
+        if (!isValidCoordinate(row, col)) {
+            return false;
+        }
+        int cell = row * SIZE + col;
+        int number = number(cell);
+        if (number == 0) {
+            return false;
+        }
+        for (int i = 0; i < GEOMETRY.getPeerCount(cell); i++) {
+            if (number(GEOMETRY.peer(cell, i)) == number) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public GameStatus getStatus() {
+        return BoardArena.status(state());
+    }
+
+    public boolean hasErrors() {
+        return (state() & BoardArena.ERRORS_BIT) != 0;
+    }
+
+    /**
+     * Se os rascunhos do registro são mantidos automaticamente (ver {@link SudokuBoard#fillCandidates()}).
+     */
+    public boolean isAutoCandidates() {
+        return (chunk.get(offset + BoardArena.AUTO_BYTE) & BoardArena.AUTO_BIT) != 0;
+    }
+
+    public String getStatusMessage() {
+        return SudokuBoard.statusMessage(getStatus(), hasErrors());
+    }
+
+    public boolean gameIsCompleteAndValid() {
+        return getStatus() == GameStatus.COMPLETE && !hasErrors();
+    }
+
+    /**
+     * Cria um {@link SudokuBoard} com o registro atual (ver {@link BoardArena#toBoard(int)}).
+     */
+    public SudokuBoard toBoard() {
+        return arena.toBoard(index);
+    }
+
+    private int number(int cell) {
+        return (chunk.get(offset + (cell >>> 1)) >>> ((cell & 1) << 2)) & 0x0F;
+    }
+
+    private int state() {
+        return chunk.get(offset + BoardArena.STATE_BYTE) & 0xF0;
+    }
+
+    private static int bit(int number) {
+        return number == 0 ? 0 : 1 << (number - 1);
+    }
+
+    private static boolean isValidCoordinate(int row, int col) {
+        return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
+    }
+}
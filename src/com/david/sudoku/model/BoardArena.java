@@ -0,0 +1,276 @@
+package com.david.sudoku.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Tabuleiros 9x9 guardados fora do heap, em registros de {@value #RECORD_SIZE} bytes dentro de
+ * buffers diretos, para manter milhões de partidas ativas ou em cache sem objetos por tabuleiro
+ * (e sem o custo correspondente de coleta de lixo). Os registros são lidos no lugar por um
+ * {@link ArenaBoardView}, que reposicionado serve para qualquer quantidade de tabuleiros, e só viram
+ * {@link SudokuBoard} quando uma partida volta a ser jogada ({@link #toBoard(int)}).
+ * <p>
+ * Registro (little-endian):
+ * <ul>
+ *     <li>bytes 0-40: números em 4 bits (a célula par no nibble baixo; célula 80 no byte 40)</li>
+ *     <li>nibble alto do byte 40: status (bits 4-5), erros (bit 6) e registro livre (bit 7)</li>
+ *     <li>bytes 41-51: mapa de 81 bits das células fixas; o bit seguinte (bit 1 do byte 51) marca
+ *     os rascunhos automáticos</li>
+ *     <li>bytes 52-147: rascunhos, 9 bits por célula a partir do bit 9 * célula, lidos com um getInt</li>
+ * </ul>
+ * Registros removidos entram numa lista de livres (o próximo livre fica nos primeiros bytes do
+ * registro) e são reaproveitados por {@link #add(SudokuBoard)}. Os blocos de memória crescem sob
+ * demanda e só são liberados com a arena. Não é thread-safe.
+ */
+public class BoardArena {
+    public static final int RECORD_SIZE = 148;
+
+    static final int CELLS = 81;
+    static final int STATE_BYTE = 40;
+    static final int STATUS_SHIFT = 4;
+    static final int ERRORS_BIT = 0x40;
+    static final int FREE_BIT = 0x80;
+    static final int FIXED_OFFSET = 41;
+    static final int DRAFT_OFFSET = 52;
+    static final int AUTO_BYTE = FIXED_OFFSET + CELLS / 8;
+    static final int AUTO_BIT = 1 << (CELLS % 8);
+
+    private static final int FIXED_BYTES = DRAFT_OFFSET - FIXED_OFFSET;
+    private static final int DRAFT_BYTES = RECORD_SIZE - DRAFT_OFFSET;
+    private static final int CHUNK_BITS = 16;
+    private static final int RECORDS_PER_CHUNK = 1 << CHUNK_BITS; // ~9,7 MB por bloco
+    private static final GameStatus[] STATUSES = GameStatus.values();
+
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+    private int chunkCount;
+    private int highWater; // Registros já usados alguma vez
+    private int live;
+    private int freeHead = -1;
+    private final int[] scratch = new int[CELLS];
+    private final int[] unitUsed = new int[BoardGeometry.STANDARD.getUnitCount()];
+
+    public BoardArena() {
+    }
+
+    /**
+     * Reserva de início espaço para {@code capacity} tabuleiros.
+     */
+    public BoardArena(int capacity) {
+        while ((long) chunkCount * RECORDS_PER_CHUNK < capacity) {
+            addChunk();
+        }
+    }
+
+    /**
+     * Copia o tabuleiro (números, fixos, rascunhos, status, erros e rascunhos automáticos) para um
+     * registro.
+     *
+     * @return índice do registro
+     */
+    public int add(SudokuBoard board) {
+        int index = allocate();
+        set(index, board);
+        return index;
+    }
+
+    /**
+     * Guarda uma grade sem rascunhos (por exemplo, lida de um {@code PuzzleDatabase}). O status é
+     * calculado como num jogo iniciado: INCOMPLETE ou COMPLETE, com erros se algum número se repetir.
+     *
+     * @param fixed células fixas, ou {@code null} para considerar fixa toda célula preenchida
+     */
+    public int add(int[] cells, boolean[] fixed) {
+        if (cells.length != CELLS) {
+            throw new IllegalArgumentException("A grade deve ter " + CELLS + " células");
+        }
+        BoardGeometry geometry = BoardGeometry.STANDARD;
+        int[] used = unitUsed;
+        Arrays.fill(used, 0);
+        boolean hasErrors = false;
+        boolean complete = true;
+        for (int cell = 0; cell < CELLS; cell++) {
+            int number = cells[cell];
+            if (number < 0 || number > geometry.getSize()) {
+                throw new IllegalArgumentException("Número inválido na célula " + cell + ": " + number);
+            }
+            boolean isFixed = fixed == null ? number != 0 : fixed[cell];
+            scratch[cell] = number | (isFixed ? BoardSnapshot.FIXED_BIT : 0);
+            if (number == 0) {
+                complete = false;
+                continue;
+            }
+            int bit = 1 << (number - 1);
+            int row = geometry.rowOf(cell);
+            int col = geometry.colUnitOf(cell);
+            int box = geometry.boxUnitOf(cell);
+            if (((used[row] | used[col] | used[box]) & bit) != 0) {
+                hasErrors = true;
+            }
+            used[row] |= bit;
+            used[col] |= bit;
+            used[box] |= bit;
+        }
+        int index = allocate();
+        write(index, scratch, complete ? GameStatus.COMPLETE : GameStatus.INCOMPLETE, hasErrors, false);
+        return index;
+    }
+
+    /**
+     * Substitui o registro {@code index} pelo estado atual do tabuleiro.
+     */
+    public void set(int index, SudokuBoard board) {
+        if (board.getGeometry() != BoardGeometry.STANDARD) {
+            throw new IllegalArgumentException("A arena guarda apenas tabuleiros 9x9");
+        }
+        checkLive(index);
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                scratch[row * 9 + col] = board.getNumber(row, col)
+                        | (board.isPositionFixed(row, col) ? BoardSnapshot.FIXED_BIT : 0)
+                        | board.getDraftMask(row, col) << BoardSnapshot.DRAFT_SHIFT;
+            }
+        }
+        write(index, scratch, board.getStatus(), board.hasErrors(), board.isAutoCandidates());
+    }
+
+    /**
+     * Libera o registro para ser reaproveitado; visões posicionadas nele deixam de ser válidas.
+     */
+    public void remove(int index) {
+        checkLive(index);
+        ByteBuffer chunk = chunk(index);
+        int offset = offset(index);
+        chunk.put(offset + STATE_BYTE, (byte) FREE_BIT);
+        chunk.putInt(offset, freeHead);
+        freeHead = index;
+        live--;
+    }
+
+    /**
+     * Cria um {@link SudokuBoard} com o registro, sem histórico de desfazer.
+     */
+    public SudokuBoard toBoard(int index) {
+        checkLive(index);
+        ArenaBoardView view = view(index);
+        int[] packed = new int[CELLS];
+        for (int cell = 0; cell < CELLS; cell++) {
+            int row = cell / 9;
+            int col = cell % 9;
+            packed[cell] = view.getNumber(row, col)
+                    | (view.isPositionFixed(row, col) ? BoardSnapshot.FIXED_BIT : 0)
+                    | view.getDraftMask(row, col) << BoardSnapshot.DRAFT_SHIFT;
+        }
+        return SudokuBoard.restore(BoardGeometry.STANDARD, packed, view.getStatus(), view.isAutoCandidates());
+    }
+
+    /**
+     * Nova visão posicionada no registro; para percorrer muitos registros, reposicione a mesma
+     * visão com {@link ArenaBoardView#moveTo(int)}.
+     */
+    public ArenaBoardView view(int index) {
+        ArenaBoardView view = new ArenaBoardView(this);
+        view.moveTo(index);
+        return view;
+    }
+
+    /** Tabuleiros guardados (sem os registros removidos). */
+    public int size() {
+        return live;
+    }
+
+    /** Memória fora do heap reservada pelos blocos. */
+    public long getOffHeapBytes() {
+        return (long) chunkCount * RECORDS_PER_CHUNK * RECORD_SIZE;
+    }
+
+    ByteBuffer chunk(int index) {
+        return chunks[index >>> CHUNK_BITS];
+    }
+
+    static int offset(int index) {
+        return (index & (RECORDS_PER_CHUNK - 1)) * RECORD_SIZE;
+    }
+
+    void checkLive(int index) {
+        if (index < 0 || index >= highWater) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora da arena (" + highWater + " registros)");
+        }
+        if ((chunk(index).get(offset(index) + STATE_BYTE) & FREE_BIT) != 0) {
+            throw new IllegalArgumentException("Registro " + index + " foi removido");
+        }
+    }
+
+    static GameStatus status(int state) {
+        return STATUSES[(state >>> STATUS_SHIFT) & 0x3];
+    }
+
+    private int allocate() {
+        int index;
+        if (freeHead >= 0) {
+            index = freeHead;
+            freeHead = chunk(index).getInt(offset(index));
+        } else {
+            if (highWater == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Arena cheia");
+            }
+            if (highWater == (long) chunkCount * RECORDS_PER_CHUNK) {
+                addChunk();
+            }
+            index = highWater++;
+        }
+        chunk(index).put(offset(index) + STATE_BYTE, (byte) 0); // Marca como ocupado antes de gravar
+        live++;
+        return index;
+    }
+
+    private void addChunk() {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        chunks[chunkCount++] = ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Grava células no formato de BoardSnapshot (número, bit de fixo e rascunhos)
+    private void write(int index, int[] packed, GameStatus status, boolean hasErrors, boolean autoCandidates) {
+        ByteBuffer chunk = chunk(index);
+        int offset = offset(index);
+        for (int i = 0; i < STATE_BYTE; i++) {
+            chunk.put(offset + i, (byte) ((packed[2 * i] & 0xF) | (packed[2 * i + 1] & 0xF) << 4));
+        }
+        int state = status.ordinal() << STATUS_SHIFT | (hasErrors ? ERRORS_BIT : 0);
+        chunk.put(offset + STATE_BYTE, (byte) ((packed[CELLS - 1] & 0xF) | state));
+
+        for (int i = 0; i < FIXED_BYTES; i++) {
+            int bits = 0;
+            for (int b = 0; b < 8 && i * 8 + b < CELLS; b++) {
+                if ((packed[i * 8 + b] & BoardSnapshot.FIXED_BIT) != 0) {
+                    bits |= 1 << b;
+                }
+            }
+            chunk.put(offset + FIXED_OFFSET + i, (byte) bits);
+        }
+        if (autoCandidates) {
+            chunk.put(offset + AUTO_BYTE, (byte) (chunk.get(offset + AUTO_BYTE) | AUTO_BIT));
+        }
+
+        // Rascunhos em sequência de 9 bits, montados num long e gravados byte a byte
+        long pending = 0;
+        int pendingBits = 0;
+        int position = offset + DRAFT_OFFSET;
+        for (int cell = 0; cell < CELLS; cell++) {
+            pending |= (long) (packed[cell] >>> BoardSnapshot.DRAFT_SHIFT & 0x1FF) << pendingBits;
+            pendingBits += 9;
+            while (pendingBits >= 8) {
+                chunk.put(position++, (byte) pending);
+                pending >>>= 8;
+                pendingBits -= 8;
+            }
+        }
+        chunk.put(position++, (byte) pending);
+        while (position < offset + DRAFT_OFFSET + DRAFT_BYTES) {
+            chunk.put(position++, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.david.sudoku.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dimensões e tabelas de índices de um tabuleiro com blocos de {@code boxSize x boxSize}
+ * (9x9, 16x16 ou 25x25). As células são numeradas em ordem de linha ({@code linha * size + coluna})
+ * e as unidades em linhas (0 a size-1), colunas (size a 2*size-1) e blocos (2*size a 3*size-1).
+ * As tabelas são calculadas uma única vez por tamanho, no primeiro uso, e compartilhadas por todos os
+ * tabuleiros.
+ * <p>
+ * As variantes ({@link Constraint}) entram em {@link #withConstraints(Constraint...)}: suas unidades
+ * são numeradas depois das clássicas (podem ter menos células e uma soma exigida) e as células podem
+ * ter números proibidos. Tudo vira as mesmas tabelas de unidades por célula, vizinhos e números
+ * permitidos, então quem as percorre trata qualquer combinação de regras com o mesmo laço.
+ */
+public final class BoardGeometry {
+    public static final int MIN_BOX_SIZE = 2;
+    public static final int MAX_BOX_SIZE = 5; // 25 números ainda cabem numa máscara int
+
+    // Os tamanhos maiores são montados no primeiro uso: a tabela de vizinhos do 25x25 sozinha custa
+    // cerca de 10 ms na partida da JVM, pagos por todo modo em lote mesmo só com tabuleiros 9x9
+    private static final BoardGeometry[] CACHE = new BoardGeometry[MAX_BOX_SIZE + 1];
+
+    public static final BoardGeometry STANDARD = cached(3);
+
+    private final int boxSize;
+    private final int size;
+    private final int cellCount;
+    private final int allNumbers;
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+    private final Constraint[] constraints;
+
+    // Tabelas compactas (CSR): os itens de i ficam em tabela[start[i]] até tabela[start[i + 1] - 1]
+    private final int unitCount;
+    private final int[] unitStart;
+    private final int[] unitCells;
+    private final int[] unitSums; // Soma exigida da unidade, 0 = sem soma
+    private final int[] cellUnitStart;
+    private final int[] cellUnits; // Unidades de cada célula
+    private final int[] peerStart;
+    private final int[] peers; // Células distintas que compartilham alguma unidade, em ordem crescente
+    private final int[] allowed; // Números permitidos em cada célula
+
+    private BoardGeometry(int boxSize, Constraint[] constraints) {
+        this.boxSize = boxSize;
+        this.size = boxSize * boxSize;
+        this.cellCount = size * size;
+        this.allNumbers = (int) ((1L << size) - 1);
+        this.rowOf = new int[cellCount];
+        this.colOf = new int[cellCount];
+        this.boxOf = new int[cellCount];
+        this.constraints = constraints;
+
+        Rules rules = new Rules(boxSize);
+        int[] classic = new int[3 * size * size];
+        int[] filled = new int[3 * size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int r = cell / size;
+            int c = cell % size;
+            int b = (r / boxSize) * boxSize + c / boxSize;
+            rowOf[cell] = r;
+            colOf[cell] = c;
+            boxOf[cell] = b;
+            int[] units = {r, size + c, 2 * size + b};
+            for (int unit : units) {
+                classic[unit * size + filled[unit]++] = cell;
+            }
+        }
+        for (int unit = 0; unit < 3 * size; unit++) {
+            rules.add(0, classic, unit * size, size);
+        }
+        for (Constraint constraint : constraints) {
+            constraint.apply(rules);
+        }
+
+        this.unitCount = rules.unitCount;
+        this.unitStart = Arrays.copyOf(rules.unitStart, unitCount + 1);
+        this.unitCells = Arrays.copyOf(rules.unitCells, unitStart[unitCount]);
+        this.unitSums = Arrays.copyOf(rules.unitSums, unitCount);
+        this.allowed = rules.allowed;
+
+        // Unidades de cada célula, na ordem das unidades (linha, coluna e bloco primeiro)
+        this.cellUnitStart = new int[cellCount + 1];
+        for (int i = 0; i < unitCells.length; i++) {
+            cellUnitStart[unitCells[i] + 1]++;
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            cellUnitStart[cell + 1] += cellUnitStart[cell];
+        }
+        this.cellUnits = new int[unitCells.length];
+        int[] next = Arrays.copyOf(cellUnitStart, cellCount);
+        for (int unit = 0; unit < unitCount; unit++) {
+            for (int i = unitStart[unit]; i < unitStart[unit + 1]; i++) {
+                cellUnits[next[unitCells[i]]++] = unit;
+            }
+        }
+
+        // Vizinhos: marca as células das unidades da célula e as recolhe em ordem crescente
+        this.peerStart = new int[cellCount + 1];
+        int[] marks = new int[cellCount];
+        int[] collected = new int[cellCount * (2 * (size - 1) + (boxSize - 1) * (boxSize - 1))];
+        int count = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int start = count;
+            marks[cell] = cell + 1;
+            for (int k = cellUnitStart[cell]; k < cellUnitStart[cell + 1]; k++) {
+                int unit = cellUnits[k];
+                for (int i = unitStart[unit]; i < unitStart[unit + 1]; i++) {
+                    int other = unitCells[i];
+                    if (marks[other] != cell + 1) {
+                        marks[other] = cell + 1;
+                        if (count == collected.length) {
+                            collected = Arrays.copyOf(collected, collected.length * 2);
+                        }
+                        collected[count++] = other;
+                    }
+                }
+            }
+            Arrays.sort(collected, start, count);
+            peerStart[cell + 1] = count;
+        }
+        this.peers = Arrays.copyOf(collected, count);
+    }
+
+    /**
+     * Geometria para blocos de {@code boxSize x boxSize} ({@value #MIN_BOX_SIZE} a {@value #MAX_BOX_SIZE}).
+     */
+    public static BoardGeometry forBoxSize(int boxSize) {
+        if (boxSize < MIN_BOX_SIZE || boxSize > MAX_BOX_SIZE) {
+            throw new IllegalArgumentException("Tamanho de bloco não suportado: " + boxSize);
+        }
+        return cached(boxSize);
+    }
+
+    /**
+     * Geometria de um tabuleiro com {@code size} linhas (4, 9, 16 ou 25).
+     */
+    public static BoardGeometry forSize(int size) {
+        for (int box = MIN_BOX_SIZE; box <= MAX_BOX_SIZE; box++) {
+            if (box * box == size) {
+                return cached(box);
+            }
+        }
+        throw new IllegalArgumentException("Tamanho de tabuleiro não suportado: " + size);
+    }
+
+    private static synchronized BoardGeometry cached(int boxSize) {
+        BoardGeometry geometry = CACHE[boxSize];
+        if (geometry == null) {
+            geometry = CACHE[boxSize] = new BoardGeometry(boxSize, new Constraint[0]);
+        }
+        return geometry;
+    }
+
+    /**
+     * Nova geometria com as regras desta e as indicadas, compiladas nas tabelas de unidades, vizinhos
+     * e números permitidos. Geometrias com variantes não ficam no cache: tabuleiros e resolvedores
+     * que devam trabalhar juntos precisam receber a mesma instância.
+     *
+     * @throws IllegalArgumentException se alguma regra descrever células ou somas inválidas
+     */
+    public BoardGeometry withConstraints(Constraint... added) {
+        if (added.length == 0) {
+            return this;
+        }
+        Constraint[] all = Arrays.copyOf(constraints, constraints.length + added.length);
+        System.arraycopy(added, 0, all, constraints.length, added.length);
+        return new BoardGeometry(boxSize, all);
+    }
+
+    /** Indica se há regras além das linhas, colunas e blocos. */
+    public boolean hasConstraints() {
+        return constraints.length > 0;
+    }
+
+    public List<Constraint> getConstraints() {
+        return List.of(constraints);
+    }
+
+    public int getBoxSize() {
+        return boxSize;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /** Unidades com todas as regras: linhas, colunas, blocos e as unidades das variantes. */
+    public int getUnitCount() {
+        return unitCount;
+    }
+
+    /** Linhas, colunas e blocos, que são sempre as unidades 0 a {@code 3 * size - 1}. */
+    public int getClassicUnitCount() {
+        return 3 * size;
+    }
+
+    /** Máscara com um bit para cada número (bit n - 1 = número n). */
+    public int getAllNumbers() {
+        return allNumbers;
+    }
+
+    /** Números permitidos na célula (todos, a menos que uma regra restrinja a célula). */
+    public int getAllowedNumbers(int cell) {
+        return allowed[cell];
+    }
+
+    public int rowOf(int cell) {
+        return rowOf[cell];
+    }
+
+    public int colOf(int cell) {
+        return colOf[cell];
+    }
+
+    public int boxOf(int cell) {
+        return boxOf[cell];
+    }
+
+    /** Índice da unidade de coluna da célula. */
+    public int colUnitOf(int cell) {
+        return size + colOf[cell];
+    }
+
+    /** Índice da unidade de bloco da célula. */
+    public int boxUnitOf(int cell) {
+        return 2 * size + boxOf[cell];
+    }
+
+    /** Células da unidade: {@code size} nas unidades clássicas, até {@code size} nas demais. */
+    public int getUnitSize(int unit) {
+        return unitStart[unit + 1] - unitStart[unit];
+    }
+
+    /** i-ésima célula ({@code 0 <= i < getUnitSize(unit)}) da unidade. */
+    public int unitCell(int unit, int i) {
+        return unitCells[unitStart[unit] + i];
+    }
+
+    /** Soma exigida dos números da unidade, ou 0 se a unidade não tem soma. */
+    public int getUnitSum(int unit) {
+        return unitSums[unit];
+    }
+
+    /**
+     * Números que, colocados numa célula vazia de uma unidade com soma, ainda deixam a soma exigida ao
+     * alcance das demais células vazias com números distintos ainda livres. Com uma só célula restante
+     * a conta é exata; com mais, compara o resto com as menores e maiores somas possíveis.
+     *
+     * @param used  números já presentes na unidade
+     * @param total soma dos números presentes
+     * @param empty células vazias da unidade
+     */
+    public int sumCandidates(int unit, int used, int total, int empty) {
+        int remaining = unitSums[unit] - total;
+        int others = empty - 1;
+        int free = allNumbers & ~used;
+        int result = 0;
+        for (int m = free; m != 0; m &= m - 1) {
+            int bit = m & -m;
+            int rest = remaining - (Integer.numberOfTrailingZeros(bit) + 1);
+            if (rest < 0) {
+                break; // Os números seguintes são maiores
+            }
+            int pool = free ^ bit;
+            boolean fits = others == 1
+                    ? rest >= 1 && rest <= size && (pool & 1 << (rest - 1)) != 0
+                    : rest >= smallestSum(pool, others) && rest <= largestSum(pool, others);
+            if (fits) {
+                result |= bit;
+            }
+        }
+        return result;
+    }
+
+    private static int smallestSum(int pool, int count) {
+        int sum = 0;
+        for (int k = 0; k < count; k++) {
+            if (pool == 0) {
+                return Integer.MAX_VALUE;
+            }
+            sum += Integer.numberOfTrailingZeros(pool) + 1;
+            pool &= pool - 1;
+        }
+        return sum;
+    }
+
+    private static int largestSum(int pool, int count) {
+        int sum = 0;
+        for (int k = 0; k < count; k++) {
+            if (pool == 0) {
+                return -1;
+            }
+            int high = 31 - Integer.numberOfLeadingZeros(pool);
+            sum += high + 1;
+            pool ^= 1 << high;
+        }
+        return sum;
+    }
+
+    /** Unidades que contêm a célula: 3 sem variantes. */
+    public int getCellUnitCount(int cell) {
+        return cellUnitStart[cell + 1] - cellUnitStart[cell];
+    }
+
+    /** i-ésima unidade ({@code 0 <= i < getCellUnitCount(cell)}) da célula; as três primeiras são linha, coluna e bloco. */
+    public int cellUnit(int cell, int i) {
+        return cellUnits[cellUnitStart[cell] + i];
+    }
+
+    public int getPeerCount(int cell) {
+        return peerStart[cell + 1] - peerStart[cell];
+    }
+
+    /** i-ésimo vizinho ({@code 0 <= i < getPeerCount(cell)}) da célula. */
+    public int peer(int cell, int i) {
+        return peers[peerStart[cell] + i];
+    }
+
+    /**
+     * Recebe as unidades e restrições das regras durante a construção da geometria. As células são
+     * numeradas em ordem de linha, como na geometria.
+     */
+    public static final class Rules {
+        private final int boxSize;
+        private final int size;
+        private final int cellCount;
+        private final int[] allowed;
+        private int unitCount;
+        private int[] unitStart = new int[64];
+        private int[] unitCells = new int[256];
+        private int[] unitSums = new int[64];
+
+        Rules(int boxSize) {
+            this.boxSize = boxSize;
+            this.size = boxSize * boxSize;
+            this.cellCount = size * size;
+            this.allowed = new int[cellCount];
+            Arrays.fill(allowed, (int) ((1L << size) - 1));
+        }
+
+        public int getBoxSize() {
+            return boxSize;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /** Índice da célula na linha e coluna. */
+        public int cell(int row, int col) {
+            if (row < 0 || row >= size || col < 0 || col >= size) {
+                throw new IllegalArgumentException("Célula fora do tabuleiro: " + row + "," + col);
+            }
+            return row * size + col;
+        }
+
+        /**
+         * Unidade em que os números não se repetem (como uma linha), com 2 a {@code size} células.
+         */
+        public void addUnit(int... cells) {
+            check(cells, 2);
+            add(0, cells, 0, cells.length);
+        }
+
+        /**
+         * Gaiola: números distintos cuja soma deve ser {@code sum}, com 1 a {@code size} células.
+         */
+        public void addCage(int sum, int... cells) {
+            check(cells, 1);
+            int n = cells.length;
+            int min = n * (n + 1) / 2;
+            int max = n * (2 * size - n + 1) / 2;
+            if (sum < min || sum > max) {
+                throw new IllegalArgumentException("Soma " + sum + " impossível numa gaiola de " + n
+                        + " células (de " + min + " a " + max + ")");
+            }
+            add(sum, cells, 0, n);
+        }
+
+        /**
+         * Restringe a célula aos números da máscara (bit n - 1 = número n).
+         */
+        public void restrictNumbers(int cell, int mask) {
+            if (cell < 0 || cell >= cellCount) {
+                throw new IllegalArgumentException("Célula fora do tabuleiro: " + cell);
+            }
+            allowed[cell] &= mask;
+            if (allowed[cell] == 0) {
+                throw new IllegalArgumentException("Nenhum número permitido na célula " + cell / size + "," + cell % size);
+            }
+        }
+
+        private void check(int[] cells, int minCells) {
+            if (cells.length < minCells || cells.length > size) {
+                throw new IllegalArgumentException("Uma unidade deve ter de " + minCells + " a " + size + " células");
+            }
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i] < 0 || cells[i] >= cellCount) {
+                    throw new IllegalArgumentException("Célula fora do tabuleiro: " + cells[i]);
+                }
+                for (int j = 0; j < i; j++) {
+                    if (cells[j] == cells[i]) {
+                        throw new IllegalArgumentException("Célula repetida na unidade: " + cells[i]);
+                    }
+                }
+            }
+        }
+
+        void add(int sum, int[] cells, int from, int length) {
+            if (unitCount + 1 == unitStart.length) {
+                unitStart = Arrays.copyOf(unitStart, unitStart.length * 2);
+                unitSums = Arrays.copyOf(unitSums, unitSums.length * 2);
+            }
+            int start = unitStart[unitCount];
+            if (start + length > unitCells.length) {
+                unitCells = Arrays.copyOf(unitCells, Math.max(unitCells.length * 2, start + length));
+            }
+            System.arraycopy(cells, from, unitCells, start, length);
+            unitSums[unitCount] = sum;
+            unitStart[++unitCount] = start + length;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.david.sudoku.model;
+
+/**
+ * Recebe as alterações de um {@link SudokuBoard}. As notificações são enviadas na thread que
+ * alterou o tabuleiro, ao final de cada operação, com uma única chamada por célula alterada.
+ */
+public interface BoardListener {
+    int VALUE = 1;     // O número da célula mudou
+    int DRAFTS = 1 << 1; // A máscara de rascunhos da célula mudou
+    int CONFLICT = 1 << 2; // O conflito da célula (número repetido na linha, coluna ou bloco) pode ter mudado
+
+    /**
+     * @param changes combinação de {@link #VALUE}, {@link #DRAFTS} e {@link #CONFLICT}
+     */
+    void cellChanged(int row, int col, int changes);
+
+    default void statusChanged(GameStatus status, boolean hasErrors) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.david.sudoku.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado imutável de um {@link SudokuBoard} ao final de uma operação: números, células fixas,
+ * rascunhos, status e erros, sempre consistentes entre si. Pode ser lido de qualquer thread sem
+ * sincronização enquanto o tabuleiro continua sendo alterado na thread dona (por exemplo, a EDT).
+ * <p>
+ * Cada célula ocupa um int: número nos bits 0-4, fixo no bit 5 e rascunhos a partir do bit 6
+ * (bit 6 + n - 1 = número n), o mesmo formato dos pontos de controle de {@link SessionLog}.
+ */
+public final class BoardSnapshot {
+    static final int NUMBER_MASK = 0x1F;
+    static final int FIXED_BIT = 0x20;
+    static final int DRAFT_SHIFT = 6;
+
+    private final BoardGeometry geometry;
+    private final int[] cells;
+    private final GameStatus status;
+    private final boolean hasErrors;
+    private final boolean autoCandidates;
+    private final long version;
+
+    BoardSnapshot(BoardGeometry geometry, int[] cells, GameStatus status, boolean hasErrors,
+                  boolean autoCandidates, long version) {
+        this.geometry = geometry;
+        this.cells = cells;
+        this.status = status;
+        this.hasErrors = hasErrors;
+        this.autoCandidates = autoCandidates;
+        this.version = version;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int getSize() {
+        return geometry.getSize();
+    }
+
+    /**
+     * Cresce a cada estado publicado pelo tabuleiro; dois snapshots com a mesma versão são iguais.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getNumber(int row, int col) {
+        return isValidCoordinate(row, col) ? cells[row * geometry.getSize() + col] & NUMBER_MASK : 0;
+    }
+
+    public boolean isPositionFixed(int row, int col) {
+        return isValidCoordinate(row, col) && (cells[row * geometry.getSize() + col] & FIXED_BIT) != 0;
+    }
+
+    /**
+     * Rascunhos da célula como máscara de bits (bit n - 1 = número n).
+     */
+    public int getDraftMask(int row, int col) {
+        return isValidCoordinate(row, col) ? cells[row * geometry.getSize() + col] >>> DRAFT_SHIFT : 0;
+    }
+
+    public List<Integer> getDraftNumbers(int row, int col) {
+        List<Integer> drafts = new ArrayList<>();
+        int mask = getDraftMask(row, col);
+        while (mask != 0) {
+            drafts.add(Integer.numberOfTrailingZeros(mask) + 1);
+            mask &= mask - 1;
+        }
+        return drafts;
+    }
+
+    /**
+     * Copia os números para {@code out} em ordem de linha (0 = vazio), sem alocação.
+     */
+    public void copyCells(int[] out) {
+        for (int cell = 0; cell < cells.length; cell++) {
+            out[cell] = cells[cell] & NUMBER_MASK;
+        }
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public boolean hasErrors() {
+        return hasErrors;
+    }
+
+    public boolean isAutoCandidates() {
+        return autoCandidates;
+    }
+
+    public String getStatusMessage() {
+        return SudokuBoard.statusMessage(status, hasErrors);
+    }
+
+    public boolean gameIsCompleteAndValid() {
+        return status == GameStatus.COMPLETE && !hasErrors;
+    }
+
+    private boolean isValidCoordinate(int row, int col) {
+        int size = geometry.getSize();
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+}
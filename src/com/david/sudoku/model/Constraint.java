@@ -0,0 +1,18 @@
+package com.david.sudoku.model;
+
+/**
+ * Regra de uma variante do Sudoku (diagonais, janelas, gaiolas com soma, células pares/ímpares),
+ * somada às linhas, colunas e blocos. A regra não é consultada durante o jogo nem na busca: ela só
+ * descreve, uma única vez em {@link BoardGeometry#withConstraints(Constraint...)}, as unidades e
+ * restrições por célula que passam a fazer parte das tabelas da geometria. A partir daí tabuleiro,
+ * resolvedor e validação percorrem as mesmas tabelas planas, sem código por variante.
+ */
+public interface Constraint {
+    /**
+     * Acrescenta as unidades e restrições da regra.
+     */
+    void apply(BoardGeometry.Rules rules);
+
+    /** Nome curto da regra, usado nas mensagens. */
+    String getName();
+}
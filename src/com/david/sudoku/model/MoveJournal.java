@@ -0,0 +1,172 @@
+package com.david.sudoku.model;
+
+/**
+ * Diário de alterações de um {@link SudokuBoard}, usado para desfazer e refazer jogadas.
+ * <p>
+ * Cada alteração de célula é um único int: operação (bits 0-1), célula (bits 2-11), número
+ * (bits 12-16) e número anterior (bits 17-21), o que cobre tabuleiros de até 25x25. Rascunhos são
+ * registrados um número por entrada ({@link #OP_DRAFT_ADD} ou {@link #OP_DRAFT_REMOVE}). Uma jogada
+ * pode gerar várias entradas (por exemplo, a poda automática de rascunhos), e a última entrada de
+ * cada jogada recebe o bit {@link #MOVE_END}.
+ * As entradas ficam num vetor de int que cresce sob demanda.
+ */
+public class MoveJournal {
+    public static final int OP_PLACE = 0;
+    public static final int OP_REMOVE = 1;
+    public static final int OP_DRAFT_ADD = 2;
+    public static final int OP_DRAFT_REMOVE = 3;
+    public static final int MOVE_END = 1 << 27;
+
+    /**
+     * Recebe as entradas efetivamente aplicadas ao tabuleiro, inclusive as geradas por desfazer/refazer.
+     */
+    public interface Sink {
+        void applied(int entry);
+
+        void moveEnded();
+
+        /**
+         * O histórico foi descartado ({@link #clear()}): o tabuleiro mudou de status ou de modo de
+         * rascunhos, que as entradas não registram.
+         */
+        default void historyCleared() {
+        }
+    }
+
+    private int[] entries = new int[256];
+    private int size; // Entradas registradas (as posteriores ao cursor podem ser refeitas)
+    private int cursor; // Próxima posição; entradas antes dele estão aplicadas
+    private int moveStart; // Início da jogada em andamento
+    private Sink[] sinks = new Sink[0]; // Poucos e raramente alterados: cópia a cada inclusão
+
+    public static int encode(int op, int cell, int number, int previous) {
+        return op | cell << 2 | number << 12 | previous << 17;
+    }
+
+    public static int op(int entry) {
+        return entry & 0x3;
+    }
+
+    public static int cell(int entry) {
+        return (entry >>> 2) & 0x3FF;
+    }
+
+    public static int number(int entry) {
+        return (entry >>> 12) & 0x1F;
+    }
+
+    public static int previous(int entry) {
+        return (entry >>> 17) & 0x1F;
+    }
+
+    /**
+     * Entrada que desfaz {@code entry} (sem o bit {@link #MOVE_END}).
+     */
+    public static int inverse(int entry) {
+        int cell = cell(entry);
+        int number = number(entry);
+        switch (op(entry)) {
+            case OP_DRAFT_ADD:
+                return encode(OP_DRAFT_REMOVE, cell, number, 0);
+            case OP_DRAFT_REMOVE:
+                return encode(OP_DRAFT_ADD, cell, number, 0);
+            default:
+                int previous = previous(entry);
+                return encode(previous == 0 ? OP_REMOVE : OP_PLACE, cell, previous, number);
+        }
+    }
+
+    public void addSink(Sink sink) {
+        Sink[] grown = new Sink[sinks.length + 1];
+        System.arraycopy(sinks, 0, grown, 0, sinks.length);
+        grown[sinks.length] = sink;
+        sinks = grown;
+    }
+
+    public void removeSink(Sink sink) {
+        for (int i = 0; i < sinks.length; i++) {
+            if (sinks[i] == sink) {
+                Sink[] shrunk = new Sink[sinks.length - 1];
+                System.arraycopy(sinks, 0, shrunk, 0, i);
+                System.arraycopy(sinks, i + 1, shrunk, i, sinks.length - i - 1);
+                sinks = shrunk;
+                return;
+            }
+        }
+    }
+
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Descarta todo o histórico (as entradas já aplicadas continuam valendo no tabuleiro) e avisa
+     * os ouvintes.
+     */
+    public void clear() {
+        size = 0;
+        cursor = 0;
+        moveStart = 0;
+        for (Sink sink : sinks) {
+            sink.historyCleared();
+        }
+    }
+
+    void record(int entry) {
+        if (cursor == entries.length) {
+            int[] grown = new int[entries.length * 2];
+            System.arraycopy(entries, 0, grown, 0, cursor);
+            entries = grown;
+        }
+        entries[cursor++] = entry;
+        size = cursor; // Uma nova jogada descarta o que poderia ser refeito
+        for (Sink sink : sinks) {
+            sink.applied(entry);
+        }
+    }
+
+    void endMove() {
+        if (cursor > moveStart) {
+            entries[cursor - 1] |= MOVE_END;
+            moveStart = cursor;
+            for (Sink sink : sinks) {
+                sink.moveEnded();
+            }
+        }
+    }
+
+    // Desfazer: o tabuleiro consome entradas para trás até o fim da jogada anterior
+    int undoNext() {
+        return entries[--cursor];
+    }
+
+    boolean atUndoBoundary() {
+        return cursor == 0 || (entries[cursor - 1] & MOVE_END) != 0;
+    }
+
+    // Refazer: o tabuleiro consome entradas para frente até uma com MOVE_END
+    int redoNext() {
+        return entries[cursor++];
+    }
+
+    void applied(int entry) {
+        for (Sink sink : sinks) {
+            sink.applied(entry & ~MOVE_END);
+        }
+    }
+
+    void finishUndoRedo() {
+        moveStart = cursor;
+        for (Sink sink : sinks) {
+            sink.moveEnded();
+        }
+    }
+}
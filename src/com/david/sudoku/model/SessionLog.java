@@ -0,0 +1,214 @@
+package com.david.sudoku.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grava as alterações de um tabuleiro num arquivo de sessão só de acréscimo, para recuperar a
+ * partida após uma falha.
+ * <p>
+ * Formato: cabeçalho (assinatura "SDKS", versão e a posição do último ponto de controle),
+ * seguido de entradas do {@link MoveJournal} (um int cada, gravadas ao fim de cada jogada) e de
+ * pontos de controle com o estado completo do tabuleiro, periódicos e a cada descarte do histórico
+ * (limpeza ou preenchimento automático), que muda status e modo de rascunhos sem gerar entradas. A
+ * recuperação parte do último ponto de controle e reaplica somente as entradas posteriores a ele.
+ */
+public class SessionLog implements MoveJournal.Sink, AutoCloseable {
+    private static final int MAGIC = 0x53444B53; // "SDKS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int CHECKPOINT_TAG = 0x80000001; // Entradas do diário nunca são negativas
+
+    private final FileChannel channel;
+    private final SudokuBoard board;
+    private final int checkpointInterval;
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    private long position;
+    private int movesSinceCheckpoint;
+    private IOException error; // Primeira falha de escrita; a gravação é interrompida a partir dela
+
+    private SessionLog(FileChannel channel, SudokuBoard board, int checkpointInterval) {
+        this.channel = channel;
+        this.board = board;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Cria (ou substitui) o arquivo de sessão com um ponto de controle do estado atual e passa a
+     * gravar cada jogada do tabuleiro.
+     *
+     * @param checkpointInterval jogadas entre dois pontos de controle
+     * @throws IllegalArgumentException se o tabuleiro tiver regras de variantes, que o ponto de
+     *                                  controle (só o tamanho do bloco) não guarda
+     */
+    public static SessionLog create(Path file, SudokuBoard board, int checkpointInterval) throws IOException {
+        if (board.getGeometry().hasConstraints()) {
+            throw new IllegalArgumentException("A sessão só grava tabuleiros com as regras clássicas");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        SessionLog log = new SessionLog(channel, board, checkpointInterval);
+        try {
+            log.position = HEADER_SIZE;
+            log.writeCheckpoint();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        board.getJournal().addSink(log);
+        return log;
+    }
+
+    /**
+     * Reconstrói o tabuleiro gravado: carrega o último ponto de controle e reaplica as jogadas
+     * completas posteriores a ele. O histórico de desfazer não é recuperado.
+     */
+    public static SudokuBoard recover(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Arquivo de sessão inválido: " + file);
+            }
+            long checkpoint = header.getLong();
+
+            ByteBuffer tail = ByteBuffer.allocate((int) (channel.size() - checkpoint));
+            readFully(channel, tail, checkpoint);
+
+            SudokuBoard board = null;
+            int[] pending = new int[256];
+            int pendingCount = 0;
+            while (tail.remaining() >= Integer.BYTES) {
+                int value = tail.getInt();
+                if (value == CHECKPOINT_TAG) {
+                    if (!tail.hasRemaining()) break;
+                    // O primeiro byte do estado é o tamanho do bloco, que define o tamanho do resto
+                    int boxSize = tail.get(tail.position());
+                    if (boxSize < BoardGeometry.MIN_BOX_SIZE || boxSize > BoardGeometry.MAX_BOX_SIZE) {
+                        throw new IOException("Ponto de controle inválido na sessão: " + file);
+                    }
+                    if (tail.remaining() < SudokuBoard.stateBytes(BoardGeometry.forBoxSize(boxSize))) {
+                        break; // Ponto de controle incompleto
+                    }
+                    board = SudokuBoard.readState(tail);
+                    pendingCount = 0;
+                    continue;
+                }
+                if (board == null) break;
+                if (pendingCount == pending.length) {
+                    int[] grown = new int[pending.length * 2];
+                    System.arraycopy(pending, 0, grown, 0, pendingCount);
+                    pending = grown;
+                }
+                pending[pendingCount++] = value;
+                if ((value & MoveJournal.MOVE_END) != 0) {
+                    // Jogada completa: aplica; entradas sem o fim da jogada são descartadas
+                    for (int i = 0; i < pendingCount; i++) {
+                        board.applyEntry(pending[i]);
+                    }
+                    pendingCount = 0;
+                }
+            }
+            if (board == null) {
+                throw new IOException("Sessão sem ponto de controle legível: " + file);
+            }
+            board.checkGameStatus();
+            return board;
+        }
+    }
+
+    @Override
+    public void applied(int entry) {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush();
+        }
+        buffer.putInt(entry);
+    }
+
+    @Override
+    public void moveEnded() {
+        if (buffer.position() >= Integer.BYTES) {
+            int last = buffer.position() - Integer.BYTES;
+            buffer.putInt(last, buffer.getInt(last) | MoveJournal.MOVE_END);
+        }
+        flush();
+        if (++movesSinceCheckpoint >= checkpointInterval) {
+            checkpoint();
+        }
+    }
+
+    @Override
+    public void historyCleared() {
+        flush();
+        checkpoint();
+    }
+
+    /**
+     * Falha de escrita que interrompeu a gravação, ou {@code null}.
+     */
+    public IOException getError() {
+        return error;
+    }
+
+    @Override
+    public void close() throws IOException {
+        board.getJournal().removeSink(this);
+        flush();
+        channel.close();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void flush() {
+        buffer.flip();
+        try {
+            while (error == null && buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            error = e;
+        }
+        buffer.clear();
+    }
+
+    private void checkpoint() {
+        if (error != null) return;
+        try {
+            writeCheckpoint();
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        long checkpoint = position;
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + board.stateBytes());
+        frame.putInt(CHECKPOINT_TAG);
+        board.writeState(frame);
+        frame.flip();
+        while (frame.hasRemaining()) {
+            position += channel.write(frame, position);
+        }
+        channel.force(false);
+
+        // Só depois de gravado o ponto de controle o cabeçalho passa a apontar para ele
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(checkpoint).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        movesSinceCheckpoint = 0;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) break;
+        }
+        buffer.flip();
+    }
+}
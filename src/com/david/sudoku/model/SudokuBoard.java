@@ -1,32 +1,117 @@
 package com.david.sudoku.model;
 
+import com.david.sudoku.metrics.BoardOperationEvent;
+import com.david.sudoku.metrics.SudokuMetrics;
+import com.david.sudoku.metrics.SudokuMetrics.Operation;
+
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.HashSet;
-import java.util.Set;
 
 public class SudokuBoard {
-    private int[][] board;
-    private boolean[][] fixedNumbers; // true se o número foi inicializado (fixo)
-    private List<Integer>[][] draftNumbers; // Lista de rascunhos para cada célula
+    private final BoardGeometry geometry;
+    private final int size; // Números por linha (9, 16 ou 25)
+    private final int[] board; // Números em ordem de linha (linha * size + coluna), 0 = vazio
+    private final boolean[] fixedNumbers; // true se o número foi inicializado (fixo)
+    private final int[] draftMasks; // Rascunhos de cada célula: bit (n - 1) indica o número n
+    private boolean autoCandidates; // Rascunhos automáticos, atualizados a cada número colocado ou apagado
     private GameStatus status;
     private boolean hasErrors;
 
-    private static final int BOARD_SIZE = 9;
+    // Restrições mantidas de forma incremental: bit (n - 1) indica que o número n está presente
+    // em cada unidade (linhas, colunas, blocos e as das variantes, na numeração de BoardGeometry)
+    private final int[] unitMasks;
+    // Ocorrências de cada número por unidade, indexadas por unidade * (size + 1) + número
+    private final byte[] unitCounts;
+    // Soma e células preenchidas das unidades com soma exigida (gaiolas)
+    private final int[] unitTotals;
+    private final int[] unitFilled;
+    private int duplicateCount; // Pares (unidade, número) com mais de uma ocorrência
+    private int ruleViolations; // Números proibidos na célula e gaiolas com soma impossível
+    private int filledCount; // Células preenchidas
+    private final int[] peerCandidates; // Candidatos das células relacionadas antes da última jogada
+
+    // Notificação de alterações: células alteradas na operação atual e o que mudou em cada uma
+    private final List<BoardListener> listeners = new ArrayList<>();
+    private final byte[] pendingChanges;
+    private final int[] dirtyCells;
+    private int dirtyCount;
+    private GameStatus notifiedStatus;
+    private boolean notifiedHasErrors;
+
+    // Histórico para desfazer/refazer; só registra alterações feitas pelas operações públicas
+    private final MoveJournal journal = new MoveJournal();
+    private boolean recording;
+
+    // Estado publicado para leitura em outras threads: cópia imutável feita ao final de cada operação
+    // que alterou algo, a partir de packedCells (formato de BoardSnapshot, mantido junto com as células)
+    private final int[] packedCells;
+    private boolean snapshotStale;
+    private volatile BoardSnapshot snapshot;
 
     public SudokuBoard(String[] initialNumbers) {
-        this.board = new int[BOARD_SIZE][BOARD_SIZE];
-        this.fixedNumbers = new boolean[BOARD_SIZE][BOARD_SIZE];
-        this.draftNumbers = new List[BOARD_SIZE][BOARD_SIZE];
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                this.draftNumbers[i][j] = new ArrayList<>();
+        this(BoardGeometry.STANDARD, initialNumbers);
+    }
+
+    /**
+     * Cria um tabuleiro do tamanho indicado com números iniciais no formato "numero:linha:coluna".
+     */
+    public SudokuBoard(BoardGeometry geometry, String[] initialNumbers) {
+        this(geometry);
+        initializeBoard(initialNumbers);
+        updateGameStatus(); // Atualiza o status inicial
+        this.recording = true;
+    }
+
+    /**
+     * Cria o tabuleiro a partir de uma grade quadrada (9x9, 16x16 ou 25x25) no formato de
+     * {@link #getBoard()}: toda célula diferente de 0 vira um número fixo.
+     */
+    public SudokuBoard(int[][] initialNumbers) {
+        this(BoardGeometry.forSize(initialNumbers.length));
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                int number = initialNumbers[r][c];
+                if (isValidNumber(number)) {
+                    setCell(number, r * size + c);
+                    setFixed(r * size + c, true);
+                }
             }
         }
+        updateGameStatus(); // Atualiza o status inicial
+        this.recording = true;
+    }
+
+    private SudokuBoard(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        int cells = geometry.getCellCount();
+        this.board = new int[cells];
+        this.fixedNumbers = new boolean[cells];
+        this.draftMasks = new int[cells];
+        this.unitMasks = new int[geometry.getUnitCount()];
+        this.unitCounts = new byte[geometry.getUnitCount() * (size + 1)];
+        this.unitTotals = new int[geometry.getUnitCount()];
+        this.unitFilled = new int[geometry.getUnitCount()];
+        int peers = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            peers = Math.max(peers, geometry.getPeerCount(cell));
+        }
+        this.peerCandidates = new int[peers];
+        this.pendingChanges = new byte[cells];
+        this.dirtyCells = new int[cells];
+        this.packedCells = new int[cells];
         this.status = GameStatus.NOT_STARTED;
         this.hasErrors = false;
-        initializeBoard(initialNumbers);
-        checkGameStatus(); // Atualiza o status inicial
+        this.notifiedStatus = status;
+    }
+
+    public void addBoardListener(BoardListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeBoardListener(BoardListener listener) {
+        listeners.remove(listener);
     }
 
     private void initializeBoard(String[] initialNumbers) {
@@ -40,8 +125,8 @@ public class SudokuBoard {
                         int col = Integer.parseInt(parts[2]);
 
                         if (isValidCoordinate(row, col) && isValidNumber(number)) {
-                            this.board[row][col] = number;
-                            this.fixedNumbers[row][col] = true;
+                            setCell(number, row * size + col);
+                            setFixed(row * size + col, true);
                         } else {
                             System.err.println("Aviso: Entrada inicial inválida - " + entry);
                         }
@@ -54,120 +139,375 @@ public class SudokuBoard {
     }
 
     public boolean placeNumber(int number, int row, int col) {
+        BoardOperationEvent event = SudokuMetrics.beginBoardOperation();
+        long start = SudokuMetrics.start();
+        boolean placed = tryPlaceNumber(number, row, col);
+        SudokuMetrics.boardOperation(Operation.PLACE_NUMBER, start, event, row, col, number, placed, status, hasErrors);
+        return placed;
+    }
+
+    private boolean tryPlaceNumber(int number, int row, int col) {
         if (!isValidCoordinate(row, col) || !isValidNumber(number)) {
             return false; // Coordenadas ou número inválidos
         }
-        if (fixedNumbers[row][col]) {
+        int cell = row * size + col;
+        if (fixedNumbers[cell]) {
             return false; // Não pode sobrescrever um número fixo
         }
-        if (board[row][col] != 0) {
+        if (board[cell] != 0) {
             return false; // Posição já preenchida
         }
 
-        board[row][col] = number;
-        checkGameStatus(); // Atualiza o status após a alteração
+        if (autoCandidates) {
+            savePeerCandidates(cell);
+        }
+        setCell(number, cell);
+        setDraftMask(cell, 0); // Rascunhos só fazem sentido em células vazias
+        if (autoCandidates) {
+            updatePeerCandidates(cell);
+        }
+        journal.endMove();
+        updateGameStatus(); // Atualiza o status após a alteração e notifica os ouvintes
         return true;
     }
 
     public boolean removeNumber(int row, int col) {
+        BoardOperationEvent event = SudokuMetrics.beginBoardOperation();
+        long start = SudokuMetrics.start();
+        boolean removed = tryRemoveNumber(row, col);
+        SudokuMetrics.boardOperation(Operation.REMOVE_NUMBER, start, event, row, col, -1, removed, status, hasErrors);
+        return removed;
+    }
+
+    private boolean tryRemoveNumber(int row, int col) {
         if (!isValidCoordinate(row, col)) {
             return false; // Coordenadas inválidas
         }
-        if (fixedNumbers[row][col]) {
+        int cell = row * size + col;
+        if (fixedNumbers[cell]) {
             return false; // Não pode remover um número fixo
         }
-        board[row][col] = 0; // 0 representa uma célula vazia
-        checkGameStatus(); // Atualiza o status após a alteração
+        boolean wasFilled = board[cell] != 0;
+        if (autoCandidates && wasFilled) {
+            savePeerCandidates(cell);
+        }
+        setCell(0, cell); // 0 representa uma célula vazia
+        if (autoCandidates) {
+            setDraftMask(cell, candidateMask(cell));
+            if (wasFilled) {
+                updatePeerCandidates(cell);
+            }
+        }
+        journal.endMove();
+        updateGameStatus(); // Atualiza o status após a alteração e notifica os ouvintes
         return true;
     }
 
     public void placeDraftNumber(int number, int row, int col) {
         if (isValidCoordinate(row, col) && isValidNumber(number)) {
-            if (!draftNumbers[row][col].contains(number)) {
-                draftNumbers[row][col].add(number);
-                draftNumbers[row][col].sort(null); // Mantém os rascunhos ordenados
-            }
+            int cell = row * size + col;
+            setDraftMask(cell, draftMasks[cell] | (1 << (number - 1)));
+            journal.endMove();
+            fireChanges();
         }
     }
 
     public void removeDraftNumber(int number, int row, int col) {
         if (isValidCoordinate(row, col) && isValidNumber(number)) {
-            draftNumbers[row][col].remove(Integer.valueOf(number)); // Remove o objeto Integer
+            int cell = row * size + col;
+            setDraftMask(cell, draftMasks[cell] & ~(1 << (number - 1)));
+            journal.endMove();
+            fireChanges();
+        }
+    }
+
+    /**
+     * Remove vários rascunhos numa única jogada (um só passo de desfazer), como nas eliminações de
+     * uma dica. As células seguem a ordem de {@link #copyCells(int[])} e as máscaras usam o bit n - 1
+     * para o número n.
+     */
+    public void removeDraftMasks(int[] cells, int[] masks) {
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            if (cell >= 0 && cell < board.length) {
+                setDraftMask(cell, draftMasks[cell] & ~masks[i]);
+            }
+        }
+        journal.endMove();
+        fireChanges();
+    }
+
+    /**
+     * Preenche os rascunhos de todas as células vazias com os números ainda possíveis segundo as
+     * unidades da célula (linha, coluna, bloco e as das variantes) e os números permitidos nela. A
+     * partir daí, cada número colocado é removido dos rascunhos das células relacionadas (e devolvido
+     * a eles quando o número é apagado), até que {@link #clearPlayerNumbers()} seja chamado. Como a
+     * limpeza, descarta o histórico de desfazer/refazer: o modo de rascunhos não está no diário, e
+     * desfazer o preenchimento deixaria o modo ligado com os rascunhos anteriores.
+     */
+    public void fillCandidates() {
+        for (int cell = 0; cell < board.length; cell++) {
+            setDraftMask(cell, board[cell] == 0 ? candidateMask(cell) : 0);
+        }
+        autoCandidates = true;
+        journal.endMove();
+        journal.clear();
+        fireChanges();
+    }
+
+    /**
+     * Desfaz a última jogada (número ou rascunho). A limpeza do tabuleiro e o preenchimento
+     * automático dos rascunhos não podem ser desfeitos: eles descartam o histórico.
+     *
+     * @return {@code false} se não houver jogada a desfazer
+     */
+    public boolean undo() {
+        if (!journal.canUndo()) {
+            return false;
+        }
+        do {
+            int inverse = MoveJournal.inverse(journal.undoNext());
+            applyEntry(inverse);
+            journal.applied(inverse);
+        } while (!journal.atUndoBoundary());
+        journal.finishUndoRedo();
+        updateGameStatus();
+        return true;
+    }
+
+    /**
+     * Refaz a última jogada desfeita.
+     *
+     * @return {@code false} se não houver jogada a refazer
+     */
+    public boolean redo() {
+        if (!journal.canRedo()) {
+            return false;
+        }
+        int entry;
+        do {
+            entry = journal.redoNext();
+            applyEntry(entry);
+            journal.applied(entry);
+        } while ((entry & MoveJournal.MOVE_END) == 0 && journal.canRedo());
+        journal.finishUndoRedo();
+        updateGameStatus();
+        return true;
+    }
+
+    public MoveJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Aplica uma entrada do diário diretamente, sem validar nem registrar, como na recuperação
+     * de uma sessão gravada. Deve ser seguida de {@link #checkGameStatus()}.
+     */
+    void applyEntry(int entry) {
+        boolean wasRecording = recording;
+        recording = false;
+        int cell = MoveJournal.cell(entry);
+        int number = MoveJournal.number(entry);
+        switch (MoveJournal.op(entry)) {
+            case MoveJournal.OP_DRAFT_ADD:
+                setDraftMask(cell, draftMasks[cell] | (1 << (number - 1)));
+                break;
+            case MoveJournal.OP_DRAFT_REMOVE:
+                setDraftMask(cell, draftMasks[cell] & ~(1 << (number - 1)));
+                break;
+            default:
+                setCell(number, cell);
+        }
+        recording = wasRecording;
+    }
+
+    // Estado completo: tamanho do bloco, um int por célula (número nos bits 0-4, fixo no bit 5,
+    // rascunhos a partir do bit 6), status e modo de rascunhos automáticos; usado pelos pontos de
+    // controle da sessão
+    int stateBytes() {
+        return stateBytes(geometry);
+    }
+
+    static int stateBytes(BoardGeometry geometry) {
+        return 1 + geometry.getCellCount() * Integer.BYTES + 2;
+    }
+
+    void writeState(ByteBuffer out) {
+        out.put((byte) geometry.getBoxSize());
+        for (int cell = 0; cell < board.length; cell++) {
+            out.putInt(packedCells[cell]);
+        }
+        out.put((byte) status.ordinal());
+        out.put((byte) (autoCandidates ? 1 : 0));
+    }
+
+    static SudokuBoard readState(ByteBuffer in) {
+        BoardGeometry geometry = BoardGeometry.forBoxSize(in.get());
+        int[] packed = new int[geometry.getCellCount()];
+        for (int cell = 0; cell < packed.length; cell++) {
+            packed[cell] = in.getInt();
+        }
+        GameStatus status = GameStatus.values()[in.get()];
+        return restore(geometry, packed, status, in.get() != 0);
+    }
+
+    // Tabuleiro a partir de células no formato de BoardSnapshot, sem passar pelo diário (nada a desfazer)
+    static SudokuBoard restore(BoardGeometry geometry, int[] packed, GameStatus status, boolean autoCandidates) {
+        SudokuBoard restored = new SudokuBoard(geometry);
+        for (int cell = 0; cell < restored.board.length; cell++) {
+            restored.setCell(packed[cell] & BoardSnapshot.NUMBER_MASK, cell);
+            restored.setFixed(cell, (packed[cell] & BoardSnapshot.FIXED_BIT) != 0);
+            restored.setDraftMask(cell, packed[cell] >>> BoardSnapshot.DRAFT_SHIFT);
         }
+        restored.status = status;
+        restored.autoCandidates = autoCandidates;
+        restored.updateGameStatus();
+        restored.recording = true;
+        return restored;
+    }
+
+    public boolean isAutoCandidates() {
+        return autoCandidates;
+    }
+
+    /**
+     * Estado imutável publicado ao final da última operação. É o único acesso seguro a partir de
+     * outras threads: o tabuleiro em si deve ser alterado e consultado numa única thread.
+     */
+    public BoardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /** Números por linha, coluna e bloco (9, 16 ou 25). */
+    public int getSize() {
+        return size;
+    }
+
+    public int getBoxSize() {
+        return geometry.getBoxSize();
     }
 
     public int[][] getBoard() {
         // Retorna uma cópia para evitar modificações externas diretas
-        int[][] currentBoard = new int[BOARD_SIZE][BOARD_SIZE];
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            System.arraycopy(board[i], 0, currentBoard[i], 0, BOARD_SIZE);
+        int[][] currentBoard = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(board, i * size, currentBoard[i], 0, size);
         }
         return currentBoard;
     }
 
-    public List<Integer> getDraftNumbers(int row, int col) {
+    /**
+     * Copia os números para {@code cells} em ordem de linha (0 = vazio), sem alocação.
+     */
+    public void copyCells(int[] cells) {
+        System.arraycopy(board, 0, cells, 0, board.length);
+    }
+
+    /**
+     * Número da célula (0 se vazia), sem copiar o tabuleiro.
+     */
+    public int getNumber(int row, int col) {
         if (isValidCoordinate(row, col)) {
-            return new ArrayList<>(draftNumbers[row][col]); // Retorna uma cópia
+            return board[row * size + col];
         }
-        return new ArrayList<>();
+        return 0;
     }
 
-    public boolean isPositionFixed(int row, int col) {
+    public List<Integer> getDraftNumbers(int row, int col) {
+        List<Integer> drafts = new ArrayList<>();
+        int mask = getDraftMask(row, col);
+        for (int number = 1; number <= size; number++) {
+            if ((mask & (1 << (number - 1))) != 0) {
+                drafts.add(number);
+            }
+        }
+        return drafts;
+    }
+
+    /**
+     * Rascunhos da célula como máscara de bits (bit n - 1 = número n), sem alocação.
+     */
+    public int getDraftMask(int row, int col) {
         if (isValidCoordinate(row, col)) {
-            return fixedNumbers[row][col];
+            return draftMasks[row * size + col];
         }
-        return false;
+        return 0;
     }
 
-    public void checkGameStatus() {
-        boolean allFilled = true;
-        boolean currentHasErrors = false;
-
-        // Verifica se todas as células estão preenchidas
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            for (int c = 0; c < BOARD_SIZE; c++) {
-                if (board[r][c] == 0) {
-                    allFilled = false;
-                    break;
-                }
-            }
-            if (!allFilled) break;
+    /**
+     * Números permitidos na célula que ainda não aparecem em nenhuma das suas unidades, como máscara de bits.
+     */
+    public int getCandidateMask(int row, int col) {
+        if (!isValidCoordinate(row, col)) {
+            return 0;
         }
+        return candidateMask(row * size + col);
+    }
 
-        // Verifica erros em linhas, colunas e blocos 3x3
-        if (allFilled || !status.equals(GameStatus.NOT_STARTED)) { // Só verifica erros se não for NOT_STARTED
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                if (hasDuplicates(getRow(i)) || hasDuplicates(getColumn(i))) {
-                    currentHasErrors = true;
-                    break;
-                }
-            }
-            if (!currentHasErrors) {
-                for (int r = 0; r < 3; r++) {
-                    for (int c = 0; c < 3; c++) {
-                        if (hasDuplicates(getBlock(r * 3, c * 3))) {
-                            currentHasErrors = true;
-                            break;
-                        }
-                    }
-                    if (currentHasErrors) break;
-                }
+    /**
+     * Indica se o número da célula se repete em alguma das suas unidades, não é permitido nela ou
+     * faz parte de uma gaiola cuja soma já não pode ser atingida.
+     */
+    public boolean isConflict(int row, int col) {
+        if (!isValidCoordinate(row, col)) {
+            return false;
+        }
+        int cell = row * size + col;
+        int number = board[cell];
+        if (number == 0) {
+            return false;
+        }
+        if ((geometry.getAllowedNumbers(cell) & (1 << (number - 1))) == 0) {
+            return true;
+        }
+        int stride = size + 1;
+        for (int i = 0; i < geometry.getCellUnitCount(cell); i++) {
+            int unit = geometry.cellUnit(cell, i);
+            if (unitCounts[unit * stride + number] > 1 || sumViolated(unit)) {
+                return true;
             }
         }
+        return false;
+    }
+
+    public boolean isPositionFixed(int row, int col) {
+        if (isValidCoordinate(row, col)) {
+            return fixedNumbers[row * size + col];
+        }
+        return false;
+    }
+
+    public void checkGameStatus() {
+        BoardOperationEvent event = SudokuMetrics.beginBoardOperation();
+        long start = SudokuMetrics.start();
+        updateGameStatus();
+        SudokuMetrics.boardOperation(Operation.CHECK_GAME_STATUS, start, event, -1, -1, -1, true, status, hasErrors);
+    }
 
-        this.hasErrors = currentHasErrors;
+    // Versão interna, sem instrumentação, usada ao final de cada operação
+    private void updateGameStatus() {
+        // Contadores incrementais tornam a verificação O(1), sem varrer o tabuleiro
+        boolean allFilled = filledCount == board.length;
 
         if (status.equals(GameStatus.NOT_STARTED)) {
             // Se o jogo ainda não foi iniciado, o status permanece NOT_STARTED, sem erros.
             this.hasErrors = false;
-        } else if (allFilled) {
-            this.status = GameStatus.COMPLETE;
         } else {
-            this.status = GameStatus.INCOMPLETE;
+            this.hasErrors = duplicateCount > 0 || ruleViolations > 0;
+            this.status = allFilled ? GameStatus.COMPLETE : GameStatus.INCOMPLETE;
         }
+        fireChanges();
     }
 
     public String getStatusMessage() {
+        return statusMessage(status, hasErrors);
+    }
+
+    static String statusMessage(GameStatus status, boolean hasErrors) {
         String message = "Status do Jogo: " + status.toString();
         if (status.equals(GameStatus.NOT_STARTED)) {
             message += " (sem erros)";
@@ -181,63 +521,243 @@ public class SudokuBoard {
         return status.equals(GameStatus.COMPLETE) && !hasErrors;
     }
 
+    /**
+     * Remove os números e rascunhos do jogador, desativa os rascunhos automáticos e inicia o jogo
+     * (status INCOMPLETE). O histórico de desfazer/refazer é descartado: o modo de rascunhos e o
+     * status anteriores não estão no diário, então desfazer a limpeza deixaria o tabuleiro num estado
+     * que nunca existiu. As entradas da limpeza ainda chegam aos ouvintes do diário (sessão e gravação).
+     */
     public void clearPlayerNumbers() {
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            for (int c = 0; c < BOARD_SIZE; c++) {
-                if (!fixedNumbers[r][c]) {
-                    board[r][c] = 0;
-                }
-                draftNumbers[r][c].clear(); // Limpa rascunhos também
+        BoardOperationEvent event = SudokuMetrics.beginBoardOperation();
+        long start = SudokuMetrics.start();
+        clearPlayerState();
+        SudokuMetrics.boardOperation(Operation.CLEAR_PLAYER_NUMBERS, start, event, -1, -1, -1, true, status, hasErrors);
+    }
+
+    private void clearPlayerState() {
+        for (int cell = 0; cell < board.length; cell++) {
+            if (!fixedNumbers[cell]) {
+                setCell(0, cell);
             }
+            setDraftMask(cell, 0); // Limpa rascunhos também
         }
+        this.autoCandidates = false;
+        journal.endMove();
         this.status = GameStatus.INCOMPLETE; // Após limpar, o jogo é incompleto
         this.hasErrors = false; // E sem erros, a menos que os fixos já causem um
-        checkGameStatus(); // Reavalia o status
+        updateGameStatus(); // Reavalia o status
+        journal.clear(); // Por último: os ouvintes do diário veem o status e o modo novos
+    }
+
+    private int candidateMask(int cell) {
+        int used = 0;
+        for (int i = 0; i < geometry.getCellUnitCount(cell); i++) {
+            used |= unitMasks[geometry.cellUnit(cell, i)];
+        }
+        int mask = ~used & geometry.getAllowedNumbers(cell);
+        for (int i = 0; mask != 0 && i < geometry.getCellUnitCount(cell); i++) {
+            int unit = geometry.cellUnit(cell, i);
+            if (geometry.getUnitSum(unit) != 0) {
+                mask &= geometry.sumCandidates(unit, unitMasks[unit], unitTotals[unit],
+                        geometry.getUnitSize(unit) - unitFilled[unit]);
+            }
+        }
+        return mask;
     }
 
-    // Métodos auxiliares para verificação de erros
-    private int[] getRow(int row) {
-        return board[row];
+    // Candidatos das células relacionadas antes de alterar a célula, comparados em updatePeerCandidates
+    private void savePeerCandidates(int cell) {
+        for (int i = 0; i < geometry.getPeerCount(cell); i++) {
+            peerCandidates[i] = candidateMask(geometry.peer(cell, i));
+        }
     }
 
-    private int[] getColumn(int col) {
-        int[] column = new int[BOARD_SIZE];
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            column[r] = board[r][col];
+    // Os rascunhos automáticos das células vazias relacionadas perdem os números que deixaram de ser
+    // possíveis e recebem de volta os que voltaram a ser; as demais eliminações do jogador ficam
+    private void updatePeerCandidates(int cell) {
+        for (int i = 0; i < geometry.getPeerCount(cell); i++) {
+            int peer = geometry.peer(cell, i);
+            if (board[peer] != 0) continue;
+            int before = peerCandidates[i];
+            int after = candidateMask(peer);
+            setDraftMask(peer, draftMasks[peer] & ~(before & ~after) | (after & ~before));
         }
-        return column;
     }
 
-    private int[] getBlock(int startRow, int startCol) {
-        int[] block = new int[BOARD_SIZE];
-        int index = 0;
-        for (int r = startRow; r < startRow + 3; r++) {
-            for (int c = startCol; c < startCol + 3; c++) {
-                block[index++] = board[r][c];
+    private void setDraftMask(int cell, int mask) {
+        int previous = draftMasks[cell];
+        if (previous == mask) {
+            return;
+        }
+        if (recording) {
+            // Um registro por número alterado, para que cada entrada caiba num int em qualquer tamanho
+            int changed = previous ^ mask;
+            while (changed != 0) {
+                int bit = changed & -changed;
+                changed ^= bit;
+                int op = (mask & bit) != 0 ? MoveJournal.OP_DRAFT_ADD : MoveJournal.OP_DRAFT_REMOVE;
+                journal.record(MoveJournal.encode(op, cell, Integer.numberOfTrailingZeros(bit) + 1, 0));
             }
         }
-        return block;
+        draftMasks[cell] = mask;
+        packedCells[cell] = (packedCells[cell] & (BoardSnapshot.NUMBER_MASK | BoardSnapshot.FIXED_BIT))
+                | mask << BoardSnapshot.DRAFT_SHIFT;
+        snapshotStale = true;
+        markChanged(cell, BoardListener.DRAFTS);
     }
 
-    private boolean hasDuplicates(int[] array) {
-        Set<Integer> seen = new HashSet<>();
-        for (int num : array) {
-            if (num != 0) { // Ignora células vazias
-                if (seen.contains(num)) {
-                    return true;
-                }
-                seen.add(num);
+    // Métodos auxiliares para notificação de alterações
+    private void markChanged(int cell, int change) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        if (pendingChanges[cell] == 0) {
+            dirtyCells[dirtyCount++] = cell;
+        }
+        pendingChanges[cell] |= (byte) change;
+    }
+
+    // Uma transição entre 1 e 2 ocorrências muda o conflito de todas as células da unidade com esse número
+    private void markUnitConflicts(int unit, int number) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < geometry.getUnitSize(unit); i++) {
+            int cell = geometry.unitCell(unit, i);
+            if (board[cell] == number || number == 0 && board[cell] != 0) {
+                markChanged(cell, BoardListener.CONFLICT);
             }
         }
-        return false;
+    }
+
+    private void fireChanges() {
+        for (int i = 0; i < dirtyCount; i++) {
+            int cell = dirtyCells[i];
+            int changes = pendingChanges[cell];
+            pendingChanges[cell] = 0;
+            for (int l = 0; l < listeners.size(); l++) {
+                listeners.get(l).cellChanged(cell / size, cell % size, changes);
+            }
+        }
+        dirtyCount = 0;
+
+        if (status != notifiedStatus || hasErrors != notifiedHasErrors) {
+            notifiedStatus = status;
+            notifiedHasErrors = hasErrors;
+            for (int l = 0; l < listeners.size(); l++) {
+                listeners.get(l).statusChanged(status, hasErrors);
+            }
+        }
+        publishSnapshot();
+    }
+
+    // Copia o estado (um único vetor de int) só se algo mudou desde o último snapshot publicado
+    private void publishSnapshot() {
+        BoardSnapshot current = snapshot;
+        if (current != null && !snapshotStale && current.getStatus() == status
+                && current.hasErrors() == hasErrors && current.isAutoCandidates() == autoCandidates) {
+            return;
+        }
+        long version = current == null ? 0 : current.getVersion() + 1;
+        snapshot = new BoardSnapshot(geometry, packedCells.clone(), status, hasErrors, autoCandidates, version);
+        snapshotStale = false;
+    }
+
+    // Métodos auxiliares para manutenção incremental das restrições
+    private void setCell(int number, int cell) {
+        int previous = board[cell];
+        if (previous == number) {
+            return;
+        }
+        if (recording) {
+            int op = number == 0 ? MoveJournal.OP_REMOVE : MoveJournal.OP_PLACE;
+            journal.record(MoveJournal.encode(op, cell, number, previous));
+        }
+        int units = geometry.getCellUnitCount(cell);
+        int allowed = geometry.getAllowedNumbers(cell);
+        board[cell] = number;
+        if (previous != 0) {
+            filledCount--;
+            for (int i = 0; i < units; i++) {
+                removeFromUnit(geometry.cellUnit(cell, i), previous);
+            }
+            if ((allowed & (1 << (previous - 1))) == 0) {
+                ruleViolations--;
+            }
+        }
+        if (number != 0) {
+            filledCount++;
+            for (int i = 0; i < units; i++) {
+                addToUnit(geometry.cellUnit(cell, i), number);
+            }
+            if ((allowed & (1 << (number - 1))) == 0) {
+                ruleViolations++;
+            }
+        }
+        packedCells[cell] = (packedCells[cell] & ~BoardSnapshot.NUMBER_MASK) | number;
+        snapshotStale = true;
+        markChanged(cell, BoardListener.VALUE | BoardListener.CONFLICT);
+    }
+
+    private void setFixed(int cell, boolean fixed) {
+        fixedNumbers[cell] = fixed;
+        packedCells[cell] = fixed
+                ? packedCells[cell] | BoardSnapshot.FIXED_BIT
+                : packedCells[cell] & ~BoardSnapshot.FIXED_BIT;
+        snapshotStale = true;
+    }
+
+    private void addToUnit(int unit, int number) {
+        int count = ++unitCounts[unit * (size + 1) + number];
+        if (count == 1) {
+            unitMasks[unit] |= 1 << (number - 1);
+        } else if (count == 2) {
+            duplicateCount++;
+            markUnitConflicts(unit, number);
+        }
+        if (geometry.getUnitSum(unit) != 0) {
+            updateSum(unit, number, 1);
+        }
+    }
+
+    private void removeFromUnit(int unit, int number) {
+        int count = --unitCounts[unit * (size + 1) + number];
+        if (count == 0) {
+            unitMasks[unit] &= ~(1 << (number - 1));
+        } else if (count == 1) {
+            duplicateCount--;
+            markUnitConflicts(unit, number);
+        }
+        if (geometry.getUnitSum(unit) != 0) {
+            updateSum(unit, -number, -1);
+        }
+    }
+
+    // Uma gaiola que passa a ter (ou deixa de ter) soma impossível muda o conflito de todas as suas células
+    private void updateSum(int unit, int delta, int filled) {
+        boolean before = sumViolated(unit);
+        unitTotals[unit] += delta;
+        unitFilled[unit] += filled;
+        boolean after = sumViolated(unit);
+        if (before != after) {
+            ruleViolations += after ? 1 : -1;
+            markUnitConflicts(unit, 0);
+        }
+    }
+
+    // Soma já ultrapassada, ou gaiola completa com outra soma
+    private boolean sumViolated(int unit) {
+        int sum = geometry.getUnitSum(unit);
+        return sum != 0 && (unitTotals[unit] > sum
+                || unitFilled[unit] == geometry.getUnitSize(unit) && unitTotals[unit] != sum);
     }
 
     private boolean isValidCoordinate(int row, int col) {
-        return row >= 0 && row < BOARD_SIZE && col >= 0 && col < BOARD_SIZE;
+        return row >= 0 && row < size && col >= 0 && col < size;
     }
 
     private boolean isValidNumber(int number) {
-        return number >= 1 && number <= 9;
+        return number >= 1 && number <= size;
     }
 
     public GameStatus getStatus() {
@@ -247,4 +767,4 @@ public class SudokuBoard {
     public boolean hasErrors() {
         return hasErrors;
     }
-}
\ No newline at end of file
+}
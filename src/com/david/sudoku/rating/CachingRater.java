@@ -0,0 +1,154 @@
+package com.david.sudoku.rating;
+
+import com.david.sudoku.cache.CanonicalCache;
+import com.david.sudoku.cache.CanonicalKey;
+import com.david.sudoku.logic.Technique;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Avaliador 9x9 thread-safe com memória das avaliações, indexadas pelos números iniciais exatamente
+ * como estão ({@link CanonicalKey#of(int[])}). A forma canônica não é usada de propósito: ela
+ * reconheceria também as grades equivalentes por simetria, mas custa de 3 a 5 vezes mais que a
+ * própria avaliação, enquanto montar a chave custa só empacotar as 81 células.
+ * <p>
+ * O cache pode ser salvo num arquivo e recarregado ({@link #save(Path)}, {@link #load(Path)}), para
+ * que avaliar de novo uma coleção que não mudou seja quase de graça. Como no
+ * {@link com.david.sudoku.cache.CachingSolver}, os avaliadores ficam numa fila e são emprestados a
+ * cada chamada.
+ */
+public final class CachingRater {
+    private static final int CELLS = 81;
+    private static final int MAGIC = 0x53444B54; // "SDKT"
+    private static final int VERSION = 1;
+    private static final int KEY_BYTES = (CELLS + 1) / 2;
+
+    private final CanonicalCache<DifficultyRating> cache;
+    private final ConcurrentLinkedQueue<PuzzleRater> raters = new ConcurrentLinkedQueue<>();
+
+    public CachingRater(int capacity) {
+        this.cache = new CanonicalCache<>(capacity);
+    }
+
+    /**
+     * Avalia uma grade de 81 células, como {@link PuzzleRater#rate(int[])}; a grade não é alterada.
+     */
+    public DifficultyRating rate(int[] clues) {
+        CanonicalKey key = CanonicalKey.of(clues);
+        DifficultyRating rating = cache.get(key);
+        if (rating != null) {
+            return rating;
+        }
+        PuzzleRater rater = raters.poll();
+        if (rater == null) {
+            rater = new PuzzleRater();
+        }
+        try {
+            rating = rater.rate(clues);
+        } finally {
+            raters.offer(rater);
+        }
+        cache.put(key, rating);
+        return rating;
+    }
+
+    public CanonicalCache<DifficultyRating> getCache() {
+        return cache;
+    }
+
+    /**
+     * Acrescenta ao cache as avaliações salvas no arquivo. Um arquivo inexistente, de outra versão ou
+     * de outro conjunto de técnicas (cujas avaliações já não valeriam) é ignorado; um registro final
+     * incompleto também.
+     *
+     * @return avaliações carregadas
+     */
+    public int load(Path file) throws IOException {
+        int techniques = Technique.values().length;
+        int[] cells = new int[CELLS];
+        int[] steps = new int[techniques];
+        byte[] key = new byte[KEY_BYTES];
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != techniques) {
+                return 0;
+            }
+            while (true) {
+                in.readFully(key);
+                for (int cell = 0; cell < CELLS; cell++) {
+                    cells[cell] = key[cell / 2] >>> (cell % 2 * 4) & 0xF;
+                }
+                int solutions = in.readUnsignedByte();
+                boolean guessing = in.readBoolean();
+                for (int t = 0; t < techniques; t++) {
+                    steps[t] = in.readUnsignedShort();
+                }
+                int guesses = in.readInt();
+                int nodes = in.readInt();
+                cache.put(CanonicalKey.of(cells),
+                        new DifficultyRating(solutions, steps, guessing, guesses, nodes));
+                count++;
+            }
+        } catch (NoSuchFileException | EOFException e) {
+            return count;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Cache de avaliações inválido: " + file, e);
+        }
+    }
+
+    /**
+     * Grava todas as avaliações do cache, substituindo o arquivo (por um temporário renomeado, para
+     * não deixar um arquivo pela metade).
+     *
+     * @return avaliações gravadas
+     */
+    public int save(Path file) throws IOException {
+        Technique[] techniques = Technique.values();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int[] count = {0};
+        int[] cells = new int[CELLS];
+        byte[] key = new byte[KEY_BYTES];
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(techniques.length);
+            IOException[] error = {null};
+            cache.forEach((canonical, rating) -> {
+                if (error[0] != null) return;
+                try {
+                    canonical.copyCells(cells);
+                    for (int i = 0; i < KEY_BYTES; i++) {
+                        int high = 2 * i + 1 < CELLS ? cells[2 * i + 1] : 0;
+                        key[i] = (byte) (cells[2 * i] | high << 4);
+                    }
+                    out.write(key);
+                    out.writeByte(rating.getSolutionCount());
+                    out.writeBoolean(rating.requiresGuessing());
+                    for (Technique technique : techniques) {
+                        out.writeShort(Math.min(0xFFFF, rating.getStepCount(technique)));
+                    }
+                    out.writeInt(rating.getGuessCount());
+                    out.writeInt(rating.getSearchNodes());
+                    count[0]++;
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            });
+            if (error[0] != null) {
+                throw error[0];
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count[0];
+    }
+}
@@ -0,0 +1,160 @@
+package com.david.sudoku.rating;
+
+import com.david.sudoku.generator.Difficulty;
+import com.david.sudoku.logic.Technique;
+
+/**
+ * Resultado do {@link PuzzleRater}: quantos passos de cada {@link Technique} a resolução lógica
+ * usou, a técnica mais difícil entre elas e, se as técnicas não bastaram, o esforço da busca por
+ * backtracking a partir de onde a lógica parou. Imutável.
+ * <p>
+ * A pontuação ordena os quebra-cabeças primeiro pelo nível da técnica mais difícil (1 para
+ * {@link Technique#NAKED_SINGLE} até 9 para {@link Technique#SWORDFISH}, 10 quando é preciso chutar),
+ * em milhares, e depois pela soma dos níveis de todos os passos; com chutes, somam-se ainda 10 por
+ * chute e 1 a cada 10 nós da busca. Grades sem solução ou com mais de uma não são pontuadas.
+ */
+public final class DifficultyRating {
+    /** Nível da busca por backtracking, acima de todas as técnicas. */
+    public static final int GUESSING_LEVEL = Technique.values().length + 1;
+
+    private static final int LEVEL_WEIGHT = 1000;
+    private static final int GUESS_WEIGHT = 10;
+    private static final int NODES_PER_POINT = 10;
+
+    private final int solutionCount;
+    private final int[] steps; // Por técnica, na ordem de Technique
+    private final Technique hardestTechnique;
+    private final boolean guessing;
+    private final int guessCount;
+    private final int searchNodes;
+    private final int score;
+
+    /**
+     * @param solutionCount soluções da grade, até 2 (2 = mais de uma)
+     * @param steps         passos aplicados de cada técnica, indexados por {@link Technique#ordinal()}
+     * @param guessing      se a lógica parou antes de resolver e a busca foi necessária
+     */
+    DifficultyRating(int solutionCount, int[] steps, boolean guessing, int guessCount, int searchNodes) {
+        this.solutionCount = solutionCount;
+        this.steps = steps.clone();
+        this.guessing = guessing;
+        this.guessCount = guessCount;
+        this.searchNodes = searchNodes;
+
+        Technique hardest = null;
+        long stepPoints = 0;
+        for (Technique technique : Technique.values()) {
+            int count = steps[technique.ordinal()];
+            if (count > 0) {
+                hardest = technique;
+                stepPoints += (long) count * level(technique);
+            }
+        }
+        this.hardestTechnique = hardest;
+        if (solutionCount != 1) {
+            this.score = 0;
+        } else {
+            int level = guessing ? GUESSING_LEVEL : hardest == null ? 0 : level(hardest);
+            if (guessing) {
+                stepPoints += (long) guessCount * GUESS_WEIGHT + searchNodes / NODES_PER_POINT;
+            }
+            this.score = level * LEVEL_WEIGHT + (int) Math.min(LEVEL_WEIGHT - 1, stepPoints);
+        }
+    }
+
+    /** Nível de uma técnica na pontuação: 1 a {@code Technique.values().length}, na ordem do enum. */
+    public static int level(Technique technique) {
+        return technique.ordinal() + 1;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Faixa de dificuldade pela técnica mais difícil: só posições e candidatos únicos são
+     * {@link Difficulty#EASY}; candidatos bloqueados e pares, {@link Difficulty#MEDIUM}; trios, X-Wing e
+     * Swordfish, {@link Difficulty#HARD}; chutes, {@link Difficulty#EXPERT}. {@code null} se a grade não
+     * tem solução única.
+     */
+    public Difficulty getTier() {
+        if (solutionCount != 1) {
+            return null;
+        }
+        if (guessing) {
+            return Difficulty.EXPERT;
+        }
+        if (hardestTechnique == null) {
+            return Difficulty.EASY;
+        }
+        switch (hardestTechnique) {
+            case NAKED_SINGLE:
+            case HIDDEN_SINGLE:
+                return Difficulty.EASY;
+            case LOCKED_CANDIDATES:
+            case NAKED_PAIR:
+            case HIDDEN_PAIR:
+                return Difficulty.MEDIUM;
+            default:
+                return Difficulty.HARD;
+        }
+    }
+
+    /** Soluções encontradas, até 2: 0 = sem solução, 2 = mais de uma. */
+    public int getSolutionCount() {
+        return solutionCount;
+    }
+
+    public boolean hasUniqueSolution() {
+        return solutionCount == 1;
+    }
+
+    /** Técnica mais difícil usada pela lógica, ou {@code null} se nenhum passo foi aplicado. */
+    public Technique getHardestTechnique() {
+        return hardestTechnique;
+    }
+
+    public int getStepCount(Technique technique) {
+        return steps[technique.ordinal()];
+    }
+
+    public int getStepCount() {
+        int total = 0;
+        for (int count : steps) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** Se as técnicas não bastaram e foi preciso recorrer à busca. */
+    public boolean requiresGuessing() {
+        return guessing;
+    }
+
+    /** Chutes da busca (pontos com mais de um número possível); 0 sem busca. */
+    public int getGuessCount() {
+        return guessCount;
+    }
+
+    /** Nós visitados pela busca; 0 sem busca. */
+    public int getSearchNodes() {
+        return searchNodes;
+    }
+
+    @Override
+    public String toString() {
+        if (solutionCount == 0) {
+            return "sem solução";
+        }
+        if (solutionCount > 1) {
+            return "mais de uma solução";
+        }
+        StringBuilder text = new StringBuilder().append(score).append(' ').append(getTier().name());
+        text.append(' ').append(hardestTechnique == null ? "-" : hardestTechnique.name());
+        text.append(" passos=").append(getStepCount());
+        if (guessing) {
+            text.append(" chutes=").append(guessCount).append(" nós=").append(searchNodes);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.david.sudoku.rating;
+
+import com.david.sudoku.logic.Hint;
+import com.david.sudoku.logic.LogicalSolver;
+import com.david.sudoku.logic.Technique;
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.SudokuBoard;
+import com.david.sudoku.solver.SudokuSolver;
+
+import java.util.Arrays;
+
+/**
+ * Avalia a dificuldade de um quebra-cabeça como um jogador humano o resolveria: o
+ * {@link LogicalSolver} aplica sempre a técnica mais simples que avança, e cada passo é contado pela
+ * técnica usada. Se as técnicas se esgotam antes do fim, a grade parcial vai para o
+ * {@link SudokuSolver}, que conta as soluções (até 2) e mede os chutes e nós da busca.
+ * <p>
+ * Uma resolução lógica completa também prova que a solução é única (cada passo vale para qualquer
+ * solução), então a busca só roda quando a lógica trava. Não é thread-safe: use uma instância por
+ * thread, ou o {@link CachingRater}.
+ */
+public class PuzzleRater {
+    private final BoardGeometry geometry;
+    private final LogicalSolver logic;
+    private final SudokuSolver solver;
+    private final int[] steps = new int[Technique.values().length];
+    private final int[] grid;
+
+    public PuzzleRater() {
+        this(BoardGeometry.STANDARD);
+    }
+
+    public PuzzleRater(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.logic = new LogicalSolver(geometry);
+        this.solver = new SudokuSolver(SudokuSolver.Engine.BITMASK, geometry);
+        this.grid = new int[geometry.getCellCount()];
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Avalia o quebra-cabeça do tabuleiro: só os números fixos contam, não os do jogador.
+     */
+    public DifficultyRating rate(SudokuBoard board) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("O tabuleiro deve ter " + geometry.getSize() + "x"
+                    + geometry.getSize() + " células");
+        }
+        int size = geometry.getSize();
+        int[] clues = new int[geometry.getCellCount()];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board.isPositionFixed(row, col)) {
+                    clues[row * size + col] = board.getNumber(row, col);
+                }
+            }
+        }
+        return rate(clues);
+    }
+
+    /**
+     * Avalia uma grade em ordem de linha (0 = vazio); a grade não é alterada.
+     */
+    public DifficultyRating rate(int[] clues) {
+        if (clues.length != grid.length) {
+            throw new IllegalArgumentException("A grade deve ter " + grid.length + " células");
+        }
+        Arrays.fill(steps, 0);
+        if (hasConflict(clues)) {
+            return new DifficultyRating(0, steps, false, 0, 0);
+        }
+        logic.load(clues);
+        Hint hint;
+        while (!logic.isSolved() && (hint = logic.nextHint()) != null) {
+            logic.apply(hint);
+            steps[hint.getTechnique().ordinal()]++;
+        }
+        for (int cell = 0; cell < grid.length; cell++) {
+            grid[cell] = logic.getNumber(cell);
+        }
+        if (logic.isSolved()) {
+            // A lógica não confere as somas das gaiolas: com variantes, a grade completa passa pelo resolvedor
+            int solutions = geometry.hasConstraints() ? solver.countSolutions(grid, 1) : 1;
+            return new DifficultyRating(solutions, steps, false, 0, 0);
+        }
+
+        // A lógica travou: a busca parte do que ela já preencheu
+        int solutions = solver.countSolutions(grid, 2);
+        return new DifficultyRating(solutions, steps, true, solver.getLastGuessCount(), solver.getLastNodeCount());
+    }
+
+    // Números fora do intervalo são erro do chamador; repetidos numa unidade ou proibidos na célula,
+    // uma grade sem solução
+    private boolean hasConflict(int[] clues) {
+        for (int cell = 0; cell < clues.length; cell++) {
+            int number = clues[cell];
+            if (number < 0 || number > geometry.getSize()) {
+                throw new IllegalArgumentException("Número inválido na célula " + cell + ": " + number);
+            }
+            if (number == 0) continue;
+            if ((geometry.getAllowedNumbers(cell) & (1 << (number - 1))) == 0) {
+                return true;
+            }
+            for (int i = 0; i < geometry.getPeerCount(cell); i++) {
+                if (clues[geometry.peer(cell, i)] == number) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,174 @@
+package com.david.sudoku.replay;
+
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.BoardListener;
+import com.david.sudoku.model.GameStatus;
+import com.david.sudoku.model.MoveJournal;
+import com.david.sudoku.model.SudokuBoard;
+
+/**
+ * Grava uma partida como uma sequência de eventos com tempo: os números fixos ao iniciar, cada
+ * entrada do {@link MoveJournal} (números e rascunhos, inclusive desfazer/refazer e a limpeza do
+ * tabuleiro) e cada mudança de status. Os eventos são codificados num array em memória (cerca de
+ * 4 bytes por jogada) e a sessão vai inteira para o {@link RecordingWriter} em {@link #finish()}.
+ * <p>
+ * Como o tabuleiro, não é thread-safe: deve ser usado na thread que altera o tabuleiro.
+ */
+public class GameRecorder implements MoveJournal.Sink, BoardListener {
+    private static final int LENGTH_RESERVE = 1 + 5; // Tag e tamanho da sessão (varint de até 5 bytes)
+    private static final int MAX_SESSION_BYTES = 1 << 22; // Acima disso os eventos seguintes são descartados
+
+    private final SudokuBoard board;
+    private final RecordingWriter writer;
+    private byte[] data = new byte[1 << 10];
+    private int length = LENGTH_RESERVE;
+    private int lastMoveTag = -1; // Posição da tag da última entrada, que recebe o fim da jogada
+    private final long startNanos;
+    private long lastMillis;
+    private boolean finished;
+
+    private GameRecorder(SudokuBoard board, RecordingWriter writer) {
+        this.board = board;
+        this.writer = writer;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Inicia a gravação de uma sessão com o estado atual do tabuleiro. Números do jogador e
+     * rascunhos já presentes viram uma primeira jogada no instante zero.
+     *
+     * @throws IllegalArgumentException se o tabuleiro tiver regras de variantes, que a gravação
+     *         (só o tamanho do bloco) não registra
+     */
+    public static GameRecorder start(SudokuBoard board, RecordingWriter writer) {
+        if (board.getGeometry().hasConstraints()) {
+            throw new IllegalArgumentException("A gravação só aceita tabuleiros com as regras clássicas");
+        }
+        GameRecorder recorder = new GameRecorder(board, writer);
+        recorder.writeStart();
+        board.getJournal().addSink(recorder);
+        board.addBoardListener(recorder);
+        return recorder;
+    }
+
+    private void writeStart() {
+        BoardGeometry geometry = board.getGeometry();
+        int size = geometry.getSize();
+        ensure(RecordingFormat.SESSION_FIXED_BYTES + geometry.getCellCount());
+        long now = System.currentTimeMillis();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            data[length++] = (byte) (now >>> shift);
+        }
+        data[length++] = (byte) geometry.getBoxSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                data[length++] = (byte) (board.isPositionFixed(row, col) ? board.getNumber(row, col) : 0);
+            }
+        }
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                if (!board.isPositionFixed(row, col) && board.getNumber(row, col) != 0) {
+                    writeMove(MoveJournal.OP_PLACE, cell, board.getNumber(row, col));
+                }
+                for (int mask = board.getDraftMask(row, col); mask != 0; mask &= mask - 1) {
+                    writeMove(MoveJournal.OP_DRAFT_ADD, cell, Integer.numberOfTrailingZeros(mask) + 1);
+                }
+            }
+        }
+        moveEnded();
+        statusChanged(board.getStatus(), board.hasErrors());
+    }
+
+    @Override
+    public void applied(int entry) {
+        writeMove(MoveJournal.op(entry), MoveJournal.cell(entry), MoveJournal.number(entry));
+    }
+
+    @Override
+    public void moveEnded() {
+        if (lastMoveTag >= 0) {
+            data[lastMoveTag] |= RecordingFormat.MOVE_END_FLAG;
+            lastMoveTag = -1;
+        }
+    }
+
+    @Override
+    public void cellChanged(int row, int col, int changes) {
+        // As alterações chegam, com mais detalhe, pelo diário
+    }
+
+    @Override
+    public void statusChanged(GameStatus status, boolean hasErrors) {
+        if (!ensure(1 + 10 + 1)) return;
+        data[length++] = (byte) RecordingFormat.TAG_STATUS;
+        putElapsed();
+        data[length++] = (byte) (status.ordinal() << 1 | (hasErrors ? 1 : 0));
+    }
+
+    /**
+     * Encerra a sessão: deixa de acompanhar o tabuleiro e entrega os eventos ao arquivo. Chamadas
+     * seguintes não fazem nada.
+     */
+    public void finish() {
+        if (finished) return;
+        finished = true;
+        board.getJournal().removeSink(this);
+        board.removeBoardListener(this);
+
+        // O tamanho do corpo fica imediatamente antes dele, no espaço reservado no início
+        int body = length - LENGTH_RESERVE;
+        int varintBytes = 1;
+        for (int value = body >>> 7; value != 0; value >>>= 7) {
+            varintBytes++;
+        }
+        int start = LENGTH_RESERVE - varintBytes - 1;
+        data[start] = (byte) RecordingFormat.TAG_SESSION;
+        int position = start + 1;
+        int value = body;
+        while ((value & ~0x7F) != 0) {
+            data[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        data[position] = (byte) value;
+        writer.write(data, start, length - start);
+        data = null;
+    }
+
+    private void writeMove(int op, int cell, int number) {
+        if (!ensure(1 + 10 + 2 + 1)) return;
+        lastMoveTag = length;
+        data[length++] = (byte) (RecordingFormat.TAG_MOVE | op);
+        putElapsed();
+        putVarint(cell);
+        data[length++] = (byte) number;
+    }
+
+    // Milissegundos desde o evento anterior, medidos a partir do início para não acumular arredondamento
+    private void putElapsed() {
+        long millis = (System.nanoTime() - startNanos) / 1_000_000;
+        putVarint(millis - lastMillis);
+        lastMillis = millis;
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private boolean ensure(int bytes) {
+        if (finished || length + bytes > MAX_SESSION_BYTES) {
+            return false;
+        }
+        if (length + bytes > data.length) {
+            byte[] grown = new byte[Math.max(data.length * 2, length + bytes)];
+            System.arraycopy(data, 0, grown, 0, length);
+            data = grown;
+        }
+        return true;
+    }
+}
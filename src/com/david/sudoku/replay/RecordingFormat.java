@@ -0,0 +1,35 @@
+package com.david.sudoku.replay;
+
+/**
+ * Formato das gravações de partidas.
+ * <p>
+ * Arquivo: assinatura "SDKR" e versão (um int cada), seguidos de sessões gravadas uma após a outra.
+ * Cada sessão é um bloco {@link #TAG_SESSION}, tamanho do corpo (varint) e corpo: hora de início
+ * (long, milissegundos desde a época), tamanho do bloco do tabuleiro (1 byte), os números fixos
+ * (1 byte por célula, 0 = vazia) e os eventos. Todo evento começa com uma tag de 1 byte e o tempo
+ * desde o evento anterior em milissegundos (varint):
+ * <ul>
+ *     <li>{@link #TAG_MOVE} | operação do {@link com.david.sudoku.model.MoveJournal} (bits 0-1) |
+ *     {@link #MOVE_END_FLAG}: célula (varint) e número (1 byte), o valor depois da alteração</li>
+ *     <li>{@link #TAG_STATUS}: status (ordinal, bits 1-7) e erros (bit 0) num byte</li>
+ * </ul>
+ * Uma jogada comum ocupa 4 bytes. Sessões inteiras são gravadas de uma vez, então um arquivo
+ * interrompido perde no máximo a última sessão, que o leitor descarta pelo tamanho.
+ */
+final class RecordingFormat {
+    static final int MAGIC = 0x53444B52; // "SDKR"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    static final int TAG_SESSION = 0x01;
+    static final int TAG_STATUS = 0x02;
+    static final int TAG_MOVE = 0x10;
+    static final int MOVE_END_FLAG = 0x04;
+    static final int MOVE_TAG_MASK = 0xF8;
+
+    // Início da sessão: long da hora, tamanho do bloco e as células
+    static final int SESSION_FIXED_BYTES = Long.BYTES + 1;
+
+    private RecordingFormat() {
+    }
+}
@@ -0,0 +1,239 @@
+package com.david.sudoku.replay;
+
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.GameStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Lê arquivos de gravação em fluxo, com um buffer de tamanho fixo (só cresce para uma sessão maior
+ * que ele), e entrega os eventos de cada sessão a um {@link Handler}, sem montar tabuleiros.
+ * <p>
+ * Uma sessão final incompleta (arquivo interrompido) é ignorada e contada em
+ * {@link #getTruncatedCount()}. Uma sessão com dados inválidos é encerrada no ponto do erro e contada
+ * em {@link #getCorruptCount()}; a leitura segue na sessão seguinte, pelo tamanho gravado.
+ * Não é thread-safe; use um leitor por thread.
+ */
+public class RecordingReader {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final GameStatus[] STATUSES = GameStatus.values();
+
+    /**
+     * Recebe os eventos das sessões em ordem. Os tempos são milissegundos desde o início da sessão.
+     */
+    public interface Handler {
+        /**
+         * @param clues números fixos por célula (0 = vazia); reutilizado entre sessões, não deve ser guardado
+         */
+        void sessionStarted(long startMillis, BoardGeometry geometry, int[] clues);
+
+        /**
+         * Entrada do diário: operação do {@link com.david.sudoku.model.MoveJournal}, célula e o número
+         * depois da alteração (o rascunho, nas operações de rascunho).
+         */
+        void move(long millis, int op, int cell, int number, boolean moveEnd);
+
+        void statusChanged(long millis, GameStatus status, boolean hasErrors);
+
+        void sessionEnded(long millis);
+    }
+
+    private final Handler handler;
+    private final int[][] clues = new int[BoardGeometry.MAX_BOX_SIZE + 1][];
+    private byte[] data = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long sessions;
+    private long truncated;
+    private long corrupt;
+    private long bytes;
+
+    public RecordingReader(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Lê um arquivo inteiro, do cabeçalho à última sessão completa.
+     */
+    public void read(ReadableByteChannel channel) throws IOException {
+        position = 0;
+        limit = 0;
+        endOfInput = false;
+        if (!fill(channel, RecordingFormat.HEADER_SIZE) || readInt() != RecordingFormat.MAGIC
+                || readInt() != RecordingFormat.VERSION) {
+            throw new IOException("Arquivo de gravações inválido");
+        }
+
+        while (fill(channel, 1)) {
+            if ((data[position] & 0xFF) != RecordingFormat.TAG_SESSION) {
+                throw new IOException("Sessão sem marca de início após " + sessions + " sessões");
+            }
+            fill(channel, 1 + 5);
+            int start = position;
+            position++;
+            long length = readVarint(limit);
+            if (length < 0 && endOfInput) {
+                truncated++;
+                return;
+            }
+            if (length < 0 || length > Integer.MAX_VALUE - 16) {
+                throw new IOException("Tamanho de sessão inválido após " + sessions + " sessões");
+            }
+            int header = position - start;
+            if (!fill(channel, (int) length)) {
+                truncated++;
+                return;
+            }
+            int end = position + (int) length;
+            if (!replay(end)) {
+                corrupt++;
+            }
+            sessions++;
+            bytes += header + length;
+            position = end;
+        }
+    }
+
+    public long getSessionCount() {
+        return sessions;
+    }
+
+    public long getTruncatedCount() {
+        return truncated;
+    }
+
+    public long getCorruptCount() {
+        return corrupt;
+    }
+
+    /**
+     * Bytes de sessões lidas, sem os cabeçalhos dos arquivos.
+     */
+    public long getByteCount() {
+        return bytes;
+    }
+
+    // Decodifica uma sessão inteira, já no buffer entre position e end
+    private boolean replay(int end) {
+        if (end - position < RecordingFormat.SESSION_FIXED_BYTES) {
+            return false;
+        }
+        long startMillis = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            startMillis = startMillis << 8 | (data[position++] & 0xFF);
+        }
+        int boxSize = data[position++];
+        if (boxSize < BoardGeometry.MIN_BOX_SIZE || boxSize > BoardGeometry.MAX_BOX_SIZE) {
+            return false;
+        }
+        BoardGeometry geometry = BoardGeometry.forBoxSize(boxSize);
+        int size = geometry.getSize();
+        int cellCount = geometry.getCellCount();
+        if (end - position < cellCount) {
+            return false;
+        }
+        int[] grid = clues[boxSize];
+        if (grid == null) {
+            grid = clues[boxSize] = new int[cellCount];
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            grid[cell] = data[position++];
+            if (grid[cell] < 0 || grid[cell] > size) {
+                return false;
+            }
+        }
+        handler.sessionStarted(startMillis, geometry, grid);
+
+        long millis = 0;
+        boolean valid = true;
+        while (position < end) {
+            int tag = data[position++] & 0xFF;
+            long delta = readVarint(end);
+            if (delta < 0) {
+                valid = false;
+                break;
+            }
+            millis += delta;
+            if ((tag & RecordingFormat.MOVE_TAG_MASK) == RecordingFormat.TAG_MOVE) {
+                long cell = readVarint(end);
+                if (cell < 0 || cell >= cellCount || position >= end) {
+                    valid = false;
+                    break;
+                }
+                int number = data[position++];
+                if (number < 0 || number > size) {
+                    valid = false;
+                    break;
+                }
+                handler.move(millis, tag & 0x3, (int) cell, number, (tag & RecordingFormat.MOVE_END_FLAG) != 0);
+            } else if (tag == RecordingFormat.TAG_STATUS && position < end) {
+                int value = data[position++] & 0xFF;
+                if ((value >>> 1) >= STATUSES.length) {
+                    valid = false;
+                    break;
+                }
+                handler.statusChanged(millis, STATUSES[value >>> 1], (value & 1) != 0);
+            } else {
+                valid = false;
+                break;
+            }
+        }
+        handler.sessionEnded(millis);
+        return valid;
+    }
+
+    // Varint até end; -1 se passar do limite ou for longo demais
+    private long readVarint(int end) {
+        long value = 0;
+        for (int shift = 0; shift < 63; shift += 7) {
+            if (position >= end) {
+                return -1;
+            }
+            int b = data[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    private int readInt() {
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = value << 8 | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    // Garante pelo menos n bytes a partir de position; false se o arquivo acabar antes
+    private boolean fill(ReadableByteChannel channel, int n) throws IOException {
+        if (limit - position >= n) {
+            return true;
+        }
+        if (position > 0) {
+            System.arraycopy(data, position, data, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (n > data.length) {
+            byte[] grown = new byte[Math.max(n, data.length * 2)];
+            System.arraycopy(data, 0, grown, 0, limit);
+            data = grown;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (limit < n && !endOfInput) {
+            buffer.limit(data.length).position(limit);
+            int read = channel.read(buffer);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        }
+        return limit >= n;
+    }
+}
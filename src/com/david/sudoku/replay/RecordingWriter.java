@@ -0,0 +1,179 @@
+package com.david.sudoku.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Arquivo de gravações aberto para acréscimo, compartilhado pelos {@link GameRecorder} de todas as
+ * partidas (da interface gráfica ou do servidor). Cada sessão chega pronta e é copiada inteira para
+ * um buffer, gravado quando enche e no {@link #close()}; um processo que cai perde só o buffer.
+ * <p>
+ * Thread-safe, com ReentrantLock em vez de synchronized para não prender a thread de plataforma de
+ * uma thread virtual do servidor durante a escrita. Ao reabrir um arquivo existente, uma sessão
+ * final incompleta é descartada antes de gravar as novas.
+ */
+public class RecordingWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long position;
+    private long sessions;
+    private IOException error; // Primeira falha de escrita; a gravação é interrompida a partir dela
+
+    private RecordingWriter(FileChannel channel, long position) {
+        this.channel = channel;
+        this.position = position;
+    }
+
+    /**
+     * Abre (ou cria) o arquivo e posiciona a gravação após a última sessão completa.
+     */
+    public static RecordingWriter open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long end;
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(RecordingFormat.HEADER_SIZE);
+                header.putInt(RecordingFormat.MAGIC).putInt(RecordingFormat.VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                end = RecordingFormat.HEADER_SIZE;
+            } else {
+                end = completeLength(channel, file);
+                channel.truncate(end);
+            }
+            return new RecordingWriter(channel, end);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Percorre as sessões só pelos tamanhos e retorna o fim da última completa
+    private static long completeLength(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RecordingFormat.HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) break;
+        }
+        header.flip();
+        if (header.remaining() < RecordingFormat.HEADER_SIZE || header.getInt() != RecordingFormat.MAGIC
+                || header.getInt() != RecordingFormat.VERSION) {
+            throw new IOException("Arquivo de gravações inválido: " + file);
+        }
+
+        long size = channel.size();
+        long end = RecordingFormat.HEADER_SIZE;
+        ByteBuffer prefix = ByteBuffer.allocate(1 + 5);
+        while (end < size) {
+            prefix.clear();
+            channel.read(prefix, end);
+            prefix.flip();
+            if ((prefix.get() & 0xFF) != RecordingFormat.TAG_SESSION) {
+                break;
+            }
+            long length = 0;
+            int shift = 0;
+            int headerBytes = 1;
+            while (true) {
+                if (!prefix.hasRemaining() || shift > 28) {
+                    return end;
+                }
+                int b = prefix.get();
+                headerBytes++;
+                length |= (long) (b & 0x7F) << shift;
+                shift += 7;
+                if (b >= 0) break;
+            }
+            if (end + headerBytes + length > size) {
+                break;
+            }
+            end += headerBytes + length;
+        }
+        return end;
+    }
+
+    /**
+     * Acrescenta uma sessão já codificada ({@link RecordingFormat#TAG_SESSION}, tamanho e corpo).
+     */
+    void write(byte[] session, int offset, int length) {
+        lock.lock();
+        try {
+            int end = offset + length;
+            while (offset < end && error == null) {
+                if (!buffer.hasRemaining()) {
+                    flushBuffer();
+                }
+                int chunk = Math.min(buffer.remaining(), end - offset);
+                buffer.put(session, offset, chunk);
+                offset += chunk;
+            }
+            sessions++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush() {
+        lock.lock();
+        try {
+            flushBuffer();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSessionCount() {
+        lock.lock();
+        try {
+            return sessions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Falha de escrita que interrompeu a gravação, ou {@code null}.
+     */
+    public IOException getError() {
+        lock.lock();
+        try {
+            return error;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            flushBuffer();
+            channel.close();
+            if (error != null) {
+                throw error;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushBuffer() {
+        buffer.flip();
+        try {
+            while (error == null && buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            error = e;
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,264 @@
+package com.david.sudoku.replay;
+
+import com.david.sudoku.metrics.LatencyHistogram;
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.GameStatus;
+import com.david.sudoku.model.MoveJournal;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Agrega as sessões lidas por um {@link RecordingReader} numa única passada e com memória fixa:
+ * tempo até resolver, taxa de erros, tempo de reflexão por progresso e onde os jogadores travam ou
+ * desistem.
+ * <p>
+ * Cada sessão é reexecutada num estado mínimo (números e contadores por unidade, como os do
+ * {@code SudokuBoard}), sem listeners, snapshots nem diário: uma jogada custa algumas somas. Uma
+ * colocação é um erro quando repete o número na linha, coluna ou bloco. O progresso é a fração das
+ * células vazias no início que o jogador já preencheu, em faixas de 10%.
+ * Não é thread-safe.
+ */
+public class ReplayAnalytics implements RecordingReader.Handler {
+    private static final int BANDS = 10;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final int TOP_CELLS = 5;
+
+    // Agregados
+    private final LatencyHistogram solveTimes = new LatencyHistogram();
+    private final LatencyHistogram[] thinkTimes = new LatencyHistogram[BANDS];
+    private final long[] longestPauseBands = new long[BANDS];
+    private final long[] abandonedBands = new long[BANDS];
+    private final long[][] stallCells = new long[BoardGeometry.MAX_BOX_SIZE + 1][]; // Por tamanho de bloco
+    private long sessions;
+    private long completed;
+    private long moves;
+    private long placements;
+    private long errorPlacements;
+    private long sessionsWithErrors;
+
+    // Estado da sessão em andamento
+    private BoardGeometry geometry;
+    private int[] cells;
+    private int[] unitCounts; // Ocorrências de cada número por unidade
+    private int stride;
+    private int emptyAtStart;
+    private int playerFilled;
+    private boolean inMove;
+    private long lastMillis;
+    private long completedAt;
+    private boolean sessionErrors;
+    private long longestPause;
+    private int longestPauseCell;
+    private int longestPauseBand;
+
+    public ReplayAnalytics() {
+        for (int i = 0; i < BANDS; i++) {
+            thinkTimes[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public void sessionStarted(long startMillis, BoardGeometry geometry, int[] clues) {
+        if (this.geometry != geometry) {
+            this.geometry = geometry;
+            this.cells = new int[geometry.getCellCount()];
+            this.stride = geometry.getSize() + 1;
+            this.unitCounts = new int[geometry.getUnitCount() * stride];
+        } else {
+            Arrays.fill(unitCounts, 0);
+        }
+        emptyAtStart = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = 0;
+            if (clues[cell] != 0) {
+                set(cell, clues[cell]);
+            } else {
+                emptyAtStart++;
+            }
+        }
+        playerFilled = 0;
+        inMove = false;
+        lastMillis = 0;
+        completedAt = -1;
+        sessionErrors = false;
+        longestPause = -1;
+        longestPauseCell = -1;
+        longestPauseBand = 0;
+    }
+
+    @Override
+    public void move(long millis, int op, int cell, int number, boolean moveEnd) {
+        if (!inMove) {
+            // Primeira entrada da jogada: o tempo desde o evento anterior é o tempo de reflexão
+            long pause = millis - lastMillis;
+            int band = band();
+            thinkTimes[band].record(pause * NANOS_PER_MILLI);
+            if (pause > longestPause) {
+                longestPause = pause;
+                longestPauseCell = cell;
+                longestPauseBand = band;
+            }
+            moves++;
+        }
+        inMove = !moveEnd;
+        lastMillis = millis;
+
+        switch (op) {
+            case MoveJournal.OP_PLACE:
+                if (cells[cell] == 0) {
+                    playerFilled++;
+                } else {
+                    clear(cell);
+                }
+                placements++;
+                if (set(cell, number)) {
+                    errorPlacements++;
+                    sessionErrors = true;
+                }
+                break;
+            case MoveJournal.OP_REMOVE:
+                if (cells[cell] != 0) {
+                    clear(cell);
+                    playerFilled--;
+                }
+                break;
+            default:
+                break; // Rascunhos não afetam números nem erros
+        }
+    }
+
+    @Override
+    public void statusChanged(long millis, GameStatus status, boolean hasErrors) {
+        lastMillis = millis;
+        if (status == GameStatus.COMPLETE && !hasErrors && completedAt < 0) {
+            completedAt = millis;
+        }
+    }
+
+    @Override
+    public void sessionEnded(long millis) {
+        sessions++;
+        if (completedAt >= 0) {
+            completed++;
+            solveTimes.record(completedAt * NANOS_PER_MILLI);
+        } else {
+            abandonedBands[band()]++;
+        }
+        if (sessionErrors) {
+            sessionsWithErrors++;
+        }
+        if (longestPauseCell >= 0) {
+            longestPauseBands[longestPauseBand]++;
+            int boxSize = geometry.getBoxSize();
+            if (stallCells[boxSize] == null) {
+                stallCells[boxSize] = new long[geometry.getCellCount()];
+            }
+            stallCells[boxSize][longestPauseCell]++;
+        }
+    }
+
+    public long getSessionCount() {
+        return sessions;
+    }
+
+    public long getCompletedCount() {
+        return completed;
+    }
+
+    public long getMoveCount() {
+        return moves;
+    }
+
+    /**
+     * Fração das colocações de número que repetiram o número numa unidade.
+     */
+    public double getErrorRate() {
+        return placements == 0 ? 0.0 : (double) errorPlacements / placements;
+    }
+
+    /**
+     * Tempo até a primeira conclusão sem erros das sessões resolvidas, em nanossegundos.
+     */
+    public LatencyHistogram getSolveTimes() {
+        return solveTimes;
+    }
+
+    public void writeReport(PrintStream out) {
+        out.printf(Locale.ROOT, "Sessões: %d, resolvidas: %d (%.1f%%), jogadas: %d (%.1f por sessão)%n",
+                sessions, completed, percent(completed, sessions), moves, sessions == 0 ? 0.0 : (double) moves / sessions);
+        if (completed > 0) {
+            out.printf(Locale.ROOT, "Tempo até resolver: média %s, p50 %s, p90 %s, p99 %s%n",
+                    duration(solveTimes.getMeanNanos()), duration(solveTimes.getPercentileNanos(50)),
+                    duration(solveTimes.getPercentileNanos(90)), duration(solveTimes.getPercentileNanos(99)));
+        }
+        out.printf(Locale.ROOT, "Erros: %.2f%% das colocações (%d de %d), %.1f%% das sessões com algum erro%n",
+                100.0 * getErrorRate(), errorPlacements, placements, percent(sessionsWithErrors, sessions));
+
+        out.println("Progresso   reflexão p50   p90   pausa mais longa   desistências");
+        for (int band = 0; band < BANDS; band++) {
+            LatencyHistogram think = thinkTimes[band];
+            out.printf(Locale.ROOT, "%3d-%3d%%   %10s %7s   %16d   %12d%n", band * 10, band * 10 + 10,
+                    think.getCount() == 0 ? "-" : duration(think.getPercentileNanos(50)),
+                    think.getCount() == 0 ? "-" : duration(think.getPercentileNanos(90)),
+                    longestPauseBands[band], abandonedBands[band]);
+        }
+
+        for (int boxSize = BoardGeometry.MIN_BOX_SIZE; boxSize <= BoardGeometry.MAX_BOX_SIZE; boxSize++) {
+            long[] counts = stallCells[boxSize];
+            if (counts == null) continue;
+            int size = boxSize * boxSize;
+            StringBuilder line = new StringBuilder("Células com mais pausas longas (" + size + "x" + size + "):");
+            long[] remaining = counts.clone();
+            for (int i = 0; i < TOP_CELLS; i++) {
+                int best = 0;
+                for (int cell = 1; cell < remaining.length; cell++) {
+                    if (remaining[cell] > remaining[best]) {
+                        best = cell;
+                    }
+                }
+                if (remaining[best] == 0) break;
+                line.append(" (").append(best / size).append(',').append(best % size).append(")=").append(remaining[best]);
+                remaining[best] = 0;
+            }
+            out.println(line);
+        }
+    }
+
+    // Coloca o número e atualiza os contadores; true se ele passou a se repetir em alguma unidade
+    private boolean set(int cell, int number) {
+        cells[cell] = number;
+        int row = unitCounts[geometry.rowOf(cell) * stride + number]++;
+        int col = unitCounts[geometry.colUnitOf(cell) * stride + number]++;
+        int box = unitCounts[geometry.boxUnitOf(cell) * stride + number]++;
+        return (row | col | box) != 0;
+    }
+
+    private void clear(int cell) {
+        int number = cells[cell];
+        cells[cell] = 0;
+        unitCounts[geometry.rowOf(cell) * stride + number]--;
+        unitCounts[geometry.colUnitOf(cell) * stride + number]--;
+        unitCounts[geometry.boxUnitOf(cell) * stride + number]--;
+    }
+
+    private int band() {
+        if (emptyAtStart == 0) {
+            return BANDS - 1;
+        }
+        return Math.min(BANDS - 1, Math.max(0, playerFilled) * BANDS / emptyAtStart);
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0.0 : 100.0 * part / total;
+    }
+
+    private static String duration(long nanos) {
+        long seconds = nanos / 1_000_000_000L;
+        if (seconds < 60) {
+            return String.format(Locale.ROOT, "%.1fs", nanos / 1e9);
+        }
+        return String.format(Locale.ROOT, "%dm%02ds", seconds / 60, seconds % 60);
+    }
+}
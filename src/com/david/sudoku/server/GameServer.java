@@ -0,0 +1,337 @@
+package com.david.sudoku.server;
+
+import com.david.sudoku.cache.CachingSolver;
+import com.david.sudoku.cache.CanonicalCache;
+import com.david.sudoku.generator.Difficulty;
+import com.david.sudoku.generator.Puzzle;
+import com.david.sudoku.generator.PuzzleGenerator;
+import com.david.sudoku.generator.PuzzlePool;
+import com.david.sudoku.io.PuzzleText;
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.BoardSnapshot;
+import com.david.sudoku.model.SudokuBoard;
+import com.david.sudoku.replay.RecordingWriter;
+import com.david.sudoku.solver.SudokuSolver;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serviço HTTP sem interface gráfica sobre o {@code HttpServer} do JDK. Cada requisição roda numa
+ * thread virtual própria, e as partidas ficam num {@link SessionStore} com remoção por inatividade.
+ * <p>
+ * Rotas (corpos e respostas em JSON):
+ * <ul>
+ *     <li>{@code POST /games} - cria uma partida; corpo opcional {@code {"puzzle": "81 caracteres"}}
+ *     ou {@code {"difficulty": "EASY|MEDIUM|HARD|EXPERT"}}</li>
+ *     <li>{@code GET /games/{id}} - números, células fixas, rascunhos e status</li>
+ *     <li>{@code DELETE /games/{id}} - encerra a partida</li>
+ *     <li>{@code POST /games/{id}/place} e {@code /remove} - {@code {"number", "row", "col"}}</li>
+ *     <li>{@code POST /games/{id}/drafts/place} e {@code /drafts/remove} - idem, para rascunhos</li>
+ *     <li>{@code GET /games/{id}/status} - status e erros</li>
+ *     <li>{@code POST /games/{id}/solve} - solução do tabuleiro atual, sem alterá-lo</li>
+ *     <li>{@code GET /stats} - sessões ativas e removidas por inatividade, e estatísticas do cache de
+ *     soluções</li>
+ * </ul>
+ */
+public class GameServer implements AutoCloseable {
+    private static final int MAX_BODY_BYTES = 1 << 14;
+    private static final int SOLUTION_CACHE_SIZE = 1 << 16;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final SessionStore sessions;
+    private final PuzzlePool puzzlePool;
+    // Soluções 9x9 em cache pela grade exata: a forma canônica custaria mais que resolver
+    private final CachingSolver solver = new CachingSolver(SOLUTION_CACHE_SIZE);
+
+    /**
+     * @param idleMinutes minutos sem acesso até a partida ser descartada
+     * @param puzzlePool  quebra-cabeças pré-gerados para novas partidas (pode ser null)
+     */
+    public GameServer(int port, int maxSessions, long idleMinutes, PuzzlePool puzzlePool) throws IOException {
+        this(port, maxSessions, idleMinutes, puzzlePool, null);
+    }
+
+    /**
+     * @param recordings arquivo onde cada partida é gravada ao terminar ou ser descartada (pode ser null)
+     */
+    public GameServer(int port, int maxSessions, long idleMinutes, PuzzlePool puzzlePool,
+                      RecordingWriter recordings) throws IOException {
+        // Cabeçalhos e corpo saem em escritas separadas; com o algoritmo de Nagle ativo cada resposta
+        // curta esperaria o ACK atrasado do cliente (~40 ms) numa conexão persistente
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.sessions = new SessionStore(maxSessions, idleMinutes, TimeUnit.MINUTES, recordings);
+        this.puzzlePool = puzzlePool;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/games", this::handleGames);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        sessions.close();
+    }
+
+    private void handleGames(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            // path[0] é vazio e path[1] é "games"
+            String method = exchange.getRequestMethod();
+            if (path.length == 2) {
+                if (!method.equals("POST")) {
+                    send(exchange, 405, error("Use POST para criar uma partida"));
+                    return;
+                }
+                createGame(exchange);
+                return;
+            }
+            GameSession session = sessions.get(path[2]);
+            if (session == null) {
+                send(exchange, 404, error("Partida não encontrada"));
+                return;
+            }
+            String action = path.length == 3 ? "" : String.join("/", Arrays.copyOfRange(path, 3, path.length));
+            routeGame(exchange, method, action, session);
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            send(exchange, 500, error("Erro interno: " + e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void routeGame(HttpExchange exchange, String method, String action, GameSession session)
+            throws IOException {
+        String route = method + " " + action;
+        switch (route) {
+            case "GET ":
+                send(exchange, 200, state(session.getId(), session.getSnapshot()));
+                break;
+            case "DELETE ":
+                sessions.remove(session.getId());
+                send(exchange, 200, "{\"deleted\":true}");
+                break;
+            case "GET status":
+                send(exchange, 200, status(session.getSnapshot(), new StringBuilder("{")).append('}').toString());
+                break;
+            case "POST place":
+            case "POST remove":
+            case "POST drafts/place":
+            case "POST drafts/remove":
+                move(exchange, action, session);
+                break;
+            case "POST solve":
+                solve(exchange, session);
+                break;
+            default:
+                send(exchange, 404, error("Rota desconhecida: " + route.trim()));
+        }
+    }
+
+    private void createGame(HttpExchange exchange) throws IOException {
+        Map<String, String> body = Json.parseObject(readBody(exchange));
+        SudokuBoard board;
+        String puzzle = body.get("puzzle");
+        if (puzzle != null) {
+            int[] cells = new int[PuzzleText.CELLS];
+            if (!PuzzleText.parseLine(puzzle, cells)) {
+                throw new IllegalArgumentException("O quebra-cabeça deve ter 81 caracteres ('1'-'9', '0' ou '.')");
+            }
+            int[][] grid = new int[9][9];
+            for (int cell = 0; cell < PuzzleText.CELLS; cell++) {
+                grid[cell / 9][cell % 9] = cells[cell];
+            }
+            board = new SudokuBoard(grid);
+        } else {
+            String name = body.get("difficulty");
+            if (name == null) {
+                name = Difficulty.MEDIUM.name();
+            }
+            board = newPuzzle(Difficulty.valueOf(name.toUpperCase())).toBoard();
+        }
+        board.clearPlayerNumbers(); // Inicia o jogo (status INCOMPLETE), como na interface gráfica
+
+        GameSession session = sessions.create(board);
+        if (session == null) {
+            send(exchange, 503, error("Limite de partidas simultâneas atingido"));
+            return;
+        }
+        send(exchange, 201, state(session.getId(), session.getSnapshot()));
+    }
+
+    private Puzzle newPuzzle(Difficulty difficulty) {
+        Puzzle puzzle = puzzlePool == null ? null : puzzlePool.poll(difficulty);
+        if (puzzle == null) {
+            // Fila vazia: gera na própria thread da requisição
+            puzzle = new PuzzleGenerator(new Random(ThreadLocalRandom.current().nextLong())).generate(difficulty);
+        }
+        return puzzle;
+    }
+
+    private void move(HttpExchange exchange, String action, GameSession session) throws IOException {
+        Map<String, String> body = Json.parseObject(readBody(exchange));
+        int row = intField(body, "row");
+        int col = intField(body, "col");
+        int number = action.equals("remove") ? 0 : intField(body, "number");
+
+        BoardSnapshot after;
+        boolean accepted = true;
+        session.lock();
+        try {
+            SudokuBoard board = session.getBoard();
+            switch (action) {
+                case "place":
+                    accepted = board.placeNumber(number, row, col);
+                    break;
+                case "remove":
+                    accepted = board.getNumber(row, col) != 0 && board.removeNumber(row, col);
+                    break;
+                case "drafts/place":
+                    accepted = board.getNumber(row, col) == 0;
+                    if (accepted) {
+                        board.placeDraftNumber(number, row, col);
+                    }
+                    break;
+                default:
+                    board.removeDraftNumber(number, row, col);
+            }
+            after = board.getSnapshot();
+        } finally {
+            session.unlock();
+        }
+        String response = status(after, new StringBuilder("{\"accepted\":").append(accepted).append(','))
+                .append('}').toString();
+        send(exchange, accepted ? 200 : 409, response);
+    }
+
+    private void solve(HttpExchange exchange, GameSession session) throws IOException {
+        BoardSnapshot snapshot = session.getSnapshot();
+        BoardGeometry geometry = snapshot.getGeometry();
+        int[] cells = new int[geometry.getCellCount()];
+        snapshot.copyCells(cells);
+
+        boolean solved = geometry == BoardGeometry.STANDARD
+                ? solver.solveInPlace(cells)
+                : new SudokuSolver(SudokuSolver.Engine.BITMASK, geometry).solveInPlace(cells);
+        if (!solved) {
+            send(exchange, 422, error("O tabuleiro atual não tem solução"));
+            return;
+        }
+        StringBuilder out = new StringBuilder("{\"solution\":");
+        appendInts(out, cells);
+        send(exchange, 200, out.append('}').toString());
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            CanonicalCache<int[]> cache = solver.getCache();
+            send(exchange, 200, "{\"sessions\":" + sessions.size() + ",\"evicted\":" + sessions.getEvictedCount()
+                    + ",\"solutionCache\":{\"size\":" + cache.size() + ",\"hits\":" + cache.getHitCount()
+                    + ",\"misses\":" + cache.getMissCount() + ",\"bypasses\":" + cache.getBypassCount()
+                    + ",\"evictions\":" + cache.getEvictionCount() + ",\"hitRate\":" + cache.getHitRate() + "}}");
+        }
+    }
+
+    private static String state(String id, BoardSnapshot board) {
+        int size = board.getSize();
+        int[] cells = new int[size * size];
+        board.copyCells(cells);
+
+        StringBuilder out = new StringBuilder("{\"id\":");
+        Json.appendString(out, id).append(",\"size\":").append(size).append(",\"cells\":");
+        appendInts(out, cells);
+        out.append(",\"fixed\":[");
+        boolean first = true;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (board.isPositionFixed(cell / size, cell % size)) {
+                out.append(first ? "" : ",").append(cell);
+                first = false;
+            }
+        }
+        out.append("],\"drafts\":[");
+        for (int cell = 0; cell < cells.length; cell++) {
+            out.append(cell == 0 ? "" : ",").append(board.getDraftMask(cell / size, cell % size));
+        }
+        out.append("],");
+        return status(board, out).append('}').toString();
+    }
+
+    private static StringBuilder status(BoardSnapshot board, StringBuilder out) {
+        out.append("\"status\":\"").append(board.getStatus().name())
+                .append("\",\"hasErrors\":").append(board.hasErrors())
+                .append(",\"complete\":").append(board.gameIsCompleteAndValid())
+                .append(",\"message\":");
+        return Json.appendString(out, board.getStatusMessage());
+    }
+
+    private static void appendInts(StringBuilder out, int[] values) {
+        out.append('[');
+        for (int i = 0; i < values.length; i++) {
+            out.append(i == 0 ? "" : ",").append(values[i]);
+        }
+        out.append(']');
+    }
+
+    private static int intField(Map<String, String> body, String name) {
+        String value = body.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Campo obrigatório ausente: " + name);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Campo " + name + " deve ser um número inteiro");
+        }
+    }
+
+    private static String error(String message) {
+        return Json.appendString(new StringBuilder("{\"error\":"), message).append('}').toString();
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Corpo da requisição muito grande");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int code, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.david.sudoku.server;
+
+import com.david.sudoku.model.BoardSnapshot;
+import com.david.sudoku.model.SudokuBoard;
+import com.david.sudoku.replay.GameRecorder;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Uma partida mantida pelo servidor. O {@link SudokuBoard} não é thread-safe, então toda alteração
+ * é feita com o {@link #lock()} da sessão; ReentrantLock em vez de synchronized para não prender a
+ * thread de plataforma de uma thread virtual bloqueada. Consultas usam o {@link BoardSnapshot}
+ * publicado pelo tabuleiro e não precisam do lock.
+ */
+final class GameSession {
+    private final String id;
+    private final SudokuBoard board;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final GameRecorder recorder; // Pode ser null
+    private volatile long lastAccessNanos;
+
+    GameSession(String id, SudokuBoard board, GameRecorder recorder, long now) {
+        this.id = id;
+        this.board = board;
+        this.recorder = recorder;
+        this.lastAccessNanos = now;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    /**
+     * Tabuleiro da partida; só deve ser usado entre {@link #lock()} e {@link #unlock()}.
+     */
+    SudokuBoard getBoard() {
+        return board;
+    }
+
+    BoardSnapshot getSnapshot() {
+        return board.getSnapshot();
+    }
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    void touch(long now) {
+        lastAccessNanos = now;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    /**
+     * Chamado quando a partida sai do {@link SessionStore}: entrega a gravação, se houver, esperando
+     * uma jogada em andamento terminar.
+     */
+    void close() {
+        if (recorder == null) return;
+        lock.lock();
+        try {
+            recorder.finish();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
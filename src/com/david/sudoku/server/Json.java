@@ -0,0 +1,147 @@
+package com.david.sudoku.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON mínimo usado pelo servidor: lê objetos planos (sem objetos ou vetores aninhados) com valores
+ * string, número, booleano ou null, e escapa strings para as respostas, que são montadas com
+ * StringBuilder. Evita dependências externas para um protocolo com meia dúzia de campos.
+ */
+final class Json {
+    private Json() {
+    }
+
+    /**
+     * Lê um objeto plano. Números e booleanos ficam como texto; um corpo vazio resulta num mapa vazio.
+     *
+     * @throws IllegalArgumentException se o texto não for um objeto plano válido
+     */
+    static Map<String, String> parseObject(String text) {
+        Map<String, String> values = new HashMap<>();
+        int[] pos = {skipSpaces(text, 0)};
+        if (pos[0] == text.length()) {
+            return values;
+        }
+        expect(text, pos, '{');
+        if (peek(text, pos) == '}') {
+            pos[0]++;
+        } else {
+            while (true) {
+                String key = readString(text, pos);
+                expect(text, pos, ':');
+                values.put(key, readValue(text, pos));
+                char next = peek(text, pos);
+                pos[0]++;
+                if (next == '}') break;
+                if (next != ',') {
+                    throw new IllegalArgumentException("Esperado ',' ou '}' na posição " + (pos[0] - 1));
+                }
+            }
+        }
+        if (skipSpaces(text, pos[0]) != text.length()) {
+            throw new IllegalArgumentException("Conteúdo após o fim do objeto");
+        }
+        return values;
+    }
+
+    static StringBuilder appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\') {
+                out.append('\\').append(ch);
+            } else if (ch < 0x20) {
+                out.append(String.format("\\u%04x", (int) ch));
+            } else {
+                out.append(ch);
+            }
+        }
+        return out.append('"');
+    }
+
+    private static String readValue(String text, int[] pos) {
+        char ch = peek(text, pos);
+        if (ch == '"') {
+            return readString(text, pos);
+        }
+        if (ch == '{' || ch == '[') {
+            throw new IllegalArgumentException("Valores aninhados não são suportados");
+        }
+        int start = pos[0];
+        while (pos[0] < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos[0])) < 0) {
+            pos[0]++;
+        }
+        String literal = text.substring(start, pos[0]);
+        if (literal.isEmpty()) {
+            throw new IllegalArgumentException("Valor ausente na posição " + start);
+        }
+        return literal.equals("null") ? null : literal;
+    }
+
+    private static String readString(String text, int[] pos) {
+        expect(text, pos, '"');
+        StringBuilder value = new StringBuilder();
+        while (pos[0] < text.length()) {
+            char ch = text.charAt(pos[0]++);
+            if (ch == '"') {
+                return value.toString();
+            }
+            if (ch != '\\') {
+                value.append(ch);
+                continue;
+            }
+            if (pos[0] >= text.length()) break;
+            char escaped = text.charAt(pos[0]++);
+            switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    if (pos[0] + 4 > text.length()) {
+                        throw new IllegalArgumentException("Escape \\u incompleto");
+                    }
+                    value.append((char) Integer.parseInt(text.substring(pos[0], pos[0] + 4), 16));
+                    pos[0] += 4;
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+        throw new IllegalArgumentException("String sem fim");
+    }
+
+    private static void expect(String text, int[] pos, char expected) {
+        if (peek(text, pos) != expected) {
+            throw new IllegalArgumentException("Esperado '" + expected + "' na posição " + pos[0]);
+        }
+        pos[0]++;
+    }
+
+    private static char peek(String text, int[] pos) {
+        pos[0] = skipSpaces(text, pos[0]);
+        if (pos[0] >= text.length()) {
+            throw new IllegalArgumentException("Fim inesperado do JSON");
+        }
+        return text.charAt(pos[0]);
+    }
+
+    private static int skipSpaces(String text, int pos) {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+}
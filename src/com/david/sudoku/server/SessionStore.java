@@ -0,0 +1,116 @@
+package com.david.sudoku.server;
+
+import com.david.sudoku.model.SudokuBoard;
+import com.david.sudoku.replay.GameRecorder;
+import com.david.sudoku.replay.RecordingWriter;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Partidas ativas do servidor num mapa concorrente, com limite de sessões e remoção das que ficam
+ * sem acesso por mais que o tempo ocioso configurado. A varredura roda numa única thread daemon,
+ * a cada quarto do tempo ocioso, então uma sessão dura no máximo 1,25 vez esse tempo sem acesso.
+ * Com um {@link RecordingWriter}, cada partida é gravada do início até sair do mapa.
+ */
+final class SessionStore implements AutoCloseable {
+    private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+    private final int maxSessions;
+    private final long idleNanos;
+    private final ScheduledExecutorService sweeper;
+    private final LongAdder evicted = new LongAdder();
+    private final RecordingWriter recordings; // Pode ser null
+
+    SessionStore(int maxSessions, long idleTimeout, TimeUnit unit, RecordingWriter recordings) {
+        this.maxSessions = maxSessions;
+        this.recordings = recordings;
+        this.idleNanos = unit.toNanos(idleTimeout);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "sudoku-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleNanos / 4);
+        sweeper.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra uma nova partida.
+     *
+     * @return a sessão criada, ou {@code null} se o limite de sessões foi atingido
+     */
+    GameSession create(SudokuBoard board) {
+        if (count.incrementAndGet() > maxSessions) {
+            count.decrementAndGet();
+            return null;
+        }
+        long now = System.nanoTime();
+        GameRecorder recorder = recordings == null ? null : GameRecorder.start(board, recordings);
+        while (true) {
+            String id = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+            GameSession session = new GameSession(id, board, recorder, now);
+            if (sessions.putIfAbsent(id, session) == null) {
+                return session;
+            }
+        }
+    }
+
+    /**
+     * Sessão com o identificador informado, marcada como acessada agora; {@code null} se não existir.
+     */
+    GameSession get(String id) {
+        GameSession session = sessions.get(id);
+        if (session != null) {
+            session.touch(System.nanoTime());
+        }
+        return session;
+    }
+
+    boolean remove(String id) {
+        GameSession session = sessions.remove(id);
+        if (session != null) {
+            count.decrementAndGet();
+            session.close();
+            return true;
+        }
+        return false;
+    }
+
+    int size() {
+        return count.get();
+    }
+
+    long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        Iterator<GameSession> it = sessions.values().iterator();
+        while (it.hasNext()) {
+            GameSession session = it.next();
+            if (now - session.getLastAccessNanos() > idleNanos && sessions.remove(session.getId(), session)) {
+                count.decrementAndGet();
+                evicted.increment();
+                session.close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        for (GameSession session : sessions.values()) {
+            session.close();
+        }
+        sessions.clear();
+        count.set(0);
+    }
+}
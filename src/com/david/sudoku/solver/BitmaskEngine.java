@@ -0,0 +1,267 @@
+package com.david.sudoku.solver;
+
+import com.david.sudoku.model.BoardGeometry;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Backtracking com máscaras de números usados por unidade e escolha da célula com menos candidatos
+ * restantes (MRV). As unidades vêm das tabelas da {@link BoardGeometry}, então linhas, colunas,
+ * blocos e as unidades das variantes são tratadas pelo mesmo laço; nas gaiolas, só são candidatos os
+ * números que ainda deixam a soma atingível pelas células restantes. Todas as estruturas são
+ * alocadas uma única vez.
+ */
+final class BitmaskEngine implements SolverEngine {
+    private final BoardGeometry geometry;
+    private final int cellCount;
+    private final int allNumbers;
+    private final boolean hasSums;
+    // Cópias das tabelas da geometria, lidas direto no laço da busca. As unidades de cada célula
+    // ocupam unitStride posições (3 sem variantes); as que sobram repetem a linha, o que não altera
+    // as máscaras e dispensa o início e fim de cada célula
+    private final int unitStride;
+    private final int[] cellUnits;
+    private final int[] allowed;
+    private final int[] unitSums;
+    private final int[] cells;
+    private final int[] unitUsed; // Números presentes em cada unidade
+    private final int[] unitTotals; // Soma e células vazias das unidades com soma exigida
+    private final int[] unitEmpty;
+    private final int[] empty; // Células vazias; as já decididas ficam no início
+    private int emptyCount;
+
+    private int[] solution;
+    private int solutions;
+    private int limit;
+    private int nodes; // Nós visitados, para verificar a interrupção periodicamente
+    private int guesses;
+    private AtomicInteger shared; // Contagem global numa busca dividida entre threads (ou null)
+    private int sharedLimit;
+
+    BitmaskEngine(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.cellCount = geometry.getCellCount();
+        this.allNumbers = geometry.getAllNumbers();
+        this.cells = new int[cellCount];
+        this.unitUsed = new int[geometry.getUnitCount()];
+        this.unitTotals = new int[geometry.getUnitCount()];
+        this.unitEmpty = new int[geometry.getUnitCount()];
+        this.empty = new int[cellCount];
+        this.allowed = new int[cellCount];
+        int stride = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            stride = Math.max(stride, geometry.getCellUnitCount(cell));
+            allowed[cell] = geometry.getAllowedNumbers(cell);
+        }
+        this.unitStride = stride;
+        this.cellUnits = new int[cellCount * stride];
+        for (int cell = 0; cell < cellCount; cell++) {
+            for (int i = 0; i < stride; i++) {
+                int unit = i < geometry.getCellUnitCount(cell) ? i : 0;
+                cellUnits[cell * stride + i] = geometry.cellUnit(cell, unit);
+            }
+        }
+        this.unitSums = new int[geometry.getUnitCount()];
+        boolean sums = false;
+        for (int unit = 0; unit < unitSums.length; unit++) {
+            unitSums[unit] = geometry.getUnitSum(unit);
+            sums |= unitSums[unit] != 0;
+        }
+        this.hasSums = sums;
+    }
+
+    @Override
+    public int solve(int[] grid, int limit, int[] solution) {
+        if (!load(grid)) {
+            return 0; // Os números iniciais já estão em conflito
+        }
+        this.solution = solution;
+        this.solutions = 0;
+        this.limit = limit;
+        search(0);
+        this.solution = null;
+        return solutions;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes;
+    }
+
+    @Override
+    public int getGuessCount() {
+        return guesses;
+    }
+
+    /**
+     * Conta as soluções de uma parte da busca dividida entre threads: cada solução é somada a
+     * {@code shared}, e a busca para assim que a soma (de todas as threads) atinge {@code limit}.
+     *
+     * @return soluções encontradas por esta chamada
+     */
+    int count(int[] grid, int limit, AtomicInteger shared) {
+        if (!load(grid)) {
+            return 0;
+        }
+        this.shared = shared;
+        this.sharedLimit = limit;
+        this.solutions = 0;
+        this.limit = shared.get() < limit ? limit : 0;
+        search(0);
+        this.shared = null;
+        return solutions;
+    }
+
+    private boolean load(int[] grid) {
+        nodes = 0;
+        guesses = 0;
+        Arrays.fill(unitUsed, 0);
+        if (hasSums) {
+            Arrays.fill(unitTotals, 0);
+            for (int unit = 0; unit < unitEmpty.length; unit++) {
+                unitEmpty[unit] = geometry.getUnitSize(unit);
+            }
+        }
+        emptyCount = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int number = grid[cell];
+            cells[cell] = number;
+            if (number == 0) {
+                empty[emptyCount++] = cell;
+                continue;
+            }
+            int bit = 1 << (number - 1);
+            if ((allowed[cell] & bit) == 0) {
+                return false;
+            }
+            for (int i = 0; i < geometry.getCellUnitCount(cell); i++) {
+                int unit = geometry.cellUnit(cell, i);
+                if ((unitUsed[unit] & bit) != 0) {
+                    return false;
+                }
+                unitUsed[unit] |= bit;
+            }
+            if (hasSums) {
+                addToSums(cell, number, 1);
+            }
+        }
+        if (hasSums) {
+            // Gaiolas já completas não passam pela busca: a soma é conferida aqui
+            for (int unit = 0; unit < unitEmpty.length; unit++) {
+                if (unitEmpty[unit] == 0 && unitTotals[unit] != unitSums[unit]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void search(int depth) {
+        if ((++nodes & INTERRUPT_CHECK_MASK) == 0 && (Thread.currentThread().isInterrupted()
+                || shared != null && shared.get() >= sharedLimit)) {
+            limit = 0; // Encerra todos os níveis da busca
+            return;
+        }
+        if (depth == emptyCount) {
+            if (solutions++ == 0 && solution != null) {
+                System.arraycopy(cells, 0, solution, 0, cellCount);
+            }
+            if (shared != null && shared.incrementAndGet() >= sharedLimit) {
+                limit = 0; // Outra thread pode ter contribuído para atingir o limite
+            }
+            return;
+        }
+
+        // MRV: escolhe a célula vazia com menos candidatos
+        int best = depth;
+        int bestMask = 0;
+        int bestCount = Integer.MAX_VALUE;
+        for (int i = depth; i < emptyCount; i++) {
+            int mask = candidates(empty[i]);
+            int count = Integer.bitCount(mask);
+            if (count < bestCount) {
+                best = i;
+                bestMask = mask;
+                bestCount = count;
+                if (count <= 1) break;
+            }
+        }
+        if (bestCount == 0) {
+            return; // Beco sem saída
+        }
+        if (bestCount > 1) {
+            guesses++;
+        }
+
+        int cell = empty[best];
+        empty[best] = empty[depth];
+        empty[depth] = cell;
+
+        int from = cell * unitStride;
+        int to = from + unitStride;
+        int row = cellUnits[from];
+        int col = cellUnits[from + 1];
+        int box = cellUnits[from + 2];
+        int mask = bestMask;
+        while (mask != 0 && solutions < limit) {
+            int bit = mask & -mask;
+            mask ^= bit;
+            int number = Integer.numberOfTrailingZeros(bit) + 1;
+            unitUsed[row] |= bit;
+            unitUsed[col] |= bit;
+            unitUsed[box] |= bit;
+            for (int k = from + 3; k < to; k++) {
+                unitUsed[cellUnits[k]] |= bit;
+            }
+            if (hasSums) {
+                addToSums(cell, number, 1);
+            }
+            cells[cell] = number;
+
+            search(depth + 1);
+
+            unitUsed[row] &= ~bit;
+            unitUsed[col] &= ~bit;
+            unitUsed[box] &= ~bit;
+            for (int k = from + 3; k < to; k++) {
+                unitUsed[cellUnits[k]] &= ~bit;
+            }
+            if (hasSums) {
+                addToSums(cell, -number, -1);
+            }
+        }
+        cells[cell] = 0;
+    }
+
+    // Números permitidos na célula, ausentes de todas as suas unidades e compatíveis com as somas
+    private int candidates(int cell) {
+        // Toda célula tem pelo menos linha, coluna e bloco
+        int from = cell * unitStride;
+        int to = from + unitStride;
+        int used = unitUsed[cellUnits[from]] | unitUsed[cellUnits[from + 1]] | unitUsed[cellUnits[from + 2]];
+        for (int k = from + 3; k < to; k++) {
+            used |= unitUsed[cellUnits[k]];
+        }
+        int mask = allowed[cell] & ~used;
+        if (hasSums && mask != 0) {
+            for (int i = 0; i < geometry.getCellUnitCount(cell); i++) {
+                int unit = geometry.cellUnit(cell, i);
+                if (unitSums[unit] != 0) {
+                    mask &= geometry.sumCandidates(unit, unitUsed[unit], unitTotals[unit], unitEmpty[unit]);
+                }
+            }
+        }
+        return mask;
+    }
+
+    private void addToSums(int cell, int number, int filled) {
+        for (int i = 0; i < geometry.getCellUnitCount(cell); i++) {
+            int unit = geometry.cellUnit(cell, i);
+            if (unitSums[unit] != 0) {
+                unitTotals[unit] += number;
+                unitEmpty[unit] -= filled;
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.david.sudoku.solver;
+
+import com.david.sudoku.model.BoardGeometry;
+
+/**
+ * Algoritmo X de Knuth com dancing links sobre a matriz de cobertura exata do Sudoku
+ * (4 * size² colunas de restrição e size³ linhas de escolha; 324 e 729 no 9x9). Os nós são
+ * vetores de int reaproveitados a cada chamada, então a busca não aloca objetos. Só as regras
+ * clássicas: as somas das gaiolas não cabem numa cobertura exata, e as variantes ficam com o
+ * {@link BitmaskEngine}.
+ */
+final class DancingLinksEngine implements SolverEngine {
+    private static final int ROOT = 0;
+
+    private final BoardGeometry geometry;
+    private final int digits; // Números por unidade
+    private final int cellCount;
+    private final int columns;
+    private final int choices;
+
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column;
+    private final int[] choice;
+    private final int[] size;
+
+    private final int[] chosen; // Linha escolhida em cada profundidade
+    private final int[] cells;
+
+    private int[] solution;
+    private int solutions;
+    private int limit;
+    private int nodes; // Nós visitados, para verificar a interrupção periodicamente
+    private int guesses;
+
+    DancingLinksEngine(BoardGeometry geometry) {
+        if (geometry.hasConstraints()) {
+            throw new IllegalArgumentException("Dancing links resolve apenas as regras clássicas");
+        }
+        this.geometry = geometry;
+        this.digits = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.columns = cellCount * 4;
+        this.choices = cellCount * digits;
+        int nodes = 1 + columns + choices * 4;
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.up = new int[nodes];
+        this.down = new int[nodes];
+        this.column = new int[nodes];
+        this.choice = new int[nodes];
+        this.size = new int[columns + 1];
+        this.chosen = new int[cellCount];
+        this.cells = new int[cellCount];
+    }
+
+    @Override
+    public int solve(int[] grid, int limit, int[] solution) {
+        this.nodes = 0;
+        this.guesses = 0;
+        build();
+        System.arraycopy(grid, 0, cells, 0, cellCount);
+        for (int cell = 0; cell < cellCount; cell++) {
+            int number = grid[cell];
+            if (number != 0 && !select(firstNode(cell * digits + number - 1))) {
+                return 0; // Os números iniciais já estão em conflito
+            }
+        }
+        this.solution = solution;
+        this.solutions = 0;
+        this.limit = limit;
+        search(0);
+        this.solution = null;
+        return solutions;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes;
+    }
+
+    @Override
+    public int getGuessCount() {
+        return guesses;
+    }
+
+    private void build() {
+        for (int h = 0; h <= columns; h++) {
+            left[h] = h == 0 ? columns : h - 1;
+            right[h] = h == columns ? 0 : h + 1;
+            up[h] = h;
+            down[h] = h;
+            column[h] = h;
+            size[h] = 0;
+        }
+        for (int row = 0; row < choices; row++) {
+            int cell = row / digits;
+            int digit = row % digits;
+            int first = firstNode(row);
+            appendNode(first, 1 + cell, row);
+            appendNode(first + 1, 1 + cellCount + geometry.rowOf(cell) * digits + digit, row);
+            appendNode(first + 2, 1 + cellCount * 2 + geometry.colOf(cell) * digits + digit, row);
+            appendNode(first + 3, 1 + cellCount * 3 + geometry.boxOf(cell) * digits + digit, row);
+            for (int k = 0; k < 4; k++) {
+                left[first + k] = first + (k + 3) % 4;
+                right[first + k] = first + (k + 1) % 4;
+            }
+        }
+    }
+
+    private int firstNode(int row) {
+        return 1 + columns + row * 4;
+    }
+
+    private void appendNode(int node, int header, int row) {
+        column[node] = header;
+        choice[node] = row;
+        up[node] = up[header];
+        down[node] = header;
+        down[up[header]] = node;
+        up[header] = node;
+        size[header]++;
+    }
+
+    // Fixa um número inicial cobrindo as quatro restrições da sua linha
+    private boolean select(int node) {
+        int j = node;
+        do {
+            int header = column[j];
+            if (right[left[header]] != header) {
+                return false; // Restrição já coberta por outro número inicial
+            }
+            cover(header);
+            j = right[j];
+        } while (j != node);
+        return true;
+    }
+
+    private void search(int depth) {
+        if ((++nodes & INTERRUPT_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+            limit = 0; // Encerra todos os níveis da busca
+            return;
+        }
+        if (right[ROOT] == ROOT) {
+            if (solutions++ == 0 && solution != null) {
+                System.arraycopy(cells, 0, solution, 0, cellCount);
+                for (int i = 0; i < depth; i++) {
+                    int row = chosen[i];
+                    solution[row / digits] = row % digits + 1;
+                }
+            }
+            return;
+        }
+
+        // Escolhe a coluna com menos linhas (heurística S de Knuth)
+        int best = right[ROOT];
+        for (int h = right[best]; h != ROOT; h = right[h]) {
+            if (size[h] < size[best]) {
+                best = h;
+                if (size[h] <= 1) break;
+            }
+        }
+        if (size[best] == 0) {
+            return;
+        }
+        if (size[best] > 1) {
+            guesses++;
+        }
+
+        cover(best);
+        for (int r = down[best]; r != best && solutions < limit; r = down[r]) {
+            chosen[depth] = choice[r];
+            for (int j = right[r]; j != r; j = right[j]) {
+                cover(column[j]);
+            }
+            search(depth + 1);
+            for (int j = left[r]; j != r; j = left[j]) {
+                uncover(column[j]);
+            }
+        }
+        uncover(best);
+    }
+
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+        for (int i = down[header]; i != header; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                up[down[j]] = up[j];
+                down[up[j]] = down[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int header) {
+        for (int i = up[header]; i != header; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                size[column[j]]++;
+                up[down[j]] = j;
+                down[up[j]] = j;
+            }
+        }
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
@@ -0,0 +1,179 @@
+package com.david.sudoku.solver;
+
+import com.david.sudoku.metrics.SudokuMetrics;
+import com.david.sudoku.metrics.SudokuMetrics.Operation;
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.SudokuBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conta soluções usando todos os núcleos: os primeiros níveis da árvore de busca (a célula com menos
+ * candidatos e cada um dos seus números) viram tarefas fork/join, até haver subárvores suficientes
+ * para ocupar o pool, e cada subárvore é contada pelo {@link BitmaskEngine} da thread. Todas as
+ * tarefas somam num contador único e param assim que ele atinge o limite, então tabuleiros quase
+ * vazios respondem rapidamente com o limite em vez de enumerar a árvore inteira.
+ * <p>
+ * Thread-safe: pode ser compartilhado; cada thread do pool usa seu próprio motor.
+ */
+public class ParallelSolutionCounter {
+    private static final int TASKS_PER_THREAD = 32; // Subárvores por thread, para equilibrar a carga
+    private static final int MAX_SPLIT_DEPTH = 16;
+
+    private final BoardGeometry geometry;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<BitmaskEngine> engines;
+
+    public ParallelSolutionCounter(BoardGeometry geometry) {
+        this(geometry, ForkJoinPool.commonPool());
+    }
+
+    public ParallelSolutionCounter(BoardGeometry geometry, ForkJoinPool pool) {
+        this.geometry = geometry;
+        this.pool = pool;
+        this.engines = ThreadLocal.withInitial(() -> new BitmaskEngine(geometry));
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Conta as soluções da grade (em ordem de linha, 0 = vazio; não é alterada), parando em {@code limit}.
+     *
+     * @return quantidade de soluções, no máximo {@code limit}
+     * @throws InterruptedException se a thread que chamou for interrompida; as tarefas são encerradas
+     */
+    public int countSolutions(int[] cells, int limit) throws InterruptedException {
+        if (cells.length != geometry.getCellCount()) {
+            throw new IllegalArgumentException("A grade deve ter " + geometry.getCellCount() + " células");
+        }
+        if (limit <= 0) {
+            return 0;
+        }
+        // Cada thread ainda soma a solução que encontrou ao atingir o limite: folga contra overflow
+        limit = Math.min(limit, Integer.MAX_VALUE / 2);
+        long start = SudokuMetrics.start();
+        AtomicInteger found = new AtomicInteger();
+        int target = pool.getParallelism() * TASKS_PER_THREAD;
+        ForkJoinTask<Void> task = pool.submit(new CountTask(cells.clone(), limit, found, 1, target, 0));
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            found.accumulateAndGet(limit, Math::max); // Faz todas as tarefas pararem na próxima verificação
+            task.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na contagem de soluções", e.getCause());
+        }
+        int solutions = Math.min(found.get(), limit);
+        SudokuMetrics.record(Operation.COUNT_SOLUTIONS, start, solutions > 0);
+        return solutions;
+    }
+
+    /**
+     * Conta as soluções do estado atual do tabuleiro (números fixos e do jogador), sem alterá-lo.
+     */
+    public int countSolutions(SudokuBoard board, int limit) throws InterruptedException {
+        if (board.getGeometry() != geometry) {
+            int size = geometry.getSize();
+            throw new IllegalArgumentException("O tabuleiro deve ter " + size + "x" + size + " células");
+        }
+        int[] cells = new int[geometry.getCellCount()];
+        board.copyCells(cells);
+        return countSolutions(cells, limit);
+    }
+
+    public boolean hasUniqueSolution(int[] cells) throws InterruptedException {
+        return countSolutions(cells, 2) == 1;
+    }
+
+    private final class CountTask extends RecursiveAction {
+        private final int[] grid;
+        private final int limit;
+        private final AtomicInteger found;
+        private final long subtrees; // Estimativa de subárvores já criadas no nível desta tarefa
+        private final int target;
+        private final int depth;
+
+        CountTask(int[] grid, int limit, AtomicInteger found, long subtrees, int target, int depth) {
+            this.grid = grid;
+            this.limit = limit;
+            this.found = found;
+            this.subtrees = subtrees;
+            this.target = target;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get() >= limit) {
+                return;
+            }
+            if (subtrees >= target || depth >= MAX_SPLIT_DEPTH) {
+                engines.get().count(grid, limit, found);
+                return;
+            }
+
+            // Só as unidades e os números permitidos: as somas das gaiolas ficam para o motor
+            int[] unitUsed = new int[geometry.getUnitCount()];
+            for (int cell = 0; cell < grid.length; cell++) {
+                int number = grid[cell];
+                if (number == 0) continue;
+                int bit = 1 << (number - 1);
+                if ((geometry.getAllowedNumbers(cell) & bit) == 0) {
+                    return; // Número proibido na célula: nenhuma solução
+                }
+                for (int i = 0; i < geometry.getCellUnitCount(cell); i++) {
+                    int unit = geometry.cellUnit(cell, i);
+                    if ((unitUsed[unit] & bit) != 0) {
+                        return; // Números em conflito: nenhuma solução
+                    }
+                    unitUsed[unit] |= bit;
+                }
+            }
+
+            // Divide pela célula vazia com menos candidatos, como a busca sequencial
+            int bestCell = -1;
+            int bestMask = 0;
+            int bestCount = geometry.getSize() + 1;
+            for (int cell = 0; cell < grid.length && bestCount > 1; cell++) {
+                if (grid[cell] != 0) continue;
+                int used = 0;
+                for (int i = 0; i < geometry.getCellUnitCount(cell); i++) {
+                    used |= unitUsed[geometry.cellUnit(cell, i)];
+                }
+                int mask = geometry.getAllowedNumbers(cell) & ~used;
+                int count = Integer.bitCount(mask);
+                if (count < bestCount) {
+                    bestCell = cell;
+                    bestMask = mask;
+                    bestCount = count;
+                }
+            }
+            if (bestCell < 0) {
+                engines.get().count(grid, limit, found); // Grade completa: o motor confere as somas
+                return;
+            }
+            if (bestCount == 0) {
+                return;
+            }
+
+            List<CountTask> children = new ArrayList<>(bestCount);
+            for (int mask = bestMask; mask != 0; mask &= mask - 1) {
+                int[] child = grid.clone();
+                child[bestCell] = Integer.numberOfTrailingZeros(mask) + 1;
+                // Uma célula com um só candidato não divide a árvore: segue no mesmo nível
+                children.add(new CountTask(child, limit, found, subtrees * bestCount, target,
+                        bestCount > 1 ? depth + 1 : depth));
+            }
+            invokeAll(children);
+        }
+    }
+}
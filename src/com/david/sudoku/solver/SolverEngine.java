@@ -0,0 +1,27 @@
+package com.david.sudoku.solver;
+
+/**
+ * Motor de busca usado pelo {@link SudokuSolver}. Implementações não são thread-safe:
+ * reutilizam suas estruturas internas entre chamadas para não alocar no laço de busca.
+ */
+interface SolverEngine {
+    /** A interrupção da thread é verificada a cada 1024 nós da busca. */
+    int INTERRUPT_CHECK_MASK = 1023;
+
+    /**
+     * Procura até {@code limit} soluções para o tabuleiro informado.
+     *
+     * @param grid     células em ordem de linha, 0 representa uma célula vazia (não é alterado)
+     * @param limit    número máximo de soluções a contar antes de interromper a busca
+     * @param solution recebe a primeira solução encontrada, se houver
+     * @return quantidade de soluções encontradas (no máximo {@code limit}); se a thread for
+     * interrompida, a busca é abandonada e o valor é parcial (o status de interrupção é mantido)
+     */
+    int solve(int[] grid, int limit, int[] solution);
+
+    /** Nós visitados pela última chamada de {@link #solve}. */
+    int getNodeCount();
+
+    /** Nós da última chamada em que a escolha tinha mais de uma opção (chutes). */
+    int getGuessCount();
+}
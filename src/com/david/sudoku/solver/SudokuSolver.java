@@ -0,0 +1,167 @@
+package com.david.sudoku.solver;
+
+import com.david.sudoku.metrics.SolverEvent;
+import com.david.sudoku.metrics.SudokuMetrics;
+import com.david.sudoku.metrics.SudokuMetrics.Operation;
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.SudokuBoard;
+
+/**
+ * Resolve tabuleiros de um tamanho fixo (9x9 por padrão, ou 16x16 e 25x25 via {@link BoardGeometry}),
+ * com as regras da geometria, inclusive as das variantes.
+ * Cada instância mantém seu próprio motor e buffers reutilizáveis, portanto não deve ser
+ * compartilhada entre threads: use uma instância por thread. Interromper a thread abandona a busca
+ * em andamento; o resultado dessa chamada deve ser descartado.
+ */
+public class SudokuSolver {
+    public enum Engine {
+        BITMASK,       // Backtracking com máscaras de bits e MRV
+        DANCING_LINKS  // Algoritmo X com dancing links (só as regras clássicas)
+    }
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cellCount;
+    private final Engine engineType;
+    private final SolverEngine engine;
+    private final int[] input;
+    private final int[] output;
+
+    public SudokuSolver() {
+        this(Engine.BITMASK);
+    }
+
+    public SudokuSolver(Engine engine) {
+        this(engine, BoardGeometry.STANDARD);
+    }
+
+    public SudokuSolver(Engine engine, BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.engineType = engine;
+        this.engine = engine == Engine.DANCING_LINKS ? new DancingLinksEngine(geometry) : new BitmaskEngine(geometry);
+        this.input = new int[cellCount];
+        this.output = new int[cellCount];
+    }
+
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Resolve o tabuleiro atual (números fixos e do jogador) sem alterá-lo.
+     *
+     * @return a grade resolvida, ou {@code null} se não houver solução
+     */
+    public int[][] solve(SudokuBoard board) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("O tabuleiro deve ter " + size + "x" + size + " células");
+        }
+        board.copyCells(input);
+        return solveInput();
+    }
+
+    /**
+     * Resolve uma grade quadrada do tamanho do resolvedor no formato de {@link SudokuBoard#getBoard()} (0 = vazio).
+     *
+     * @return uma nova grade resolvida, ou {@code null} se não houver solução
+     */
+    public int[][] solve(int[][] grid) {
+        if (grid.length != size) {
+            throw new IllegalArgumentException("A grade deve ter " + size + " linhas");
+        }
+        for (int r = 0; r < size; r++) {
+            if (grid[r].length != size) {
+                throw new IllegalArgumentException("A linha " + r + " deve ter " + size + " colunas");
+            }
+            System.arraycopy(grid[r], 0, input, r * size, size);
+        }
+        return solveInput();
+    }
+
+    private int[][] solveInput() {
+        if (!solveInPlace(input)) {
+            return null;
+        }
+        int[][] solved = new int[size][size];
+        for (int r = 0; r < size; r++) {
+            System.arraycopy(input, r * size, solved[r], 0, size);
+        }
+        return solved;
+    }
+
+    /**
+     * Resolve uma grade (81 células no 9x9) em ordem de linha, sobrescrevendo-a com a solução.
+     * Não aloca memória, sendo adequado para processamento em lote.
+     *
+     * @return {@code true} se uma solução foi encontrada (a grade só é alterada nesse caso)
+     */
+    public boolean solveInPlace(int[] cells) {
+        checkLength(cells);
+        if (search(Operation.SOLVE, cells, 1, output) == 0) {
+            return false;
+        }
+        System.arraycopy(output, 0, cells, 0, cellCount);
+        return true;
+    }
+
+    /**
+     * Conta as soluções da grade, interrompendo a busca ao atingir {@code limit}.
+     * Com {@code limit = 2} responde se a solução é única.
+     */
+    public int countSolutions(int[] cells, int limit) {
+        checkLength(cells);
+        return search(Operation.COUNT_SOLUTIONS, cells, limit, null);
+    }
+
+    public boolean hasUniqueSolution(int[] cells) {
+        return countSolutions(cells, 2) == 1;
+    }
+
+    /**
+     * Nós visitados pela última busca ({@link #solveInPlace(int[])}, {@link #countSolutions(int[], int)}
+     * ou {@code solve}), uma medida do esforço de backtracking que a grade exigiu.
+     */
+    public int getLastNodeCount() {
+        return engine.getNodeCount();
+    }
+
+    /**
+     * Pontos da última busca em que foi preciso escolher entre mais de um número (ou, no
+     * {@link Engine#DANCING_LINKS}, entre mais de uma linha): os chutes de quem resolve à mão.
+     */
+    public int getLastGuessCount() {
+        return engine.getGuessCount();
+    }
+
+    private int search(Operation operation, int[] cells, int limit, int[] solution) {
+        SolverEvent event = SudokuMetrics.eventsEnabled() ? new SolverEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = SudokuMetrics.start();
+        int solutions = engine.solve(cells, limit, solution);
+        SudokuMetrics.record(operation, start, solutions > 0);
+        if (event != null && event.shouldCommit()) {
+            int clues = 0;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (cells[cell] != 0) clues++;
+            }
+            event.engine = engineType.name();
+            event.size = size;
+            event.clues = clues;
+            event.limit = limit;
+            event.solutions = solutions;
+            event.interrupted = Thread.currentThread().isInterrupted();
+            event.commit();
+        }
+        return solutions;
+    }
+
+    private void checkLength(int[] cells) {
+        if (cells.length != cellCount) {
+            throw new IllegalArgumentException("A grade deve ter " + cellCount + " células");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.david.sudoku.validation;
+
+/**
+ * Valida lotes de grades 9x9 completas guardadas lado a lado num único {@code byte[]} (81 bytes por
+ * grade, em ordem de linha). Para cada grade informa se é válida ou a primeira unidade com conflito:
+ * linhas 0-8, colunas 9-17 e blocos 18-26, na mesma numeração do {@code BoardGeometry}.
+ * <p>
+ * Com o módulo incubado {@code jdk.incubator.vector} ativo ({@code --add-modules jdk.incubator.vector})
+ * e o código compilado com o perfil Maven {@code vector}, as grades são verificadas com instruções
+ * SIMD; caso contrário, por um caminho escalar com máscaras de bits. Os resultados são os mesmos.
+ * Thread-safe: não guarda estado entre chamadas.
+ */
+public final class BatchValidator {
+    public static final int CELLS = 81;
+    public static final int VALID = -1;
+
+    private static final String VECTOR_MODULE_CLASS = "jdk.incubator.vector.IntVector";
+    private static final String VECTOR_IMPLEMENTATION = "com.david.sudoku.validation.VectorGridValidator";
+
+    private final GridValidator validator;
+    private final boolean vectorized;
+
+    private BatchValidator(GridValidator validator, boolean vectorized) {
+        this.validator = validator;
+        this.vectorized = vectorized;
+    }
+
+    /**
+     * Validador vetorizado quando disponível (módulo ativo, classe compilada e vetores de pelo menos
+     * 256 bits), senão o escalar.
+     */
+    public static BatchValidator create() {
+        if (vectorModulePresent()) {
+            try {
+                GridValidator vector = (GridValidator) Class.forName(VECTOR_IMPLEMENTATION)
+                        .getDeclaredConstructor().newInstance();
+                return new BatchValidator(vector, true);
+            } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+                // Compilado sem o perfil vector ou sem suporte do processador: segue no escalar
+            }
+        }
+        return scalar();
+    }
+
+    // Procura uma classe do módulo sem inicializá-la: ModuleLayer.findModule custa ~20 ms de streams e
+    // lambdas na partida da JVM, para um modo em lote que termina em pouco mais que isso
+    private static boolean vectorModulePresent() {
+        try {
+            Class.forName(VECTOR_MODULE_CLASS, false, null);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public static BatchValidator scalar() {
+        return new BatchValidator(new ScalarGridValidator(), false);
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Valida as primeiras {@code count} grades de {@code grids}.
+     *
+     * @param results recebe, por grade, {@link #VALID} ou a primeira unidade com conflito
+     * @return quantidade de grades válidas
+     */
+    public int validate(byte[] grids, int count, int[] results) {
+        if (count < 0 || (long) count * CELLS > grids.length || count > results.length) {
+            throw new IllegalArgumentException("Lote com " + count + " grades não cabe nos arrays informados");
+        }
+        return validator.validate(grids, 0, count, results);
+    }
+
+    /**
+     * Copia uma grade de 81 células para a posição {@code index} do lote.
+     */
+    public static void pack(int[] cells, byte[] grids, int index) {
+        int offset = index * CELLS;
+        for (int cell = 0; cell < CELLS; cell++) {
+            grids[offset + cell] = (byte) cells[cell];
+        }
+    }
+
+    /**
+     * Nome da unidade para mensagens, com linhas, colunas e blocos a partir de 0.
+     */
+    public static String describeUnit(int unit) {
+        if (unit < 9) {
+            return "linha " + unit;
+        }
+        if (unit < 18) {
+            return "coluna " + (unit - 9);
+        }
+        return "bloco " + (unit - 18);
+    }
+}
@@ -0,0 +1,14 @@
+package com.david.sudoku.validation;
+
+/**
+ * Implementação da validação usada por {@link BatchValidator}.
+ */
+interface GridValidator {
+    /**
+     * Valida as grades {@code from} a {@code from + count - 1} de {@code grids} (81 bytes cada),
+     * escrevendo em {@code results[i]} {@link BatchValidator#VALID} ou a primeira unidade com conflito.
+     *
+     * @return quantidade de grades válidas
+     */
+    int validate(byte[] grids, int from, int count, int[] results);
+}
@@ -0,0 +1,62 @@
+package com.david.sudoku.validation;
+
+import java.util.Arrays;
+
+/**
+ * Validação escalar: cada número vira um bit (1 << número) e uma unidade está correta quando o OR
+ * dos bits das suas 9 células tem exatamente os bits de 1 a 9. Vazios (0) e valores fora de 1-9
+ * não contribuem com nenhum bit, então também deixam a unidade incompleta.
+ */
+final class ScalarGridValidator implements GridValidator {
+    static final int FULL = 0x3FE; // Bits 1 a 9
+    private static final int SIZE = 9;
+    private static final int CELLS = BatchValidator.CELLS;
+
+    // Bit de cada byte (0 fora de 1-9)
+    static final int[] BITS = new int[256];
+
+    static {
+        for (int number = 1; number <= SIZE; number++) {
+            BITS[number] = 1 << number;
+        }
+    }
+
+    @Override
+    public int validate(byte[] grids, int from, int count, int[] results) {
+        int[] masks = new int[3 * SIZE];
+        int valid = 0;
+        for (int i = from; i < from + count; i++) {
+            int result = firstConflict(grids, i * CELLS, masks);
+            results[i] = result;
+            if (result == BatchValidator.VALID) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Primeira unidade incorreta da grade que começa em {@code offset} (linhas 0-8, colunas 9-17,
+     * blocos 18-26), ou {@link BatchValidator#VALID}.
+     *
+     * @param masks área de trabalho com 27 posições
+     */
+    static int firstConflict(byte[] grids, int offset, int[] masks) {
+        Arrays.fill(masks, 0);
+        for (int row = 0; row < SIZE; row++) {
+            int box = 2 * SIZE + row / 3 * 3;
+            for (int col = 0; col < SIZE; col++) {
+                int bit = BITS[grids[offset + row * SIZE + col] & 0xFF];
+                masks[row] |= bit;
+                masks[SIZE + col] |= bit;
+                masks[box + col / 3] |= bit;
+            }
+        }
+        for (int unit = 0; unit < masks.length; unit++) {
+            if (masks[unit] != FULL) {
+                return unit;
+            }
+        }
+        return BatchValidator.VALID;
+    }
+}
@@ -0,0 +1,27 @@
+package com.david.sudoku.variant;
+
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.Constraint;
+
+/**
+ * Sudoku X: os números também não se repetem nas duas diagonais principais.
+ */
+public final class DiagonalConstraint implements Constraint {
+    @Override
+    public void apply(BoardGeometry.Rules rules) {
+        int size = rules.getSize();
+        int[] main = new int[size];
+        int[] anti = new int[size];
+        for (int i = 0; i < size; i++) {
+            main[i] = rules.cell(i, i);
+            anti[i] = rules.cell(i, size - 1 - i);
+        }
+        rules.addUnit(main);
+        rules.addUnit(anti);
+    }
+
+    @Override
+    public String getName() {
+        return "diagonais";
+    }
+}
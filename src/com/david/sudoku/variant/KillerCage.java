@@ -0,0 +1,36 @@
+package com.david.sudoku.variant;
+
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.Constraint;
+
+/**
+ * Gaiola do Killer Sudoku: células (em ordem de linha, {@code linha * size + coluna}) cujos números
+ * não se repetem e somam {@code sum}. As células e a soma são validadas ao montar a geometria.
+ */
+public final class KillerCage implements Constraint {
+    private final int sum;
+    private final int[] cells;
+
+    public KillerCage(int sum, int... cells) {
+        this.sum = sum;
+        this.cells = cells.clone();
+    }
+
+    public int getSum() {
+        return sum;
+    }
+
+    public int[] getCells() {
+        return cells.clone();
+    }
+
+    @Override
+    public void apply(BoardGeometry.Rules rules) {
+        rules.addCage(sum, cells);
+    }
+
+    @Override
+    public String getName() {
+        return "gaiola " + sum;
+    }
+}
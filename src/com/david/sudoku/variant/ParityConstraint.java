@@ -0,0 +1,48 @@
+package com.david.sudoku.variant;
+
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.Constraint;
+
+/**
+ * Par/ímpar: as células indicadas (em ordem de linha) só aceitam números pares, ou só ímpares.
+ */
+public final class ParityConstraint implements Constraint {
+    private static final int EVEN_NUMBERS = 0xAAAAAAA; // Bits dos números 2, 4, ..., 24
+    private static final int ODD_NUMBERS = 0x5555555;  // Bits dos números 1, 3, ..., 25
+
+    private final boolean even;
+    private final int[] cells;
+
+    private ParityConstraint(boolean even, int[] cells) {
+        this.even = even;
+        this.cells = cells.clone();
+    }
+
+    public static ParityConstraint even(int... cells) {
+        return new ParityConstraint(true, cells);
+    }
+
+    public static ParityConstraint odd(int... cells) {
+        return new ParityConstraint(false, cells);
+    }
+
+    public boolean isEven() {
+        return even;
+    }
+
+    public int[] getCells() {
+        return cells.clone();
+    }
+
+    @Override
+    public void apply(BoardGeometry.Rules rules) {
+        for (int cell : cells) {
+            rules.restrictNumbers(cell, even ? EVEN_NUMBERS : ODD_NUMBERS);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return even ? "células pares" : "células ímpares";
+    }
+}
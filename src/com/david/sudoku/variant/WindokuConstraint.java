@@ -0,0 +1,30 @@
+package com.david.sudoku.variant;
+
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.Constraint;
+
+/**
+ * Windoku: blocos extras do tamanho de um bloco ("janelas"), deslocados uma linha e uma coluna para
+ * dentro e separados por uma linha e uma coluna. São 4 janelas no 9x9 (a partir das linhas e colunas
+ * 1 e 5), 9 no 16x16 e 16 no 25x25.
+ */
+public final class WindokuConstraint implements Constraint {
+    @Override
+    public void apply(BoardGeometry.Rules rules) {
+        int box = rules.getBoxSize();
+        for (int top = 1; top + box < rules.getSize(); top += box + 1) {
+            for (int left = 1; left + box < rules.getSize(); left += box + 1) {
+                int[] cells = new int[box * box];
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = rules.cell(top + i / box, left + i % box);
+                }
+                rules.addUnit(cells);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "janelas";
+    }
+}
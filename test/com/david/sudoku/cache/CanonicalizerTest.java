@@ -0,0 +1,148 @@
+package com.david.sudoku.cache;
+
+import com.david.sudoku.generator.Difficulty;
+import com.david.sudoku.generator.Puzzle;
+import com.david.sudoku.generator.PuzzleGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class CanonicalizerTest {
+    private static final int CELLS = Canonicalizer.CELLS;
+
+    private final Canonicalizer canonicalizer = new Canonicalizer();
+    private final Random random = new Random(7);
+
+    @Test
+    void equivalentGridsShareTheKey() {
+        PuzzleGenerator generator = new PuzzleGenerator(new Random(3));
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int i = 0; i < 5; i++) {
+                int[] clues = generator.generate(difficulty).getClues();
+                CanonicalForm form = canonicalize(clues);
+                for (int t = 0; t < 5; t++) {
+                    int[] variant = transform(clues);
+                    assertEquals(form.getKey(), canonicalize(variant).getKey(), difficulty + " " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void differentPuzzlesHaveDifferentKeys() {
+        PuzzleGenerator generator = new PuzzleGenerator(new Random(5));
+        int[] first = generator.generate(Difficulty.MEDIUM).getClues();
+        int[] second = generator.generate(Difficulty.MEDIUM).getClues();
+        assertNotEquals(canonicalize(first).getKey(), canonicalize(second).getKey());
+    }
+
+    @Test
+    void keyIsTheTransformedGrid() {
+        int[] clues = new PuzzleGenerator(new Random(11)).generate(Difficulty.HARD).getClues();
+        CanonicalForm form = canonicalize(clues);
+        int[] canonical = new int[CELLS];
+        form.toCanonical(clues, canonical);
+        assertEquals(form.getKey(), CanonicalKey.of(canonical));
+
+        int[] copied = new int[CELLS];
+        form.getKey().copyCells(copied);
+        assertArrayEquals(canonical, copied);
+    }
+
+    @Test
+    void solutionTravelsBetweenEquivalentGrids() {
+        // O que o cache faz: a solução de uma grade, na forma canônica, resolve as equivalentes
+        Puzzle puzzle = new PuzzleGenerator(new Random(13)).generate(Difficulty.EXPERT);
+        int[] clues = puzzle.getClues();
+        int[] solution = puzzle.getSolution();
+        CanonicalForm form = canonicalize(clues);
+        int[] canonicalSolution = new int[CELLS];
+        form.toCanonical(solution, canonicalSolution);
+
+        int[] back = new int[CELLS];
+        form.fromCanonical(canonicalSolution, back);
+        assertArrayEquals(solution, back);
+
+        for (int t = 0; t < 10; t++) {
+            int[] variant = transform(clues);
+            int[] variantSolution = new int[CELLS];
+            canonicalize(variant).fromCanonical(canonicalSolution, variantSolution);
+            assertValidSolution(variant, variantSolution);
+        }
+    }
+
+    private CanonicalForm canonicalize(int[] grid) {
+        CanonicalForm form = canonicalizer.canonicalize(grid);
+        assertNotNull(form, "quebra-cabeças gerados devem ter forma canônica");
+        return form;
+    }
+
+    // Uma simetria aleatória: números trocados, linhas e faixas, colunas e pilhas permutadas, transposição
+    private int[] transform(int[] grid) {
+        int[] digits = shuffled(10, 1);
+        int[] rows = linePermutation();
+        int[] cols = linePermutation();
+        boolean transpose = random.nextBoolean();
+        int[] out = new int[CELLS];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                int source = transpose ? cols[c] * 9 + rows[r] : rows[r] * 9 + cols[c];
+                out[r * 9 + c] = digits[grid[source]];
+            }
+        }
+        return out;
+    }
+
+    private int[] linePermutation() {
+        int[] groups = shuffled(3, 0);
+        int[] lines = new int[9];
+        for (int g = 0; g < 3; g++) {
+            int[] inside = shuffled(3, 0);
+            for (int i = 0; i < 3; i++) {
+                lines[g * 3 + i] = groups[g] * 3 + inside[i];
+            }
+        }
+        return lines;
+    }
+
+    // Permutação de 0..n-1 que mantém fixos os valores abaixo de from
+    private int[] shuffled(int n, int from) {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        for (int i = n - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+        return values;
+    }
+
+    private static void assertValidSolution(int[] clues, int[] solution) {
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (clues[cell] != 0) {
+                assertEquals(clues[cell], solution[cell], "número fixo alterado na célula " + cell);
+            }
+        }
+        for (int i = 0; i < 9; i++) {
+            int row = 0;
+            int col = 0;
+            int box = 0;
+            for (int j = 0; j < 9; j++) {
+                row |= 1 << solution[i * 9 + j];
+                col |= 1 << solution[j * 9 + i];
+                box |= 1 << solution[(i / 3 * 3 + j / 3) * 9 + i % 3 * 3 + j % 3];
+            }
+            assertEquals(0x3FE, row, "linha " + i);
+            assertEquals(0x3FE, col, "coluna " + i);
+            assertEquals(0x3FE, box, "bloco " + i);
+        }
+    }
+}
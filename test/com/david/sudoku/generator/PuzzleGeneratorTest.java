@@ -0,0 +1,28 @@
+package com.david.sudoku.generator;
+
+import com.david.sudoku.rating.DifficultyRating;
+import com.david.sudoku.rating.PuzzleRater;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PuzzleGeneratorTest {
+    @Test
+    void generatedPuzzlesAreRatedAtTheRequestedDifficulty() {
+        PuzzleGenerator generator = new PuzzleGenerator(new Random(1));
+        PuzzleRater rater = new PuzzleRater();
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int i = 0; i < 3; i++) {
+                Puzzle puzzle = generator.generate(difficulty);
+                DifficultyRating rating = rater.rate(puzzle.getClues());
+                assertTrue(rating.hasUniqueSolution(), difficulty + " " + i);
+                assertEquals(difficulty, rating.getTier(), difficulty + " " + i);
+                assertEquals(difficulty, puzzle.getDifficulty(), difficulty + " " + i);
+                assertTrue(puzzle.getClueCount() >= difficulty.getTargetClues(), difficulty + " " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.david.sudoku.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PuzzleRecordTest {
+    private static final int CELLS = PuzzleRecord.CELLS;
+
+    @Test
+    void roundTripsCellsAndFixedMap() {
+        Random random = new Random(1);
+        ByteBuffer buffer = ByteBuffer.allocate(PuzzleRecord.SIZE * 64);
+        int[][] cells = new int[64][CELLS];
+        boolean[][] fixed = new boolean[64][CELLS];
+        for (int r = 0; r < 64; r++) {
+            for (int cell = 0; cell < CELLS; cell++) {
+                cells[r][cell] = random.nextInt(10);
+                fixed[r][cell] = random.nextBoolean();
+            }
+            PuzzleRecord.write(buffer, r * PuzzleRecord.SIZE, cells[r], fixed[r]);
+        }
+
+        int[] readCells = new int[CELLS];
+        boolean[] readFixed = new boolean[CELLS];
+        for (int r = 0; r < 64; r++) {
+            PuzzleRecord.read(buffer, r * PuzzleRecord.SIZE, readCells, readFixed);
+            assertArrayEquals(cells[r], readCells, "registro " + r);
+            assertArrayEquals(fixed[r], readFixed, "registro " + r);
+        }
+    }
+
+    @Test
+    void nullFixedMarksFilledCellsAndCanBeSkippedOnRead() {
+        int[] cells = new int[CELLS];
+        for (int cell = 0; cell < CELLS; cell += 3) {
+            cells[cell] = 1 + cell % 9;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(PuzzleRecord.SIZE + 7);
+        PuzzleRecord.write(buffer, 7, cells, null);
+
+        int[] readCells = new int[CELLS];
+        boolean[] readFixed = new boolean[CELLS];
+        PuzzleRecord.read(buffer, 7, readCells, readFixed);
+        assertArrayEquals(cells, readCells);
+        for (int cell = 0; cell < CELLS; cell++) {
+            assertEquals(cells[cell] != 0, readFixed[cell], "célula " + cell);
+        }
+
+        int[] onlyCells = new int[CELLS];
+        PuzzleRecord.read(buffer, 7, onlyCells, null);
+        assertArrayEquals(cells, onlyCells);
+    }
+
+    @Test
+    void layoutMatchesDocumentedFormat() {
+        int[] cells = new int[CELLS];
+        boolean[] fixed = new boolean[CELLS];
+        cells[0] = 3;
+        cells[1] = 9;
+        cells[80] = 7;
+        fixed[0] = true;
+        fixed[1] = true;
+        fixed[80] = true;
+        ByteBuffer buffer = ByteBuffer.allocate(PuzzleRecord.SIZE);
+        PuzzleRecord.write(buffer, 0, cells, fixed);
+
+        // Célula par no nibble baixo, ímpar no alto; a célula 80 e o bit fixo da célula 0 no byte 40
+        assertEquals(0x93, buffer.get(0) & 0xFF);
+        assertEquals(0x17, buffer.get(40) & 0xFF);
+        // Células 1 a 80 fixas nos bytes 41 a 50, a partir do bit 0
+        assertEquals(0x01, buffer.get(41) & 0xFF);
+        assertEquals(0x80, buffer.get(50) & 0xFF);
+    }
+}
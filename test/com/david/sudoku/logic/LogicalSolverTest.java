@@ -0,0 +1,142 @@
+package com.david.sudoku.logic;
+
+import com.david.sudoku.generator.Difficulty;
+import com.david.sudoku.generator.Puzzle;
+import com.david.sudoku.generator.PuzzleGenerator;
+import com.david.sudoku.model.SudokuBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogicalSolverTest {
+    private static final String SOLUTION =
+            "812753649943682175675491283154237896369845721287169534521974368438526917796318452";
+
+    private final LogicalSolver solver = new LogicalSolver();
+
+    @Test
+    void lastEmptyCellIsANakedSingle() {
+        int[] cells = parse(SOLUTION);
+        cells[40] = 0;
+        solver.load(cells);
+
+        Hint hint = solver.nextHint();
+        assertNotNull(hint);
+        assertEquals(Technique.NAKED_SINGLE, hint.getTechnique());
+        assertTrue(hint.isPlacement());
+        assertEquals(40, hint.getCell());
+        assertEquals(SOLUTION.charAt(40) - '0', hint.getNumber());
+    }
+
+    @Test
+    void solvesEasyPuzzlesWithSingles() {
+        PuzzleGenerator generator = new PuzzleGenerator(new Random(1));
+        for (int i = 0; i < 20; i++) {
+            Puzzle puzzle = generator.generate(Difficulty.EASY);
+            solver.load(puzzle.getClues());
+            solver.solve();
+            assertTrue(solver.isSolved(), "quebra-cabeça " + i);
+            int[] values = new int[81];
+            for (int cell = 0; cell < 81; cell++) {
+                values[cell] = solver.getNumber(cell);
+            }
+            assertArrayEquals(puzzle.getSolution(), values);
+        }
+    }
+
+    @Test
+    void everyHintKeepsTheSolution() {
+        // Nenhuma técnica pode colocar um número errado nem eliminar o número da solução
+        PuzzleGenerator generator = new PuzzleGenerator(new Random(2));
+        Set<Technique> used = EnumSet.noneOf(Technique.class);
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (int i = 0; i < 40; i++) {
+                Puzzle puzzle = generator.generate(difficulty);
+                int[] solution = puzzle.getSolution();
+                solver.load(puzzle.getClues());
+                Hint hint;
+                while (!solver.isSolved() && (hint = solver.nextHint()) != null) {
+                    used.add(hint.getTechnique());
+                    checkSingle(hint);
+                    if (hint.isPlacement()) {
+                        assertEquals(solution[hint.getCell()], hint.getNumber(), hint.toString());
+                    }
+                    for (int e = 0; e < hint.getEliminationCount(); e++) {
+                        int cell = hint.getEliminationCell(e);
+                        assertEquals(0, hint.getEliminationMask(e) & 1 << (solution[cell] - 1), hint.toString());
+                    }
+                    solver.apply(hint);
+                    for (int cell = 0; cell < 81; cell++) {
+                        if (solver.getNumber(cell) == 0) {
+                            assertTrue((solver.getCandidates(cell) & 1 << (solution[cell] - 1)) != 0,
+                                    "candidato da solução removido da célula " + cell);
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(used.contains(Technique.LOCKED_CANDIDATES), used.toString());
+        assertTrue(used.contains(Technique.NAKED_PAIR) || used.contains(Technique.HIDDEN_PAIR), used.toString());
+    }
+
+    @Test
+    void boardDraftsNarrowTheCandidates() {
+        SudokuBoard board = new SudokuBoard(new String[]{"1:0:0"});
+        board.clearPlayerNumbers();
+        board.fillCandidates();
+        int before = board.getDraftMask(0, 1);
+        board.removeDraftMasks(new int[]{1}, new int[]{1 << 4});
+
+        solver.load(board);
+        assertEquals(before & ~(1 << 4), solver.getCandidates(1));
+    }
+
+    // Candidato único: um só candidato na célula. Posição única: a célula tem outros candidatos (senão
+    // seria um candidato único), mas numa das suas unidades o número não cabe em nenhuma outra célula
+    private void checkSingle(Hint hint) {
+        if (!hint.isPlacement()) {
+            return;
+        }
+        int cell = hint.getCell();
+        int count = Integer.bitCount(solver.getCandidates(cell));
+        if (hint.getTechnique() == Technique.NAKED_SINGLE) {
+            assertEquals(1, count, hint.toString());
+        } else if (hint.getTechnique() == Technique.HIDDEN_SINGLE) {
+            assertTrue(count > 1, hint.toString());
+            int bit = 1 << (hint.getNumber() - 1);
+            int row = cell / 9;
+            int col = cell % 9;
+            int box = row / 3 * 3 + col / 3;
+            boolean alone = true;
+            for (int unit = 0; unit < 3; unit++) {
+                alone = true;
+                for (int i = 0; i < 9; i++) {
+                    int other = unit == 0 ? row * 9 + i
+                            : unit == 1 ? i * 9 + col
+                            : (box / 3 * 3 + i / 3) * 9 + box % 3 * 3 + i % 3;
+                    if (other != cell && solver.getNumber(other) == 0 && (solver.getCandidates(other) & bit) != 0) {
+                        alone = false;
+                        break;
+                    }
+                }
+                if (alone) break;
+            }
+            assertTrue(alone, hint.toString());
+        }
+    }
+
+    private static int[] parse(String text) {
+        int[] cells = new int[81];
+        for (int cell = 0; cell < 81; cell++) {
+            cells[cell] = text.charAt(cell) - '0';
+        }
+        return cells;
+    }
+}
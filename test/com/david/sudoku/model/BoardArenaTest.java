@@ -0,0 +1,62 @@
+package com.david.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardArenaTest {
+    @Test
+    void roundTripKeepsTheBoardAndItsModes() {
+        SudokuBoard board = new SudokuBoard(new String[]{"1:0:0", "2:8:8"});
+        board.clearPlayerNumbers();
+        board.fillCandidates();
+        board.placeNumber(5, 4, 4);
+        board.removeDraftNumber(3, 0, 1);
+
+        BoardArena arena = new BoardArena();
+        int index = arena.add(board);
+        ArenaBoardView view = arena.view(index);
+        assertTrue(view.isAutoCandidates());
+        // O bit dos rascunhos automáticos fica no byte da última célula fixa sem alterá-la
+        assertTrue(view.isPositionFixed(8, 8));
+        assertFalse(view.isPositionFixed(8, 7));
+
+        SudokuBoard restored = arena.toBoard(index);
+        assertTrue(restored.isAutoCandidates());
+        assertEquals(board.getStatus(), restored.getStatus());
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                assertEquals(board.getNumber(row, col), restored.getNumber(row, col));
+                assertEquals(board.isPositionFixed(row, col), restored.isPositionFixed(row, col));
+                assertEquals(board.getDraftMask(row, col), restored.getDraftMask(row, col));
+            }
+        }
+
+        // A manutenção automática continua depois de passar pela arena
+        restored.placeNumber(7, 4, 5);
+        assertEquals(0, restored.getDraftMask(4, 6) & 1 << 6);
+    }
+
+    @Test
+    void boardsWithoutAutoCandidatesStayManual() {
+        SudokuBoard board = new SudokuBoard(new String[]{"1:0:0"});
+        board.clearPlayerNumbers();
+        board.placeDraftNumber(4, 0, 1);
+
+        BoardArena arena = new BoardArena();
+        int index = arena.add(board);
+        assertFalse(arena.view(index).isAutoCandidates());
+        SudokuBoard restored = arena.toBoard(index);
+        assertFalse(restored.isAutoCandidates());
+
+        // Reutilizar o registro apaga o bit de quem o ocupava antes
+        board.fillCandidates();
+        arena.set(index, board);
+        assertTrue(arena.view(index).isAutoCandidates());
+        restored.placeNumber(2, 8, 8);
+        arena.set(index, restored);
+        assertFalse(arena.view(index).isAutoCandidates());
+    }
+}
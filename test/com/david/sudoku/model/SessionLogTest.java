@@ -0,0 +1,76 @@
+package com.david.sudoku.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionLogTest {
+    private static final int NO_PERIODIC_CHECKPOINT = 1_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversStatusAndModeChangedAfterTheLastCheckpoint() throws IOException {
+        Path file = dir.resolve("sessao.bin");
+        SudokuBoard board = new SudokuBoard(new String[]{"1:0:0"});
+        SessionLog log = SessionLog.create(file, board, NO_PERIODIC_CHECKPOINT);
+        try {
+            board.clearPlayerNumbers(); // NOT_STARTED -> INCOMPLETE
+            board.fillCandidates();
+            board.placeNumber(5, 4, 4);
+            board.placeNumber(5, 4, 5); // Repetido na linha: erro
+
+            // Falha sem fechar o arquivo e sem ponto de controle periódico
+            assertLike(board, SessionLog.recover(file));
+        } finally {
+            log.close();
+        }
+    }
+
+    @Test
+    void recoversAClearAfterMoves() throws IOException {
+        Path file = dir.resolve("sessao.bin");
+        SudokuBoard board = new SudokuBoard(new String[]{"1:0:0"});
+        board.clearPlayerNumbers();
+        board.fillCandidates();
+        SessionLog log = SessionLog.create(file, board, NO_PERIODIC_CHECKPOINT);
+        try {
+            board.placeNumber(1, 0, 1); // Repetido na linha: erro
+            board.clearPlayerNumbers();
+            board.placeNumber(2, 8, 8);
+
+            SudokuBoard recovered = SessionLog.recover(file);
+            assertFalse(recovered.isAutoCandidates());
+            assertFalse(recovered.hasErrors());
+            assertLike(board, recovered);
+        } finally {
+            log.close();
+        }
+    }
+
+    private static void assertLike(SudokuBoard expected, SudokuBoard actual) {
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.hasErrors(), actual.hasErrors());
+        assertEquals(expected.isAutoCandidates(), actual.isAutoCandidates());
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                assertEquals(expected.getNumber(row, col), actual.getNumber(row, col));
+                assertEquals(expected.getDraftMask(row, col), actual.getDraftMask(row, col));
+            }
+        }
+
+        // O jogo recuperado continua: a manutenção automática e o status seguem valendo
+        actual.removeNumber(4, 5);
+        expected.removeNumber(4, 5);
+        assertEquals(expected.getDraftMask(4, 6), actual.getDraftMask(4, 6));
+        assertEquals(expected.hasErrors(), actual.hasErrors());
+        assertTrue(actual.getStatus() != GameStatus.NOT_STARTED);
+    }
+}
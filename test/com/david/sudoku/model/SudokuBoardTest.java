@@ -0,0 +1,111 @@
+package com.david.sudoku.model;
+
+import com.david.sudoku.variant.DiagonalConstraint;
+import com.david.sudoku.variant.KillerCage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SudokuBoardTest {
+    @Test
+    void removingANumberGivesItBackToTheAutoCandidates() {
+        SudokuBoard board = new SudokuBoard(new String[]{"1:0:0"});
+        board.clearPlayerNumbers();
+        board.fillCandidates();
+        int before = board.getDraftMask(0, 2);
+
+        board.placeNumber(5, 0, 1);
+        assertEquals(0, board.getDraftMask(0, 1));
+        assertEquals(before & ~(1 << 4), board.getDraftMask(0, 2));
+
+        board.removeNumber(0, 1);
+        assertEquals(before, board.getDraftMask(0, 2));
+        assertEquals(board.getCandidateMask(0, 1), board.getDraftMask(0, 1));
+    }
+
+    @Test
+    void autoCandidatesFollowRandomPlacementsAndRemovals() {
+        // Com números repetidos e gaiolas, cujos candidatos pela soma não só diminuem a cada número
+        Random random = new Random(1);
+        BoardGeometry[] geometries = {
+                BoardGeometry.STANDARD,
+                BoardGeometry.STANDARD.withConstraints(new DiagonalConstraint(),
+                        new KillerCage(10, 0, 1, 2), new KillerCage(17, 30, 31, 40))
+        };
+        for (BoardGeometry geometry : geometries) {
+            for (int game = 0; game < 50; game++) {
+                SudokuBoard board = new SudokuBoard(geometry, new String[0]);
+                board.clearPlayerNumbers();
+                board.fillCandidates();
+                for (int move = 0; move < 60; move++) {
+                    int row = random.nextInt(9);
+                    int col = random.nextInt(9);
+                    if (board.getNumber(row, col) == 0) {
+                        board.placeNumber(1 + random.nextInt(9), row, col);
+                    } else {
+                        board.removeNumber(row, col);
+                    }
+                    for (int r = 0; r < 9; r++) {
+                        for (int c = 0; c < 9; c++) {
+                            int expected = board.getNumber(r, c) == 0 ? board.getCandidateMask(r, c) : 0;
+                            assertEquals(expected, board.getDraftMask(r, c), "célula (" + r + "," + c + ")");
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void playerEliminationsSurviveOtherMoves() {
+        SudokuBoard board = new SudokuBoard(new String[0]);
+        board.clearPlayerNumbers();
+        board.fillCandidates();
+        board.removeDraftNumber(7, 0, 2);
+
+        board.placeNumber(5, 0, 1);
+        board.removeNumber(0, 1);
+        assertEquals(board.getCandidateMask(0, 2) & ~(1 << 6), board.getDraftMask(0, 2));
+    }
+
+    @Test
+    void clearingPlayerNumbersCannotBeUndone() {
+        SudokuBoard board = new SudokuBoard(new String[]{"1:0:0"});
+        board.clearPlayerNumbers();
+        board.fillCandidates();
+        board.placeNumber(5, 0, 1);
+
+        board.clearPlayerNumbers();
+        assertFalse(board.undo());
+        assertEquals(0, board.getNumber(0, 1));
+        assertFalse(board.isAutoCandidates());
+        assertEquals(GameStatus.INCOMPLETE, board.getStatus());
+
+        board.placeNumber(3, 1, 1);
+        assertTrue(board.undo());
+        assertEquals(0, board.getNumber(1, 1));
+    }
+
+    @Test
+    void autoFillCannotBeUndone() {
+        SudokuBoard board = new SudokuBoard(new String[]{"1:0:0"});
+        board.clearPlayerNumbers();
+        board.placeDraftNumber(2, 4, 4);
+        board.fillCandidates();
+        assertFalse(board.undo());
+        assertTrue(board.isAutoCandidates());
+        assertEquals(board.getCandidateMask(4, 4), board.getDraftMask(4, 4));
+
+        // Com o modo ligado, os rascunhos continuam sendo exatamente os candidatos
+        board.placeNumber(5, 4, 4);
+        board.removeNumber(4, 4);
+        assertEquals(board.getCandidateMask(4, 4), board.getDraftMask(4, 4));
+        assertEquals(board.getCandidateMask(4, 5), board.getDraftMask(4, 5));
+        assertTrue(board.undo());
+        assertEquals(5, board.getNumber(4, 4));
+    }
+}
@@ -0,0 +1,224 @@
+package com.david.sudoku.replay;
+
+import com.david.sudoku.model.BoardGeometry;
+import com.david.sudoku.model.BoardListener;
+import com.david.sudoku.model.GameStatus;
+import com.david.sudoku.model.MoveJournal;
+import com.david.sudoku.model.SudokuBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordingReaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysWhatTheRecorderWrote() throws IOException {
+        Path file = dir.resolve("partidas.rec");
+        List<Session> expected = new ArrayList<>();
+        try (RecordingWriter writer = RecordingWriter.open(file)) {
+            expected.add(record(writer, BoardGeometry.STANDARD, 0));
+            // 16x16: células acima de 127 ocupam dois bytes no varint
+            expected.add(record(writer, BoardGeometry.forBoxSize(4), 200));
+        }
+
+        Collector collector = read(file);
+        assertEquals(2, collector.reader.getSessionCount());
+        assertEquals(0, collector.reader.getTruncatedCount());
+        assertEquals(0, collector.reader.getCorruptCount());
+        for (int s = 0; s < expected.size(); s++) {
+            assertSession(expected.get(s), collector.sessions.get(s));
+        }
+    }
+
+    @Test
+    void dropsATruncatedLastSessionAndResumesAfterIt() throws IOException {
+        Path file = dir.resolve("partidas.rec");
+        List<Session> expected = new ArrayList<>();
+        try (RecordingWriter writer = RecordingWriter.open(file)) {
+            expected.add(record(writer, BoardGeometry.STANDARD, 0));
+            record(writer, BoardGeometry.STANDARD, 10);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        Collector collector = read(file);
+        assertEquals(1, collector.reader.getSessionCount());
+        assertEquals(1, collector.reader.getTruncatedCount());
+        assertSession(expected.get(0), collector.sessions.get(0));
+
+        // Reabrir descarta a sessão incompleta e grava as novas depois da última completa
+        try (RecordingWriter writer = RecordingWriter.open(file)) {
+            expected.add(record(writer, BoardGeometry.STANDARD, 20));
+        }
+        collector = read(file);
+        assertEquals(2, collector.reader.getSessionCount());
+        assertEquals(0, collector.reader.getTruncatedCount());
+        assertSession(expected.get(1), collector.sessions.get(1));
+    }
+
+    @Test
+    void skipsACorruptSessionByItsLength() throws IOException {
+        Path file = dir.resolve("partidas.rec");
+        List<Session> expected = new ArrayList<>();
+        try (RecordingWriter writer = RecordingWriter.open(file)) {
+            for (int i = 0; i < 3; i++) {
+                expected.add(record(writer, BoardGeometry.STANDARD, i * 7));
+            }
+        }
+
+        // Troca a tag do primeiro evento da segunda sessão por uma inválida
+        byte[] data = Files.readAllBytes(file);
+        int first = RecordingFormat.HEADER_SIZE;
+        int second = first + sessionLength(data, first);
+        int varint = 1;
+        while (data[second + varint] < 0) {
+            varint++;
+        }
+        data[second + 1 + varint + RecordingFormat.SESSION_FIXED_BYTES + 81] = 0x7F;
+        Files.write(file, data);
+
+        Collector collector = read(file);
+        assertEquals(3, collector.reader.getSessionCount());
+        assertEquals(1, collector.reader.getCorruptCount());
+        assertSession(expected.get(0), collector.sessions.get(0));
+        assertSession(expected.get(2), collector.sessions.get(2));
+    }
+
+    // Joga uma partida curta gravada, guardando o que o tabuleiro entregou ao diário
+    private static Session record(RecordingWriter writer, BoardGeometry geometry, int firstCell) {
+        int size = geometry.getSize();
+        SudokuBoard board = new SudokuBoard(geometry, new String[]{"1:0:0", "2:0:1"});
+        board.clearPlayerNumbers(); // Inicia o jogo
+        Session session = new Session(geometry);
+        for (int cell = 0; cell < size; cell++) {
+            session.clues[cell] = board.isPositionFixed(0, cell) ? board.getNumber(0, cell) : 0;
+        }
+        board.getJournal().addSink(session);
+        board.addBoardListener(session);
+        GameRecorder recorder = GameRecorder.start(board, writer);
+
+        int row = firstCell / size;
+        int col = firstCell % size;
+        board.placeNumber(3, row, col);
+        board.placeDraftNumber(4, row + 1, col);
+        board.placeDraftNumber(5, row + 1, col);
+        board.placeNumber(3, row, col + 1); // Repetido na linha: erro
+        board.removeNumber(row, col + 1);
+        board.undo();
+        board.redo();
+        board.removeDraftNumber(4, row + 1, col);
+        board.fillCandidates();
+        board.placeNumber(6, row + 2, col);
+
+        recorder.finish();
+        board.getJournal().removeSink(session);
+        return session;
+    }
+
+    private static void assertSession(Session expected, Session actual) {
+        assertSame(expected.geometry, actual.geometry);
+        assertArrayEquals(expected.clues, actual.clues);
+        assertEquals(expected.moves.size(), actual.moves.size());
+        for (int i = 0; i < expected.moves.size(); i++) {
+            assertArrayEquals(expected.moves.get(i), actual.moves.get(i), "jogada " + i);
+        }
+        // O início da sessão grava o status atual; os seguintes são as mudanças
+        assertEquals(expected.statuses, actual.statuses.subList(1, actual.statuses.size()));
+    }
+
+    private static int sessionLength(byte[] data, int start) {
+        int length = 0;
+        int position = start + 1;
+        for (int shift = 0; ; shift += 7) {
+            int b = data[position++];
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) break;
+        }
+        return position - start + length;
+    }
+
+    private static Collector read(Path file) throws IOException {
+        Collector collector = new Collector();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            collector.reader.read(channel);
+        }
+        return collector;
+    }
+
+    // Jogadas como {operação, célula, número, fim da jogada}
+    private static final class Session implements MoveJournal.Sink, BoardListener {
+        final BoardGeometry geometry;
+        final int[] clues;
+        final List<int[]> moves = new ArrayList<>();
+        final List<String> statuses = new ArrayList<>();
+
+        Session(BoardGeometry geometry) {
+            this.geometry = geometry;
+            this.clues = new int[geometry.getCellCount()];
+        }
+
+        @Override
+        public void applied(int entry) {
+            moves.add(new int[]{MoveJournal.op(entry), MoveJournal.cell(entry), MoveJournal.number(entry), 0});
+        }
+
+        @Override
+        public void moveEnded() {
+            if (!moves.isEmpty()) {
+                moves.get(moves.size() - 1)[3] = 1;
+            }
+        }
+
+        @Override
+        public void cellChanged(int row, int col, int changes) {
+        }
+
+        @Override
+        public void statusChanged(GameStatus status, boolean hasErrors) {
+            statuses.add(status + "/" + hasErrors);
+        }
+    }
+
+    private static final class Collector implements RecordingReader.Handler {
+        final RecordingReader reader = new RecordingReader(this);
+        final List<Session> sessions = new ArrayList<>();
+        private Session current;
+
+        @Override
+        public void sessionStarted(long startMillis, BoardGeometry geometry, int[] clues) {
+            current = new Session(geometry);
+            System.arraycopy(clues, 0, current.clues, 0, clues.length);
+            sessions.add(current);
+        }
+
+        @Override
+        public void move(long millis, int op, int cell, int number, boolean moveEnd) {
+            current.moves.add(new int[]{op, cell, number, moveEnd ? 1 : 0});
+        }
+
+        @Override
+        public void statusChanged(long millis, GameStatus status, boolean hasErrors) {
+            current.statuses.add(status + "/" + hasErrors);
+        }
+
+        @Override
+        public void sessionEnded(long millis) {
+            assertTrue(millis >= 0);
+        }
+    }
+}
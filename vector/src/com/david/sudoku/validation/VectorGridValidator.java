@@ -0,0 +1,91 @@
+package com.david.sudoku.validation;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Validação com a Vector API, uma grade por posição do vetor: as grades são processadas em blocos
+ * do tamanho do vetor (16 com AVX2, 32 com AVX-512), transpostas para um array em que a célula
+ * {@code c} das grades do bloco fica contígua, já convertida em bits (1 << número). Cada unidade é
+ * então o OR de 9 vetores, comparado com os bits de 1 a 9 para todas as grades do bloco de uma vez.
+ * Grades inválidas, raras num lote de envios, passam pelo caminho escalar para descobrir a primeira
+ * unidade com conflito.
+ * <p>
+ * Só é compilada com o perfil Maven {@code vector} e carregada por {@link BatchValidator#create()}.
+ */
+final class VectorGridValidator implements GridValidator {
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int SIZE = 9;
+    private static final int CELLS = BatchValidator.CELLS;
+    private static final short FULL = (short) ScalarGridValidator.FULL;
+
+    // Células de cada unidade (linhas, colunas e blocos), já multiplicadas por LANES
+    private static final int[][] UNIT_OFFSETS = new int[3 * SIZE][SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                UNIT_OFFSETS[i][j] = (i * SIZE + j) * LANES;
+                UNIT_OFFSETS[SIZE + i][j] = (j * SIZE + i) * LANES;
+                int row = i / 3 * 3 + j / 3;
+                int col = i % 3 * 3 + j % 3;
+                UNIT_OFFSETS[2 * SIZE + i][j] = (row * SIZE + col) * LANES;
+            }
+        }
+    }
+
+    VectorGridValidator() {
+        // Com vetores menores a Vector API ganha pouco (ou cai numa emulação mais lenta que o escalar)
+        if (SPECIES.vectorBitSize() < 256) {
+            throw new UnsupportedOperationException("Vetores de 256 bits não suportados");
+        }
+    }
+
+    @Override
+    public int validate(byte[] grids, int from, int count, int[] results) {
+        short[] bits = new short[CELLS * LANES];
+        int[] masks = null;
+        int valid = 0;
+        for (int first = from; first < from + count; first += LANES) {
+            int lanes = Math.min(LANES, from + count - first);
+            transpose(grids, first, lanes, bits);
+
+            VectorMask<Short> invalid = SPECIES.maskAll(false);
+            for (int[] unit : UNIT_OFFSETS) {
+                ShortVector acc = ShortVector.fromArray(SPECIES, bits, unit[0]);
+                for (int i = 1; i < SIZE; i++) {
+                    acc = acc.or(ShortVector.fromArray(SPECIES, bits, unit[i]));
+                }
+                invalid = invalid.or(acc.compare(VectorOperators.NE, FULL));
+            }
+
+            long invalidLanes = invalid.toLong();
+            for (int lane = 0; lane < lanes; lane++) {
+                int grid = first + lane;
+                if ((invalidLanes & 1L << lane) == 0) {
+                    results[grid] = BatchValidator.VALID;
+                    valid++;
+                } else {
+                    if (masks == null) {
+                        masks = new int[3 * SIZE];
+                    }
+                    results[grid] = ScalarGridValidator.firstConflict(grids, grid * CELLS, masks);
+                }
+            }
+        }
+        return valid;
+    }
+
+    // Num bloco incompleto, as posições restantes mantêm dados antigos e são ignoradas
+    private static void transpose(byte[] grids, int first, int lanes, short[] bits) {
+        for (int lane = 0; lane < lanes; lane++) {
+            int offset = (first + lane) * CELLS;
+            for (int cell = 0; cell < CELLS; cell++) {
+                bits[cell * LANES + lane] = (short) ScalarGridValidator.BITS[grids[offset + cell] & 0xFF];
+            }
+        }
+    }
+}